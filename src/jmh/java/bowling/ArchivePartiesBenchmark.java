@@ -0,0 +1,113 @@
+package bowling;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Écriture et relecture (avec calcul des scores) de 100 000 parties terminées :
+ * archive à 4 bits par lancer contre sérialisation Java des tableaux de lancers.
+ * Les résultats sont donnés par partie ; la taille de chaque fichier par
+ * partie est affichée au démarrage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArchivePartiesBenchmark {
+
+    static final int NOMBRE_PARTIES = 100_000;
+
+    int[][] parties;
+    Path dossier;
+    Path archive;
+    Path serialisation;
+
+    @Setup(Level.Trial)
+    public void preparer() throws IOException {
+        Random hasard = new Random(42);
+        parties = new int[NOMBRE_PARTIES][];
+        for (int i = 0; i < NOMBRE_PARTIES; i++) {
+            parties[i] = JeuxDeDonnees.partieAleatoire(hasard);
+        }
+        dossier = Files.createTempDirectory("archive");
+        archive = dossier.resolve("archive.bin");
+        serialisation = dossier.resolve("serialisation.bin");
+        ecrireArchive();
+        ecrireSerialisation();
+        System.out.printf("%nOctets par partie : archive %.2f, sérialisation Java %.2f%n",
+                          (double) Files.size(archive) / NOMBRE_PARTIES,
+                          (double) Files.size(serialisation) / NOMBRE_PARTIES);
+    }
+
+    @TearDown(Level.Trial)
+    public void supprimer() {
+        JournalLancersBenchmark.supprimer(dossier);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_PARTIES)
+    public void ecrireArchive() throws IOException {
+        Files.deleteIfExists(archive);
+        try (ArchiveParties.Ecrivain ecrivain = new ArchiveParties.Ecrivain(archive)) {
+            for (int[] partie : parties) {
+                ecrivain.ecrire(partie);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_PARTIES)
+    public long lireArchive() throws IOException {
+        try (ArchiveParties.Lecteur lecteur = new ArchiveParties.Lecteur(archive)) {
+            return lecteur.calculerStatistiques().getSommeScores();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_PARTIES)
+    public void ecrireSerialisation() throws IOException {
+        try (ObjectOutputStream sortie = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(serialisation)))) {
+            sortie.writeInt(parties.length);
+            for (int[] partie : parties) {
+                sortie.writeObject(partie);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_PARTIES)
+    public long lireSerialisation() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream entree = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(serialisation)))) {
+            StatistiquesScores statistiques = new StatistiquesScores();
+            for (int i = entree.readInt(); i > 0; i--) {
+                int[] partie = (int[]) entree.readObject();
+                statistiques.ajouter(CalculateurScoreLot.calculerScoreTotal(partie, 0, partie.length));
+            }
+            return statistiques.getSommeScores();
+        }
+    }
+}
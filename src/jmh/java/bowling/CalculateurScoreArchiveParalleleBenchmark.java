@@ -0,0 +1,67 @@
+package bowling;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Passage à l'échelle du recalcul parallèle d'une archive : le résultat (ops/s)
+ * est un nombre de parties par seconde, à comparer entre les valeurs de parallélisme.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculateurScoreArchiveParalleleBenchmark {
+
+    static final int NOMBRE_PARTIES = 4_000_000;
+
+    @Param({"1", "2", "4", "8"})
+    int parallelisme;
+
+    private CalculateurScoreArchiveParallele calculateur;
+    private int[] lancers;
+    private int[] debuts;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        Random hasard = new Random(42);
+        lancers = new int[NOMBRE_PARTIES * 21];
+        debuts = new int[NOMBRE_PARTIES + 1];
+        int n = 0;
+        for (int p = 0; p < NOMBRE_PARTIES; p++) {
+            int[] partie = JeuxDeDonnees.partieAleatoire(hasard);
+            debuts[p] = n;
+            System.arraycopy(partie, 0, lancers, n, partie.length);
+            n += partie.length;
+        }
+        debuts[NOMBRE_PARTIES] = n;
+        calculateur = new CalculateurScoreArchiveParallele(parallelisme);
+    }
+
+    @TearDown(Level.Trial)
+    public void arreter() {
+        calculateur.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_PARTIES)
+    public StatistiquesScores calculerStatistiques() {
+        return calculateur.calculerStatistiques(lancers, debuts);
+    }
+}
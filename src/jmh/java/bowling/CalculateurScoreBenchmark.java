@@ -0,0 +1,64 @@
+package bowling;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calcul du score total d'une partie terminée.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalculateurScoreBenchmark {
+
+    @Param({"PARFAITE", "GOUTTIERE", "ALEATOIRE"})
+    String typePartie;
+
+    private final CalculateurScore calculateur = new CalculateurScore();
+    private final CalculateurScoreCompact calculateurCompact = new CalculateurScoreCompact();
+    private final CalculateurScoreAutomate calculateurAutomate = new CalculateurScoreAutomate();
+    private List<Tour> tours;
+    private int[] partie;
+    private byte[] lancers;
+
+    @Setup
+    public void preparer() {
+        partie = JeuxDeDonnees.partie(typePartie);
+        tours = JeuxDeDonnees.tours(partie);
+        lancers = JeuxDeDonnees.enOctets(partie);
+    }
+
+    @Benchmark
+    public int calculerScoreTotal() {
+        return calculateur.calculerScoreTotal(tours);
+    }
+
+    @Benchmark
+    public int calculerScoreTotalCompact() {
+        return calculateurCompact.calculerScoreTotal(lancers, 0, lancers.length);
+    }
+
+    @Benchmark
+    public int calculerScoreTotalAutomate() {
+        return calculateurAutomate.calculerScoreTotal(tours);
+    }
+
+    @Benchmark
+    public int calculerScoreTotalAutomateTableau() {
+        return calculateurAutomate.calculerScoreTotal(partie, 0, partie.length);
+    }
+}
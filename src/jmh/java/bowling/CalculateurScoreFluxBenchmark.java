@@ -0,0 +1,82 @@
+package bowling;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Débit du calcul des scores d'un fichier texte de parties de 64 Mo : le
+ * résultat, en opérations par seconde, est directement en Mo/s.
+ * Avec {@code -prof gc}, gc.alloc.rate.norm montre que la mémoire allouée ne
+ * dépend pas de la taille du fichier.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculateurScoreFluxBenchmark {
+
+    static final int TAILLE_MO = 64;
+
+    Path dossier;
+    Path fichier;
+    final CalculateurScoreFlux calculateur = new CalculateurScoreFlux();
+    final StatistiquesScores statistiques = new StatistiquesScores();
+
+    /**
+     * Écrit des parties aléatoires jusqu'à 64 Mo exactement, la fin étant
+     * complétée par des lignes vides
+     */
+    @Setup(Level.Trial)
+    public void ecrireFichier() throws IOException {
+        dossier = Files.createTempDirectory("flux");
+        fichier = dossier.resolve("parties.txt");
+        long taille = (long) TAILLE_MO * 1024 * 1024;
+        Random hasard = new Random(42);
+        try (BufferedWriter sortie = Files.newBufferedWriter(fichier, StandardCharsets.US_ASCII)) {
+            long ecrits = 0;
+            while (true) {
+                String ligne = JeuxDeDonnees.enNotation(JeuxDeDonnees.partieAleatoire(hasard));
+                if (ecrits + ligne.length() + 1 > taille) {
+                    break;
+                }
+                sortie.write(ligne);
+                sortie.write('\n');
+                ecrits += ligne.length() + 1;
+            }
+            for (; ecrits < taille; ecrits++) {
+                sortie.write('\n');
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void supprimer() {
+        JournalLancersBenchmark.supprimer(dossier);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAILLE_MO)
+    public long calculerScores() throws IOException {
+        return calculateur.calculer(fichier, (ligne, score) -> statistiques.ajouter(score));
+    }
+}
@@ -0,0 +1,61 @@
+package bowling;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calcul par lot : le résultat (ops/s) est un nombre de parties par seconde.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class CalculateurScoreLotBenchmark {
+
+    static final int NOMBRE_PARTIES = 100_000;
+
+    private final CalculateurScoreLot scalaire = new CalculateurScoreLot();
+    private final CalculateurScoreLotVectoriel vectoriel = new CalculateurScoreLotVectoriel();
+    private int[] lancers;
+    private int[] debuts;
+
+    @Setup
+    public void preparer() {
+        Random hasard = new Random(42);
+        lancers = new int[NOMBRE_PARTIES * 21];
+        debuts = new int[NOMBRE_PARTIES + 1];
+        int n = 0;
+        for (int p = 0; p < NOMBRE_PARTIES; p++) {
+            int[] partie = JeuxDeDonnees.partieAleatoire(hasard);
+            debuts[p] = n;
+            System.arraycopy(partie, 0, lancers, n, partie.length);
+            n += partie.length;
+        }
+        debuts[NOMBRE_PARTIES] = n;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_PARTIES)
+    public int[] scalaire() {
+        return scalaire.calculerScoresTotaux(lancers, debuts);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_PARTIES)
+    public int[] vectoriel() {
+        return vectoriel.calculerScoresTotaux(lancers, debuts);
+    }
+}
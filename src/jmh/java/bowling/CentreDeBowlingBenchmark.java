@@ -0,0 +1,89 @@
+package bowling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Débit de lancers d'un centre de bowling utilisé par plusieurs threads,
+ * chaque thread jouant sur sa propre piste.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CentreDeBowlingBenchmark {
+
+    static final String[] JOUEURS = {"Alice", "Bob", "Carole", "David"};
+
+    @State(Scope.Benchmark)
+    public static class Centre {
+
+        final CentreDeBowling centre = new CentreDeBowling();
+        final AtomicInteger prochainePiste = new AtomicInteger();
+
+        @Setup
+        public void preparer() {
+            // La piste 0 est lue par les lecteurs avant même le premier lancer
+            centre.demarreNouvellePartie(0, JOUEURS);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PisteDuThread {
+
+        int numeroPiste;
+        int lancersRestants;
+
+        @Setup
+        public void preparer(Centre centre) {
+            numeroPiste = centre.prochainePiste.getAndIncrement();
+        }
+
+        /**
+         * Lance 4 quilles, en redémarrant la partie quand elle est terminée
+         */
+        String lancer(CentreDeBowling centre) {
+            if (lancersRestants == 0) {
+                centre.demarreNouvellePartie(numeroPiste, JOUEURS);
+                lancersRestants = 20 * JOUEURS.length;
+            }
+            lancersRestants--;
+            return centre.enregistreLancer(numeroPiste, 4);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String enregistreLancer(Centre centre, PisteDuThread piste) {
+        return piste.lancer(centre.centre);
+    }
+
+    @Benchmark
+    @Group("lecturesEtLancers")
+    @GroupThreads(2)
+    public String lanceur(Centre centre, PisteDuThread piste) {
+        return piste.lancer(centre.centre);
+    }
+
+    @Benchmark
+    @Group("lecturesEtLancers")
+    @GroupThreads(2)
+    public int lecteur(Centre centre) {
+        // Lit le score d'une piste jouée par un lanceur du groupe
+        return centre.centre.scorePour(0, "Alice");
+    }
+}
@@ -0,0 +1,99 @@
+package bowling;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Débit des mises à jour et des lectures d'un classement de 20 000 joueurs
+ * (5000 pistes de 4 joueurs) : 3 threads modifient des scores pendant que
+ * d'autres lisent le top 20 et le rang d'un joueur.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassementBenchmark {
+
+    static final int NOMBRE_PISTES = 5000;
+    static final String[] JOUEURS = {"Alice", "Bob", "Carole", "David"};
+    static final int ECRIVAINS = 3;
+
+    @State(Scope.Group)
+    public static class Centre {
+
+        final Classement classement = new Classement();
+        final AtomicInteger prochainEcrivain = new AtomicInteger();
+
+        @Setup
+        public void preparer() {
+            SplittableRandom hasard = new SplittableRandom(42);
+            for (int numero = 0; numero < NOMBRE_PISTES; numero++) {
+                classement.partieDemarree(numero, JOUEURS);
+                for (int j = 0; j < JOUEURS.length; j++) {
+                    classement.scoreModifie(numero, j, hasard.nextInt(301));
+                }
+            }
+        }
+    }
+
+    /**
+     * Chaque écrivain a ses propres pistes : un joueur n'est jamais modifié par deux threads
+     */
+    @State(Scope.Thread)
+    public static class Ecrivain {
+
+        int premierePiste;
+        final SplittableRandom hasard = new SplittableRandom();
+
+        @Setup
+        public void preparer(Centre centre) {
+            premierePiste = centre.prochainEcrivain.getAndIncrement() % ECRIVAINS;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Lecteur {
+
+        final SplittableRandom hasard = new SplittableRandom();
+    }
+
+    @Benchmark
+    @Group("lecturesEtEcritures")
+    @GroupThreads(ECRIVAINS)
+    public void modifierScore(Centre centre, Ecrivain ecrivain) {
+        int numero = premierePisteAuHasard(ecrivain);
+        centre.classement.scoreModifie(numero, ecrivain.hasard.nextInt(JOUEURS.length), ecrivain.hasard.nextInt(301));
+    }
+
+    @Benchmark
+    @Group("lecturesEtEcritures")
+    public List<Classement.Entree> lireMeilleurs(Centre centre) {
+        return centre.classement.meilleurs(20);
+    }
+
+    @Benchmark
+    @Group("lecturesEtEcritures")
+    public int lireRang(Centre centre, Lecteur lecteur) {
+        return centre.classement.rang(lecteur.hasard.nextInt(NOMBRE_PISTES), 0);
+    }
+
+    private static int premierePisteAuHasard(Ecrivain ecrivain) {
+        int pistesParEcrivain = NOMBRE_PISTES / ECRIVAINS;
+        return ecrivain.premierePiste + ECRIVAINS * ecrivain.hasard.nextInt(pistesParEcrivain);
+    }
+}
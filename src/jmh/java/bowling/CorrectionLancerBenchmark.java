@@ -0,0 +1,62 @@
+package bowling;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Correction de la 1re boule d'un tour d'une partie terminée (3 4 à chaque
+ * tour, la boule passe de 3 à 2 et inversement), comparée à la partie rejouée
+ * depuis le début avec le lancer corrigé.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CorrectionLancerBenchmark {
+
+    @Param({"1", "5", "10"})
+    int tourCorrige;
+
+    private final int[] lancers = new int[20];
+    private PartieMonoJoueur partie;
+    private int index;
+
+    @Setup
+    public void preparer() {
+        partie = new PartieMonoJoueur("A");
+        for (int i = 0; i < lancers.length; i++) {
+            lancers[i] = i % 2 == 0 ? 3 : 4;
+            partie.enregistrerLancer(lancers[i]);
+        }
+        index = 2 * (tourCorrige - 1);
+    }
+
+    @Benchmark
+    public int corrigerLancer() {
+        lancers[index] = 5 - lancers[index];
+        partie.corrigerLancer(index, lancers[index]);
+        return partie.score();
+    }
+
+    @Benchmark
+    public int rejouerDepuisLeDebut() {
+        lancers[index] = 5 - lancers[index];
+        PartieMonoJoueur rejouee = new PartieMonoJoueur("A");
+        for (int quilles : lancers) {
+            rejouee.enregistrerLancer(quilles);
+        }
+        return rejouee.score();
+    }
+}
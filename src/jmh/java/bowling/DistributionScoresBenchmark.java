@@ -0,0 +1,44 @@
+package bowling;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dénombrement de toutes les parties par score final, séquentiel et parallèle,
+ * et question sur les fins d'une partie entamée.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DistributionScoresBenchmark {
+
+    private static final int[] DEBUT = {10, 7, 3, 9, 0, 10, 10, 8, 1};
+
+    private final DistributionScores distribution = new DistributionScores();
+
+    @Benchmark
+    public DistributionScores denombrerSequentiel() {
+        return new DistributionScores(false);
+    }
+
+    @Benchmark
+    public DistributionScores denombrerParallele() {
+        return new DistributionScores();
+    }
+
+    @Benchmark
+    public long finsAtteignant200() {
+        return distribution.nombreFinsAtteignant(DEBUT, 200);
+    }
+}
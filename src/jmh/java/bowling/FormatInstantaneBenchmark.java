@@ -0,0 +1,72 @@
+package bowling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Écriture et relecture de l'instantané d'un centre de 5000 pistes, chacune
+ * avec une partie de 4 joueurs en cours.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatInstantaneBenchmark {
+
+    static final int NOMBRE_PISTES = 5000;
+    static final String[] JOUEURS = {"Alice", "Bob", "Carole", "David"};
+
+    @Param({"OBJETS", "COMPACT"})
+    MoteurStockage moteurStockage;
+
+    CentreDeBowling centre;
+    Path dossier;
+    Path fichier;
+
+    @Setup(Level.Trial)
+    public void preparer() throws IOException {
+        centre = new CentreDeBowling(moteurStockage);
+        for (int numero = 0; numero < NOMBRE_PISTES; numero++) {
+            centre.demarreNouvellePartie(numero, JOUEURS);
+            // Des parties à tous les stades, de 0 à 79 lancers de 4 quilles
+            for (int i = 0; i < numero % 80; i++) {
+                centre.enregistreLancer(numero, 4);
+            }
+        }
+        dossier = Files.createTempDirectory("instantane");
+        fichier = dossier.resolve("centre.bin");
+        centre.ecrireInstantane(fichier);
+    }
+
+    @TearDown(Level.Trial)
+    public void supprimer() {
+        JournalLancersBenchmark.supprimer(dossier);
+    }
+
+    @Benchmark
+    public void ecrire() throws IOException {
+        centre.ecrireInstantane(fichier);
+    }
+
+    @Benchmark
+    public CentreDeBowling restaurer() throws IOException {
+        return CentreDeBowling.restaurer(fichier, moteurStockage);
+    }
+}
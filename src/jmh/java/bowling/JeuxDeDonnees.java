@@ -0,0 +1,129 @@
+package bowling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Parties types utilisées par les benchmarks.
+ */
+final class JeuxDeDonnees {
+
+    /**
+     * X 7/ 9- X -8 8/ -6 X X X81 : 17 lancers, 167 points
+     */
+    static final int[] PARTIE_MIXTE = {10, 7, 3, 9, 0, 10, 0, 8, 8, 2, 0, 6, 10, 10, 10, 8, 1};
+
+    private JeuxDeDonnees() {
+    }
+
+    /**
+     * @param type PARFAITE, GOUTTIERE, MIXTE ou ALEATOIRE
+     * @return la séquence des lancers d'une partie complète de ce type
+     */
+    static int[] partie(String type) {
+        return switch (type) {
+            case "PARFAITE" -> lancersIdentiques(12, 10);
+            case "GOUTTIERE" -> lancersIdentiques(20, 0);
+            case "MIXTE" -> PARTIE_MIXTE.clone();
+            case "ALEATOIRE" -> partieAleatoire(new Random(42));
+            default -> throw new IllegalArgumentException("Type de partie inconnu : " + type);
+        };
+    }
+
+    /**
+     * Tire une partie complète et valide au hasard
+     * @param hasard le générateur aléatoire
+     * @return la séquence des lancers
+     */
+    static int[] partieAleatoire(Random hasard) {
+        int[] lancers = new int[21];
+        int n = 0;
+        for (int tour = 1; tour <= 10; tour++) {
+            int premier = hasard.nextInt(11);
+            lancers[n++] = premier;
+            int second = hasard.nextInt(premier == 10 && tour == 10 ? 11 : 11 - premier);
+            if (premier < 10 || tour == 10) {
+                lancers[n++] = second;
+            }
+            if (tour == 10 && (premier == 10 || premier + second == 10)) {
+                lancers[n++] = hasard.nextInt(11);
+            }
+        }
+        return Arrays.copyOf(lancers, n);
+    }
+
+    /**
+     * Construit les tours correspondant à une séquence de lancers
+     * @param lancers la séquence des lancers
+     * @return la liste des tours, comme la maintient PartieMonoJoueur
+     */
+    static List<Tour> tours(int[] lancers) {
+        List<Tour> tours = new ArrayList<>();
+        Tour tour = new Tour(1);
+        for (int quilles : lancers) {
+            tour.ajouterLancer(new Lancer(quilles));
+            if (tour.estTermine()) {
+                tours.add(tour);
+                if (tours.size() < 10) {
+                    tour = new Tour(tours.size() + 1);
+                }
+            }
+        }
+        return tours;
+    }
+
+    /**
+     * Écrit une partie complète dans la notation lue par CalculateurScoreFlux
+     * @param lancers la séquence des lancers d'une partie complète
+     * @return la ligne, les tours étant séparés par un espace
+     */
+    static String enNotation(int[] lancers) {
+        StringBuilder ligne = new StringBuilder();
+        int debut = 0;
+        for (int tour = 1; tour <= 10; tour++) {
+            int fin = tour < 10 ? debut + (lancers[debut] == 10 ? 1 : 2) : lancers.length;
+            if (tour > 1) {
+                ligne.append(' ');
+            }
+            // Pas de spare sur des quilles tout juste relevées (au 10e tour, après un strike ou un spare)
+            boolean quillesRelevees = true;
+            for (int i = debut; i < fin; i++) {
+                boolean spare = !quillesRelevees && lancers[i - 1] + lancers[i] == 10;
+                quillesRelevees = quillesRelevees ? lancers[i] == 10 : spare;
+                if (spare) {
+                    ligne.append('/');
+                } else if (lancers[i] == 10) {
+                    ligne.append('X');
+                } else if (lancers[i] == 0) {
+                    ligne.append('-');
+                } else {
+                    ligne.append((char) ('0' + lancers[i]));
+                }
+            }
+            debut = fin;
+        }
+        return ligne.toString();
+    }
+
+    /**
+     * @return un tableau de n lancers abattant chacun le même nombre de quilles
+     */
+    static int[] lancersIdentiques(int n, int quilles) {
+        int[] lancers = new int[n];
+        Arrays.fill(lancers, quilles);
+        return lancers;
+    }
+
+    /**
+     * @return les lancers convertis en octets
+     */
+    static byte[] enOctets(int[] lancers) {
+        byte[] octets = new byte[lancers.length];
+        for (int i = 0; i < lancers.length; i++) {
+            octets[i] = (byte) lancers[i];
+        }
+        return octets;
+    }
+}
@@ -0,0 +1,191 @@
+package bowling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coût d'un ajout au journal selon la politique de synchronisation, seul ou à
+ * plusieurs threads sur le même journal, et temps de relecture d'un journal
+ * d'un million d'enregistrements.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalLancersBenchmark {
+
+    static final String[] JOUEUR = {"Alice"};
+
+    @State(Scope.Thread)
+    public static class Ajout {
+
+        @Param({"AUCUNE", "TOUS_LES_1000", "CHAQUE_ENREGISTREMENT"})
+        String politique;
+
+        Path dossier;
+        JournalLancers journal;
+
+        @Setup(Level.Iteration)
+        public void ouvrir() throws IOException {
+            dossier = Files.createTempDirectory("journal-ajout");
+            journal = new JournalLancers(dossier, JournalLancers.TAILLE_SEGMENT_DEFAUT, switch (politique) {
+                case "AUCUNE" -> PolitiqueSynchronisation.aucune();
+                case "TOUS_LES_1000" -> PolitiqueSynchronisation.tousLes(1000);
+                default -> PolitiqueSynchronisation.chaqueEnregistrement();
+            });
+        }
+
+        @TearDown(Level.Iteration)
+        public void fermer() {
+            journal.close();
+            supprimer(dossier);
+        }
+    }
+
+    /**
+     * Un journal partagé par tous les threads du benchmark, sans synchronisation sur disque
+     */
+    @State(Scope.Benchmark)
+    public static class AjoutPartage {
+
+        Path dossier;
+        JournalLancers journal;
+
+        @Setup(Level.Iteration)
+        public void ouvrir() throws IOException {
+            dossier = Files.createTempDirectory("journal-partage");
+            journal = new JournalLancers(dossier);
+        }
+
+        @TearDown(Level.Iteration)
+        public void fermer() {
+            journal.close();
+            supprimer(dossier);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PisteDuThread {
+
+        static final AtomicInteger SUIVANTE = new AtomicInteger();
+
+        final int numero = SUIVANTE.getAndIncrement();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Relecture {
+
+        static final int NOMBRE_ENREGISTREMENTS = 1_000_000;
+
+        Path dossier;
+        JournalLancers journal;
+
+        /**
+         * Parties d'un joueur à 4 quilles par lancer : 22 enregistrements par partie
+         * (nom, démarrage, 20 lancers), réparties sur 100 pistes
+         */
+        @Setup(Level.Trial)
+        public void ecrire() throws IOException {
+            dossier = Files.createTempDirectory("journal-relecture");
+            try (JournalLancers ecriture = new JournalLancers(dossier)) {
+                for (int partie = 0; partie < NOMBRE_ENREGISTREMENTS / 22; partie++) {
+                    ecriture.journaliserDemarrage(partie % 100, JOUEUR);
+                    for (int lancer = 0; lancer < 20; lancer++) {
+                        ecriture.journaliserLancer(partie % 100, 4);
+                    }
+                }
+            }
+            journal = new JournalLancers(dossier);
+        }
+
+        @TearDown(Level.Trial)
+        public void supprimer() {
+            journal.close();
+            JournalLancersBenchmark.supprimer(dossier);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void ajouterLancer(Ajout ajout) {
+        ajout.journal.journaliserLancer(7, 4);
+    }
+
+    /**
+     * 4 threads ajoutent des lancers de pistes différentes au même journal
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(4)
+    public void ajouterLancerPartage(AjoutPartage ajout, PisteDuThread piste) {
+        ajout.journal.journaliserLancer(piste.numero, 4);
+    }
+
+    /**
+     * Relecture seule du million d'enregistrements
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long relire(Relecture relecture) throws IOException {
+        long[] total = new long[1];
+        relecture.journal.rejouer(new JournalLancers.Lecteur() {
+            @Override
+            public void demarrage(int numeroPiste, String[] nomsDesJoueurs) {
+                total[0] += nomsDesJoueurs.length;
+            }
+
+            @Override
+            public void lancer(int numeroPiste, int quilles) {
+                total[0] += quilles;
+            }
+
+            @Override
+            public void correction(int numeroPiste, int identifiantJoueur, int indexLancer, int quilles) {
+                total[0] += quilles;
+            }
+        });
+        return total[0];
+    }
+
+    /**
+     * Reconstruction complète des parties du centre à partir du million d'enregistrements
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CentreDeBowling reconstruire(Relecture relecture) throws IOException {
+        return new CentreDeBowling(MoteurStockage.COMPACT, relecture.journal);
+    }
+
+    static void supprimer(Path dossier) {
+        try (Stream<Path> fichiers = Files.walk(dossier)) {
+            for (Path fichier : fichiers.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(fichier);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package bowling;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coût d'un lancer dans une séance répartie sur plusieurs pistes, selon le
+ * nombre de joueurs : au plus 8 joueurs par piste, les pistes lançant chacune
+ * à leur tour. Chaque joueur abat toujours le même nombre de quilles ; quand
+ * toutes les pistes ont fini, une nouvelle séance est démarrée.
+ * Le coût ne doit pas dépendre du nombre de joueurs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrdonnanceurPistesBenchmark {
+
+    @Param({"2", "16", "128"})
+    int nombreJoueurs;
+
+    @Param({"4", "10"})
+    int quilles;
+
+    @Param({"OBJETS", "COMPACT"})
+    MoteurStockage moteur;
+
+    private OrdonnanceurPistes ordonnanceur;
+    private int piste;
+
+    @Setup
+    public void preparer() {
+        String[] noms = new String[nombreJoueurs];
+        for (int i = 0; i < nombreJoueurs; i++) {
+            noms[i] = "Joueur " + i;
+        }
+        ordonnanceur = new OrdonnanceurPistes(noms, (nombreJoueurs + 7) / 8, moteur);
+        ordonnanceur.demarrer();
+    }
+
+    @Benchmark
+    public long jouerLancer() {
+        if (ordonnanceur.estTerminee()) {
+            ordonnanceur.demarrer();
+        }
+        do {
+            piste = piste + 1 == ordonnanceur.getNombrePistes() ? 0 : piste + 1;
+        } while (ordonnanceur.estTerminee(piste));
+        return ordonnanceur.jouerLancer(piste, quilles);
+    }
+}
@@ -0,0 +1,104 @@
+package bowling;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Enregistrement des lancers et calcul du score d'une partie mono-joueur,
+ * pour chaque moteur de stockage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartieMonoJoueurBenchmark {
+
+    @State(Scope.Thread)
+    public static class Parties {
+
+        @Param({"OBJETS", "COMPACT"})
+        MoteurStockage moteur;
+
+        IPartieMonoJoueur partielle;
+        IPartieMonoJoueur terminee;
+
+        @Setup
+        public void preparer() {
+            int[] lancers = JeuxDeDonnees.PARTIE_MIXTE;
+            partielle = moteur.nouvellePartie("A");
+            terminee = moteur.nouvellePartie("A");
+            for (int i = 0; i < lancers.length; i++) {
+                // La partie partielle s'arrête au milieu du 6e tour (8/)
+                if (i < 9) {
+                    partielle.enregistrerLancer(lancers[i]);
+                }
+                terminee.enregistrerLancer(lancers[i]);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reference {
+
+        PartieMonoJoueur partielle;
+        PartieMonoJoueur terminee;
+
+        @Setup
+        public void preparer() {
+            int[] lancers = JeuxDeDonnees.PARTIE_MIXTE;
+            partielle = new PartieMonoJoueur("A");
+            terminee = new PartieMonoJoueur("A");
+            for (int i = 0; i < lancers.length; i++) {
+                if (i < 9) {
+                    partielle.enregistrerLancer(lancers[i]);
+                }
+                terminee.enregistrerLancer(lancers[i]);
+            }
+        }
+    }
+
+    /**
+     * Coût d'un lancer : une partie complète de 17 lancers par invocation
+     */
+    @Benchmark
+    @OperationsPerInvocation(17)
+    public IPartieMonoJoueur enregistrerLancer(Parties parties) {
+        IPartieMonoJoueur partie = parties.moteur.nouvellePartie("A");
+        for (int quilles : JeuxDeDonnees.PARTIE_MIXTE) {
+            partie.enregistrerLancer(quilles);
+        }
+        return partie;
+    }
+
+    @Benchmark
+    public int scorePartiePartielle(Parties parties) {
+        return parties.partielle.score();
+    }
+
+    @Benchmark
+    public int scorePartieTerminee(Parties parties) {
+        return parties.terminee.score();
+    }
+
+    @Benchmark
+    public int scoreParRecalculPartiePartielle(Reference reference) {
+        return reference.partielle.scoreParRecalcul();
+    }
+
+    @Benchmark
+    public int scoreParRecalculPartieTerminee(Reference reference) {
+        return reference.terminee.scoreParRecalcul();
+    }
+}
@@ -0,0 +1,92 @@
+package bowling;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coût d'un appel à enregistreLancer selon le nombre de joueurs.
+ * Chaque joueur abat toujours le même nombre de quilles, ce qui donne une
+ * partie valide quel que soit l'ordre de passage des joueurs. Quand la partie
+ * est terminée, une nouvelle partie est démarrée : ce coût est amorti sur
+ * tous les lancers de la partie.
+ * Comparaison avec jouerLancer, qui renvoie l'état du prochain tir sans
+ * construire de message.
+ * Coût de la lecture du score d'un joueur, par son nom ou par son identifiant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PartieMultiJoueursBenchmark {
+
+    @Param({"2", "16", "128"})
+    int nombreJoueurs;
+
+    @Param({"4", "10"})
+    int quilles;
+
+    @Param({"OBJETS", "COMPACT"})
+    MoteurStockage moteur;
+
+    private String[] noms;
+    private PartieMultiJoueurs partie;
+    private int lancersParPartie;
+    private int lancersRestants;
+    private int prochainJoueur;
+
+    @Setup
+    public void preparer() {
+        noms = new String[nombreJoueurs];
+        for (int i = 0; i < nombreJoueurs; i++) {
+            noms[i] = "Joueur " + i;
+        }
+        partie = new PartieMultiJoueurs(moteur);
+        lancersParPartie = nombreJoueurs * (quilles == 10 ? 12 : 20);
+        partie.demarreNouvellePartie(noms);
+        lancersRestants = lancersParPartie;
+    }
+
+    @Benchmark
+    public String enregistreLancer() {
+        if (lancersRestants == 0) {
+            partie.demarreNouvellePartie(noms);
+            lancersRestants = lancersParPartie;
+        }
+        lancersRestants--;
+        return partie.enregistreLancer(quilles);
+    }
+
+    @Benchmark
+    public long jouerLancer() {
+        if (lancersRestants == 0) {
+            partie.demarreNouvellePartie(noms);
+            lancersRestants = lancersParPartie;
+        }
+        lancersRestants--;
+        return partie.jouerLancer(quilles);
+    }
+
+    @Benchmark
+    public int scorePourNom() {
+        prochainJoueur = (prochainJoueur + 1) % nombreJoueurs;
+        return partie.scorePour(noms[prochainJoueur]);
+    }
+
+    @Benchmark
+    public int scorePourIdentifiant() {
+        prochainJoueur = (prochainJoueur + 1) % nombreJoueurs;
+        return partie.scorePour(prochainJoueur);
+    }
+}
@@ -0,0 +1,77 @@
+package bowling;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Quatre contrôleurs de quilleur envoient des lancers sur la même piste, soit
+ * à travers une PisteActeur, soit à travers une PartieMultiJoueursSynchronisee.
+ * Le mode SampleTime donne le débit et les percentiles de latence (p50, p99, p99.9...).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PisteActeurBenchmark {
+
+    static final String[] JOUEURS = {"Alice", "Bob", "Carole", "David"};
+
+    @Param({"THREADS_PLATEFORME", "THREADS_VIRTUELS"})
+    ModeExecution mode;
+
+    private PisteActeur acteur;
+    private PartieMultiJoueursSynchronisee synchronisee;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        acteur = new PisteActeur(1, new PartieMultiJoueurs(), mode);
+        acteur.demarreNouvellePartie(JOUEURS).join();
+        synchronisee = new PartieMultiJoueursSynchronisee(new PartieMultiJoueurs());
+        synchronisee.demarreNouvellePartie(JOUEURS);
+    }
+
+    @TearDown(Level.Trial)
+    public void arreter() {
+        acteur.close();
+    }
+
+    @Benchmark
+    public String acteur() {
+        return acteur.soumettre(PisteActeurBenchmark::lancerEtRecommencer).join();
+    }
+
+    @Benchmark
+    public String synchronisee() {
+        // Le même verrou que les méthodes de PartieMultiJoueursSynchronisee
+        synchronized (synchronisee) {
+            return lancerEtRecommencer(synchronisee);
+        }
+    }
+
+    /**
+     * Lance 4 quilles, et démarre une nouvelle partie si c'était le dernier lancer
+     */
+    private static String lancerEtRecommencer(IPartieMultiJoueurs partie) {
+        String message = partie.enregistreLancer(4);
+        if ("Partie terminée".equals(message)) {
+            partie.demarreNouvellePartie(JOUEURS);
+        }
+        return message;
+    }
+}
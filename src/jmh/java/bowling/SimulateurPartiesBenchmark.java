@@ -0,0 +1,47 @@
+package bowling;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Débit de la simulation, en parties par microseconde : une partie jouée et
+ * comptée sur un thread, et 4 joueurs simulés en parallèle.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulateurPartiesBenchmark {
+
+    static final int PARTIES_PAR_JOUEUR = 1 << 20;
+
+    private final ModeleJoueur[] joueurs = {ModeleJoueur.binomial(0.6), ModeleJoueur.binomial(0.75),
+                                            ModeleJoueur.binomial(0.85), ModeleJoueur.binomial(0.95)};
+    private final SimulateurParties simulateur = new SimulateurParties();
+    private final SplittableRandom hasard = new SplittableRandom(42);
+    private final int[] lancers = new int[SimulateurParties.LANCERS_MAX];
+    private long graine;
+
+    @Benchmark
+    public int unePartie() {
+        return SimulateurParties.jouerPartie(joueurs[2], hasard, lancers);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4 * PARTIES_PAR_JOUEUR)
+    public StatistiquesScores[] saisonParallele() {
+        return simulateur.simuler(joueurs, PARTIES_PAR_JOUEUR, graine++);
+    }
+}
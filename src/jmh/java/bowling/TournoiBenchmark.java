@@ -0,0 +1,56 @@
+package bowling;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tournoi simulé de 10 000 joueurs : équipes de 5, séries de 3 parties, 100
+ * places qualificatives, sur 1 piste (séquentiel) ou 100 pistes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TournoiBenchmark {
+
+    static final int NOMBRE_JOUEURS = 10_000;
+
+    @Param({"1", "100"})
+    int nombrePistes;
+
+    private final String[] joueurs = new String[NOMBRE_JOUEURS];
+    private final ModeleJoueur[] modeles = new ModeleJoueur[NOMBRE_JOUEURS];
+    private long graine;
+
+    @Setup
+    public void preparer() {
+        ModeleJoueur[] niveaux = new ModeleJoueur[50];
+        for (int niveau = 0; niveau < niveaux.length; niveau++) {
+            niveaux[niveau] = ModeleJoueur.binomial(0.5 + 0.01 * niveau);
+        }
+        for (int j = 0; j < NOMBRE_JOUEURS; j++) {
+            joueurs[j] = "Joueur " + j;
+            modeles[j] = niveaux[j % niveaux.length];
+        }
+    }
+
+    @Benchmark
+    public int[] tournoi() {
+        try (Tournoi tournoi = new Tournoi(joueurs, modeles, 5, 3, nombrePistes, 100)) {
+            tournoi.jouer(graine++);
+            return tournoi.qualifies();
+        }
+    }
+}
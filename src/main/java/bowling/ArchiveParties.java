@@ -0,0 +1,335 @@
+package bowling;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archive des parties terminées, dans un fichier binaire compact.
+ * <p>
+ * Le fichier commence par un en-tête (le mot magique "BWLA" puis le numéro de
+ * version sur 2 octets), suivi des parties les unes après les autres. Chaque
+ * lancer d'une partie est codé sur 4 bits (le premier lancer dans les 4 bits
+ * de poids fort), et chaque partie commence sur un nouvel octet : une partie
+ * de 21 lancers occupe 11 octets, une partie sans strike ni spare 10 octets.
+ * La longueur d'une partie n'est pas stockée : comme l'archive ne contient que
+ * des parties complètes, la fin de chaque partie se déduit de ses lancers.
+ * <p>
+ * Les parties sont écrites et relues en flux par un FileChannel, sans jamais
+ * construire d'objets Tour ou Lancer.
+ */
+public final class ArchiveParties {
+
+    /**
+     * "BWLA" en ASCII
+     */
+    static final int MAGIQUE = 0x42574C41;
+
+    /**
+     * Version du format écrit par cette classe
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Taille de l'en-tête du fichier, en octets
+     */
+    static final int TAILLE_ENTETE = 6;
+
+    /**
+     * Taille maximum d'une partie codée, en octets
+     */
+    static final int TAILLE_MAX_PARTIE = 11;
+
+    private static final int TAILLE_TAMPON = 64 * 1024;
+
+    private ArchiveParties() {
+    }
+
+    /**
+     * Vérifie qu'une séquence de lancers est une partie complète et valide,
+     * avec les mêmes règles que Tour et Lancer
+     * @param lancers les lancers de la partie
+     * @throws IllegalArgumentException si un lancer est invalide, si la partie
+     * est incomplète ou s'il y a des lancers en trop
+     */
+    static void verifierPartieComplete(int[] lancers) {
+        for (int quilles : lancers) {
+            if (quilles < 0 || quilles > 10) {
+                throw new IllegalArgumentException("Le nombre de quilles abattues doit être entre 0 et 10");
+            }
+        }
+        int i = 0;
+        for (int tour = 1; tour < 10; tour++) {
+            if (i < lancers.length && lancers[i] == 10) {
+                i++;
+                continue;
+            }
+            if (i + 1 >= lancers.length) {
+                throw new IllegalArgumentException("La partie n'est pas terminée");
+            }
+            if (lancers[i] + lancers[i + 1] > 10) {
+                throw new IllegalArgumentException("Le total des quilles abattues dans ce tour ne peut pas dépasser 10.");
+            }
+            i += 2;
+        }
+        if (i + 1 >= lancers.length) {
+            throw new IllegalArgumentException("La partie n'est pas terminée");
+        }
+        int lancersDernierTour = lancers[i] == 10 || lancers[i] + lancers[i + 1] == 10 ? 3 : 2;
+        if (i + lancersDernierTour != lancers.length) {
+            throw new IllegalArgumentException(i + lancersDernierTour > lancers.length
+                    ? "La partie n'est pas terminée"
+                    : "La partie comporte des lancers après le 10e tour");
+        }
+    }
+
+    /**
+     * Écrit des parties terminées à la fin d'une archive.
+     * Les parties sont accumulées dans un tampon et écrites par blocs de 64 Ko :
+     * elles ne sont sur disque qu'après close().
+     */
+    public static class Ecrivain implements AutoCloseable {
+
+        private final FileChannel canal;
+        private final ByteBuffer tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON);
+        private long nombreParties;
+
+        /**
+         * Ouvre une archive en écriture. Si le fichier existe déjà, les nouvelles
+         * parties sont ajoutées après celles qu'il contient.
+         * @param fichier le fichier de l'archive, créé au besoin
+         * @throws IOException si le fichier ne peut pas être ouvert, ou s'il existe
+         * et n'est pas une archive de cette version
+         */
+        public Ecrivain(Path fichier) throws IOException {
+            canal = FileChannel.open(fichier, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                if (canal.size() == 0) {
+                    tampon.putInt(MAGIQUE).putShort((short) VERSION);
+                } else {
+                    ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE);
+                    int lus;
+                    do {
+                        lus = canal.read(entete, entete.position());
+                    } while (lus >= 0 && entete.hasRemaining());
+                    if (entete.hasRemaining()) {
+                        throw new IOException("Archive tronquée : " + fichier);
+                    }
+                    lireEntete(entete.flip());
+                    canal.position(canal.size());
+                }
+            } catch (IOException | RuntimeException e) {
+                canal.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Ajoute une partie à l'archive
+         * @param lancers les lancers d'une partie complète
+         * @throws IOException si le tampon plein ne peut pas être écrit
+         * @throws IllegalArgumentException si la partie est invalide ou incomplète
+         */
+        public void ecrire(int[] lancers) throws IOException {
+            verifierPartieComplete(lancers);
+            if (tampon.remaining() < TAILLE_MAX_PARTIE) {
+                vider();
+            }
+            for (int i = 0; i < lancers.length; i += 2) {
+                int second = i + 1 < lancers.length ? lancers[i + 1] : 0;
+                tampon.put((byte) (lancers[i] << 4 | second));
+            }
+            nombreParties++;
+        }
+
+        /**
+         * Ajoute la partie d'un joueur à l'archive
+         * @param partie une partie terminée
+         * @throws IOException si le tampon plein ne peut pas être écrit
+         * @throws IllegalArgumentException si la partie n'est pas terminée
+         */
+        public void ecrire(IPartieMonoJoueur partie) throws IOException {
+            if (!partie.estTerminee()) {
+                throw new IllegalArgumentException("La partie n'est pas terminée");
+            }
+            ecrire(partie.getLancers());
+        }
+
+        /**
+         * @return le nombre de parties ajoutées depuis l'ouverture
+         */
+        public long getNombreParties() {
+            return nombreParties;
+        }
+
+        /**
+         * Écrit les parties restées dans le tampon, puis ferme le fichier
+         * @throws IOException si le fichier ne peut pas être écrit
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                vider();
+            } finally {
+                canal.close();
+            }
+        }
+
+        private void vider() throws IOException {
+            tampon.flip();
+            while (tampon.hasRemaining()) {
+                canal.write(tampon);
+            }
+            tampon.clear();
+        }
+    }
+
+    /**
+     * Relit les parties d'une archive, dans l'ordre où elles ont été écrites.
+     */
+    public static class Lecteur implements AutoCloseable {
+
+        private final FileChannel canal;
+        private final ByteBuffer tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON);
+        private final int[] lancers = new int[21];
+        private boolean finFichier;
+        private int octetCourant;
+
+        /**
+         * Ouvre une archive en lecture
+         * @param fichier le fichier de l'archive
+         * @throws IOException si le fichier ne peut pas être ouvert ou n'est pas
+         * une archive de cette version
+         */
+        public Lecteur(Path fichier) throws IOException {
+            canal = FileChannel.open(fichier, StandardOpenOption.READ);
+            try {
+                tampon.flip();
+                remplir();
+                if (tampon.remaining() < TAILLE_ENTETE) {
+                    throw new IOException("Archive tronquée : " + fichier);
+                }
+                lireEntete(tampon);
+            } catch (IOException | RuntimeException e) {
+                canal.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Relit la partie suivante
+         * @param destination le tableau qui reçoit les lancers (au moins 21 cases)
+         * @return le nombre de lancers de la partie, ou -1 s'il n'y a plus de partie
+         * @throws IOException si le fichier ne peut pas être lu ou si la partie est tronquée ou corrompue
+         */
+        public int lireLancers(int[] destination) throws IOException {
+            if (!remplir()) {
+                return -1;
+            }
+            try {
+                int n = 0;
+                for (int tour = 1; tour < 10; tour++) {
+                    destination[n] = quilles(n);
+                    if (destination[n++] < 10) {
+                        destination[n] = quilles(n);
+                        if (destination[n - 1] + destination[n++] > 10) {
+                            throw new IOException("Archive corrompue : plus de 10 quilles au tour " + tour);
+                        }
+                    }
+                }
+                destination[n] = quilles(n);
+                destination[n + 1] = quilles(n + 1);
+                boolean bonus = destination[n] == 10 || destination[n] + destination[n + 1] == 10;
+                n += 2;
+                if (bonus) {
+                    destination[n] = quilles(n);
+                    n++;
+                }
+                return n;
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Archive tronquée : la dernière partie est incomplète", e);
+            }
+        }
+
+        /**
+         * Relit la partie suivante et calcule directement son score
+         * @return le score de la partie, ou -1 s'il n'y a plus de partie
+         * @throws IOException si le fichier ne peut pas être lu ou si la partie est tronquée ou corrompue
+         */
+        public int scoreSuivant() throws IOException {
+            int n = lireLancers(lancers);
+            return n < 0 ? -1 : CalculateurScoreLot.calculerScoreTotal(lancers, 0, n);
+        }
+
+        /**
+         * Relit toutes les parties restantes
+         * @return les statistiques de leurs scores
+         * @throws IOException si le fichier ne peut pas être lu ou si une partie est tronquée ou corrompue
+         */
+        public StatistiquesScores calculerStatistiques() throws IOException {
+            StatistiquesScores statistiques = new StatistiquesScores();
+            for (int score = scoreSuivant(); score >= 0; score = scoreSuivant()) {
+                statistiques.ajouter(score);
+            }
+            return statistiques;
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+
+        /**
+         * Décode le lancer de rang donné dans la partie en cours :
+         * les rangs pairs sont dans les 4 bits de poids fort d'un nouvel octet
+         */
+        private int quilles(int rang) throws IOException {
+            int quilles;
+            if ((rang & 1) == 0) {
+                octetCourant = tampon.get();
+                quilles = (octetCourant >>> 4) & 0xF;
+            } else {
+                quilles = octetCourant & 0xF;
+            }
+            if (quilles > 10) {
+                throw new IOException("Archive corrompue : " + quilles + " quilles");
+            }
+            return quilles;
+        }
+
+        /**
+         * Recharge le tampon pour qu'il contienne une partie entière, sauf en fin de fichier
+         * @return true s'il reste au moins un octet à lire
+         */
+        private boolean remplir() throws IOException {
+            if (tampon.remaining() < TAILLE_MAX_PARTIE && !finFichier) {
+                tampon.compact();
+                while (tampon.hasRemaining()) {
+                    if (canal.read(tampon) < 0) {
+                        finFichier = true;
+                        break;
+                    }
+                }
+                tampon.flip();
+            }
+            return tampon.hasRemaining();
+        }
+    }
+
+    /**
+     * @throws IOException si le mot magique ou la version ne correspondent pas
+     */
+    private static void lireEntete(ByteBuffer entete) throws IOException {
+        if (entete.getInt() != MAGIQUE) {
+            throw new IOException("Ce n'est pas une archive de parties de bowling");
+        }
+        int version = Short.toUnsignedInt(entete.getShort());
+        if (version != VERSION) {
+            throw new IOException("Version d'archive non prise en charge : " + version);
+        }
+    }
+}
@@ -3,7 +3,9 @@ package bowling;
 import java.util.List;
 
 /**
- * Calcule le score total d'une partie
+ * Calcule le score total d'une partie.
+ * Les sous-classes remplacent le calcul lui-même (calculerScore) : le relevé
+ * des métriques et l'événement JFR de calculerScoreTotal valent pour toutes.
  */
 public class CalculateurScore {
 
@@ -12,7 +14,29 @@ public class CalculateurScore {
      * @param tours la liste des tours de la partie
      * @return le score total
      */
-    public int calculerScoreTotal(List<Tour> tours) {
+    public final int calculerScoreTotal(List<Tour> tours) {
+        long debut = Metriques.GLOBALES.calculsScore.debut();
+        EvenementsJfr.CalculScore evenement = new EvenementsJfr.CalculScore();
+        boolean enregistre = evenement.isEnabled();
+        if (enregistre) {
+            evenement.begin();
+        }
+        int scoreTotal = calculerScore(tours);
+        Metriques.GLOBALES.calculsScore.fin(debut);
+        if (enregistre && evenement.shouldCommit()) {
+            evenement.nombreTours = tours.size();
+            evenement.score = scoreTotal;
+            evenement.commit();
+        }
+        return scoreTotal;
+    }
+
+    /**
+     * Calcul du score total, sans relevé : cf. calculerScoreTotal
+     * @param tours la liste des tours de la partie
+     * @return le score total
+     */
+    protected int calculerScore(List<Tour> tours) {
         int scoreTotal = 0;
         
         // Un jeu de bowling a exactement 10 tours (frames)
@@ -25,7 +49,6 @@ public class CalculateurScore {
             // score du tour + bonus
             scoreTotal += calculerScoreTour(tour, tours, i);
         }
-        
         return scoreTotal;
     }
 
@@ -0,0 +1,146 @@
+package bowling;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Recalcule en parallèle les scores d'une très grande archive de parties,
+ * stockée comme pour CalculateurScoreLot (lancers mis bout à bout, indices de début).
+ * L'archive est découpée récursivement en blocs de parties contigus, assez petits
+ * pour tenir en cache, traités sur un ForkJoinPool. Chaque bloc produit ses
+ * propres statistiques, fusionnées à la remontée : aucun verrou n'est partagé.
+ */
+public class CalculateurScoreArchiveParallele implements AutoCloseable {
+
+    /**
+     * Nombre de parties par bloc (environ 70 Ko de lancers)
+     */
+    static final int TAILLE_BLOC = 1024;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructeur : autant de threads que de processeurs
+     */
+    public CalculateurScoreArchiveParallele() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructeur
+     * @param parallelisme le nombre de threads de calcul
+     * @throws IllegalArgumentException si parallelisme est inférieur à 1
+     */
+    public CalculateurScoreArchiveParallele(int parallelisme) {
+        if (parallelisme < 1) {
+            throw new IllegalArgumentException("Il faut au moins un thread de calcul.");
+        }
+        this.pool = new ForkJoinPool(parallelisme);
+    }
+
+    /**
+     * Calcule les statistiques des scores de toutes les parties de l'archive
+     * @param lancers les lancers de toutes les parties, mis bout à bout
+     * @param debuts les indices de début de chaque partie, suivis de l'indice de fin de la dernière
+     * @return le nombre de parties, total, moyenne et histogramme des scores
+     */
+    public StatistiquesScores calculerStatistiques(int[] lancers, int[] debuts) {
+        return pool.invoke(new TacheStatistiques(lancers, debuts, 0, debuts.length - 1));
+    }
+
+    /**
+     * Calcule le score total de chaque partie de l'archive
+     * @param lancers les lancers de toutes les parties, mis bout à bout
+     * @param debuts les indices de début de chaque partie, suivis de l'indice de fin de la dernière
+     * @return le score total de chaque partie
+     */
+    public int[] calculerScoresTotaux(int[] lancers, int[] debuts) {
+        int[] scores = new int[debuts.length - 1];
+        pool.invoke(new TacheScores(lancers, debuts, 0, scores.length, scores));
+        return scores;
+    }
+
+    /**
+     * @return le nombre de threads de calcul
+     */
+    public int getParallelisme() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Arrête les threads de calcul
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Statistiques d'une tranche [premiere, derniere) de parties
+     */
+    private static class TacheStatistiques extends RecursiveTask<StatistiquesScores> {
+
+        private final int[] lancers;
+        private final int[] debuts;
+        private final int premiere;
+        private final int derniere;
+
+        TacheStatistiques(int[] lancers, int[] debuts, int premiere, int derniere) {
+            this.lancers = lancers;
+            this.debuts = debuts;
+            this.premiere = premiere;
+            this.derniere = derniere;
+        }
+
+        @Override
+        protected StatistiquesScores compute() {
+            if (derniere - premiere <= TAILLE_BLOC) {
+                StatistiquesScores statistiques = new StatistiquesScores();
+                for (int p = premiere; p < derniere; p++) {
+                    statistiques.ajouter(CalculateurScoreLot.calculerScoreTotal(lancers, debuts[p], debuts[p + 1]));
+                }
+                return statistiques;
+            }
+            int milieu = (premiere + derniere) >>> 1;
+            TacheStatistiques gauche = new TacheStatistiques(lancers, debuts, premiere, milieu);
+            gauche.fork();
+            StatistiquesScores statistiques = new TacheStatistiques(lancers, debuts, milieu, derniere).compute();
+            statistiques.fusionner(gauche.join());
+            return statistiques;
+        }
+    }
+
+    /**
+     * Scores d'une tranche [premiere, derniere) de parties, écrits dans des cases distinctes
+     */
+    private static class TacheScores extends RecursiveAction {
+
+        private final int[] lancers;
+        private final int[] debuts;
+        private final int premiere;
+        private final int derniere;
+        private final int[] scores;
+
+        TacheScores(int[] lancers, int[] debuts, int premiere, int derniere, int[] scores) {
+            this.lancers = lancers;
+            this.debuts = debuts;
+            this.premiere = premiere;
+            this.derniere = derniere;
+            this.scores = scores;
+        }
+
+        @Override
+        protected void compute() {
+            if (derniere - premiere <= TAILLE_BLOC) {
+                for (int p = premiere; p < derniere; p++) {
+                    scores[p] = CalculateurScoreLot.calculerScoreTotal(lancers, debuts[p], debuts[p + 1]);
+                }
+                return;
+            }
+            int milieu = (premiere + derniere) >>> 1;
+            invokeAll(new TacheScores(lancers, debuts, premiere, milieu, scores),
+                      new TacheScores(lancers, debuts, milieu, derniere, scores));
+        }
+    }
+}
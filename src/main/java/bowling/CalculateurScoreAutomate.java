@@ -0,0 +1,176 @@
+package bowling;
+
+import java.util.List;
+
+/**
+ * Calcule le score total d'une partie avec un automate à états finis : au lieu
+ * de chercher les lancers de bonus dans les tours suivants, on lit les lancers
+ * un par un et l'état de l'automate retient tout ce qui est nécessaire au calcul.
+ * <p>
+ * Un état est formé du numéro du tour, du numéro de la boule dans le tour, des
+ * quilles abattues par la 1re boule du tour (pour reconnaître un spare), et des
+ * deux compteurs de bonus en attente de CalculateurScoreIncremental : le nombre
+ * de bonus portant sur le prochain lancer [0..2] et sur le lancer d'après [0..1].
+ * Les transitions et les multiplicateurs sont calculés une fois pour toutes :
+ * chaque lancer ne coûte que deux lectures dans un tableau, sans test sur le
+ * type de tour. Un état final absorbe les lancers après le 10e tour, qui ne
+ * comptent pas.
+ * Comme CalculateurScore, aucune validation n'est faite : c'est le rôle de Tour.
+ */
+public class CalculateurScoreAutomate extends CalculateurScore {
+
+    private static final int NOMBRE_ETATS_JEU = 10 * 3 * 11 * 3 * 2;
+
+    /**
+     * État atteint après le dernier lancer de la partie
+     */
+    static final int ETAT_FINAL = NOMBRE_ETATS_JEU;
+
+    /**
+     * État de départ : 1er tour, 1re boule, aucun bonus en attente
+     */
+    static final int ETAT_INITIAL = etat(1, 1, 0, 0, 0);
+
+    /**
+     * SUIVANT[etat * 11 + quilles] : état après un lancer
+     */
+    private static final short[] SUIVANT = new short[(NOMBRE_ETATS_JEU + 1) * 11];
+
+    /**
+     * MULTIPLICATEUR[etat] : nombre de fois que compte le prochain lancer
+     * (une fois pour lui-même, plus une par bonus en attente)
+     */
+    private static final byte[] MULTIPLICATEUR = new byte[NOMBRE_ETATS_JEU + 1];
+
+    static {
+        for (int tour = 1; tour <= 10; tour++) {
+            for (int boule = 1; boule <= 3; boule++) {
+                for (int premiere = 0; premiere <= 10; premiere++) {
+                    for (int bonusSuivant = 0; bonusSuivant <= 2; bonusSuivant++) {
+                        for (int bonusApres = 0; bonusApres <= 1; bonusApres++) {
+                            int etat = etat(tour, boule, premiere, bonusSuivant, bonusApres);
+                            MULTIPLICATEUR[etat] = (byte) (1 + bonusSuivant);
+                            for (int quilles = 0; quilles <= 10; quilles++) {
+                                SUIVANT[etat * 11 + quilles] =
+                                        (short) transition(tour, boule, premiere, bonusApres, quilles);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        for (int quilles = 0; quilles <= 10; quilles++) {
+            SUIVANT[ETAT_FINAL * 11 + quilles] = (short) ETAT_FINAL;
+        }
+        MULTIPLICATEUR[ETAT_FINAL] = 0;
+    }
+
+    /**
+     * Calcule le score total d'une partie, relevé par calculerScoreTotal
+     * @param tours la liste des tours de la partie
+     * @return le score total
+     */
+    @Override
+    protected int calculerScore(List<Tour> tours) {
+        int score = 0;
+        int etat = ETAT_INITIAL;
+        int tailleJeu = Math.min(tours.size(), 10);
+        for (int i = 0; i < tailleJeu; i++) {
+            Tour tour = tours.get(i);
+            for (int j = 0; j < tour.getNombreLancers(); j++) {
+                int quilles = tour.getQuillesLancer(j);
+                score += quilles * MULTIPLICATEUR[etat];
+                etat = SUIVANT[etat * 11 + quilles];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Calcule le score total d'une partie stockée comme une séquence de lancers.
+     * Si la partie n'est pas terminée, les lancers manquants comptent pour 0.
+     * @param lancers les quilles abattues à chaque lancer, dans l'ordre
+     * @param debut l'indice du premier lancer de la partie
+     * @param fin l'indice qui suit le dernier lancer de la partie
+     * @return le score total
+     */
+    public int calculerScoreTotal(int[] lancers, int debut, int fin) {
+        int score = 0;
+        int etat = ETAT_INITIAL;
+        for (int i = debut; i < fin; i++) {
+            int quilles = lancers[i];
+            score += quilles * MULTIPLICATEUR[etat];
+            etat = SUIVANT[etat * 11 + quilles];
+        }
+        return score;
+    }
+
+    /**
+     * @return l'état atteint en abattant quilles depuis l'état donné
+     */
+    static int suivant(int etat, int quilles) {
+        return SUIVANT[etat * 11 + quilles];
+    }
+
+    /**
+     * @return le nombre de fois que compte le prochain lancer depuis l'état donné
+     */
+    static int multiplicateur(int etat) {
+        return MULTIPLICATEUR[etat];
+    }
+
+    /**
+     * Mêmes règles que Tour.ajouterLancer : seule la 2e boule des tours 1 à 9
+     * est limitée par les quilles restées debout
+     * @return le plus grand nombre de quilles accepté au prochain lancer depuis
+     * l'état donné, ou -1 dans l'état final
+     */
+    static int quillesMaximum(int etat) {
+        if (etat == ETAT_FINAL) {
+            return -1;
+        }
+        int premiere = etat / (3 * 2) % 11;
+        int tourEtBoule = etat / (3 * 2 * 11);
+        int tour = tourEtBoule / 3 + 1;
+        int boule = tourEtBoule % 3 + 1;
+        return tour < 10 && boule == 2 ? 10 - premiere : 10;
+    }
+
+    private static int etat(int tour, int boule, int premiere, int bonusSuivant, int bonusApres) {
+        return ((((tour - 1) * 3 + boule - 1) * 11 + premiere) * 3 + bonusSuivant) * 2 + bonusApres;
+    }
+
+    /**
+     * Mêmes règles que CalculateurScoreIncremental.ajouterLancer et Tour.estTermine
+     * @return l'état après avoir abattu quilles depuis l'état donné
+     */
+    private static int transition(int tour, int boule, int premiere, int bonusApres, int quilles) {
+        // Les bonus en attente avancent d'un lancer
+        int bonusSuivant = bonusApres;
+        bonusApres = 0;
+
+        if (tour < 10) {
+            if (boule == 1 && quilles == 10) {
+                // Strike : bonus sur les 2 prochains lancers
+                return etat(tour + 1, 1, 0, bonusSuivant + 1, bonusApres + 1);
+            }
+            if (boule == 1) {
+                return etat(tour, 2, quilles, bonusSuivant, bonusApres);
+            }
+            if (premiere + quilles == 10) {
+                // Spare : bonus sur le prochain lancer
+                bonusSuivant++;
+            }
+            return etat(tour + 1, 1, 0, bonusSuivant, bonusApres);
+        }
+
+        // Au 10e tour, les lancers supplémentaires ne génèrent pas de bonus
+        if (boule == 1) {
+            return etat(10, 2, quilles, bonusSuivant, bonusApres);
+        }
+        if (boule == 2 && (premiere == 10 || premiere + quilles == 10)) {
+            return etat(10, 3, 0, bonusSuivant, bonusApres);
+        }
+        return ETAT_FINAL;
+    }
+}
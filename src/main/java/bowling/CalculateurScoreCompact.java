@@ -0,0 +1,68 @@
+package bowling;
+
+/**
+ * Calcule le score total d'une partie stockée comme une simple séquence de
+ * lancers, sans passer par des objets Tour ou Lancer.
+ */
+public class CalculateurScoreCompact {
+
+    /**
+     * Calcule le score total d'une partie.
+     * Si la partie n'est pas terminée, les lancers manquants comptent pour 0.
+     * @param lancers les quilles abattues à chaque lancer, dans l'ordre
+     * @param debut l'indice du premier lancer de la partie
+     * @param fin l'indice qui suit le dernier lancer de la partie
+     * @return le score total
+     */
+    public int calculerScoreTotal(byte[] lancers, int debut, int fin) {
+        return calculerScoreTotal(i -> lancers[i], debut, fin);
+    }
+
+    /**
+     * Calcul commun aux séquences de lancers de tous types (byte[] ici, int[]
+     * pour CalculateurScoreLot). Une fois cette méthode compilée dans chaque
+     * appelant, la lecture d'un lancer est un simple accès au tableau.
+     * @param lancers la lecture des quilles abattues au lancer d'indice donné
+     * @param debut l'indice du premier lancer de la partie
+     * @param fin l'indice qui suit le dernier lancer de la partie
+     * @return le score total
+     */
+    static int calculerScoreTotal(Lancers lancers, int debut, int fin) {
+        int scoreTotal = 0;
+        int i = debut;
+
+        for (int tour = 1; tour <= 10 && i < fin; tour++) {
+            int premier = lancers.quilles(i);
+            int second = i + 1 < fin ? lancers.quilles(i + 1) : 0;
+            int troisieme = i + 2 < fin ? lancers.quilles(i + 2) : 0;
+
+            if (premier == 10) {
+                // Strike : les 2 lancers suivants sont le bonus (ou les boules du 10e tour)
+                scoreTotal += 10 + second + troisieme;
+                i++;
+            } else if (premier + second == 10) {
+                // Spare : le lancer suivant est le bonus (ou la 3e boule du 10e tour)
+                scoreTotal += 10 + troisieme;
+                i += 2;
+            } else {
+                scoreTotal += premier + second;
+                i += 2;
+            }
+        }
+
+        return scoreTotal;
+    }
+
+    /**
+     * Lecture d'un lancer dans une séquence de lancers
+     */
+    @FunctionalInterface
+    interface Lancers {
+
+        /**
+         * @param indice l'indice du lancer
+         * @return les quilles abattues à ce lancer
+         */
+        int quilles(int indice);
+    }
+}
@@ -0,0 +1,212 @@
+package bowling;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Calcule les scores d'un fichier texte de parties, une partie par ligne, en
+ * mémoire constante quelle que soit la taille du fichier.
+ * <p>
+ * Chaque caractère d'une ligne est un lancer : un chiffre de 0 à 9, {@code -}
+ * pour 0, {@code X} pour un strike, {@code /} pour un spare (les quilles restant
+ * debout après le lancer précédent du tour : au 10e tour, pas sur des quilles
+ * tout juste relevées après un strike ou un spare). Les espaces, tabulations, virgules
+ * et {@code |} sont ignorés, ce qui permet de séparer les tours, par exemple
+ * {@code X 7/ 9- X -8 8/ -6 X X X81}. Les lignes vides sont ignorées.
+ * Les règles de validation sont celles de Tour : au 10e tour, la somme des
+ * quilles n'est pas contrôlée.
+ * <p>
+ * Le fichier est lu par blocs dans un tampon de taille fixe et analysé octet par
+ * octet : aucune chaîne n'est créée pour les lignes valides, et le score est
+ * calculé au fil des lancers par un CalculateurScoreIncremental réutilisé.
+ * Un même calculateur peut traiter plusieurs fichiers, l'un après l'autre.
+ */
+public class CalculateurScoreFlux {
+
+    /**
+     * Taille par défaut du tampon de lecture : 256 Ko
+     */
+    public static final int TAILLE_TAMPON_DEFAUT = 256 * 1024;
+
+    private final ByteBuffer tampon;
+    private final CalculateurScoreIncremental calculateur = new CalculateurScoreIncremental();
+
+    // État de la ligne en cours
+    private long numeroLigne;
+    private boolean ligneVide;
+    private String erreur;
+    private int numeroTour;
+    private int numeroBoule;
+    // Quilles du lancer précédent dans le tour courant
+    private int precedent;
+    // Le prochain lancer se fait sur des quilles relevées : un spare y est impossible
+    private boolean quillesRelevees;
+    private int premierDixiemeTour;
+    private boolean partieTerminee;
+
+    /**
+     * Constructeur, avec un tampon de taille par défaut
+     */
+    public CalculateurScoreFlux() {
+        this(TAILLE_TAMPON_DEFAUT);
+    }
+
+    /**
+     * Constructeur
+     * @param tailleTampon la taille du tampon de lecture, en octets
+     * @throws IllegalArgumentException si la taille n'est pas strictement positive
+     */
+    public CalculateurScoreFlux(int tailleTampon) {
+        if (tailleTampon <= 0) {
+            throw new IllegalArgumentException("La taille du tampon doit être strictement positive");
+        }
+        this.tampon = ByteBuffer.allocateDirect(tailleTampon);
+    }
+
+    /**
+     * Calcule les scores de toutes les parties d'un fichier
+     * @param fichier le fichier texte, une partie par ligne
+     * @param recepteur reçoit le score de chaque partie
+     * @return le nombre de parties valides
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    public long calculer(Path fichier, RecepteurScores recepteur) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            return calculer(canal, recepteur);
+        }
+    }
+
+    /**
+     * Calcule les scores de toutes les parties lues sur un canal, jusqu'à sa fin
+     * @param canal le canal à lire, une partie par ligne
+     * @param recepteur reçoit le score de chaque partie
+     * @return le nombre de parties valides
+     * @throws IOException si le canal ne peut pas être lu
+     */
+    public long calculer(ReadableByteChannel canal, RecepteurScores recepteur) throws IOException {
+        long nombreParties = 0;
+        numeroLigne = 1;
+        commencerLigne();
+        tampon.clear();
+        while (canal.read(tampon) >= 0) {
+            tampon.flip();
+            while (tampon.hasRemaining()) {
+                byte caractere = tampon.get();
+                if (caractere == '\n') {
+                    nombreParties += terminerLigne(recepteur);
+                    numeroLigne++;
+                    commencerLigne();
+                } else if (erreur == null) {
+                    analyser(caractere);
+                }
+            }
+            tampon.clear();
+        }
+        // Dernière ligne sans retour à la ligne
+        return nombreParties + terminerLigne(recepteur);
+    }
+
+    private void commencerLigne() {
+        calculateur.reinitialiser();
+        ligneVide = true;
+        erreur = null;
+        numeroTour = 1;
+        numeroBoule = 1;
+        precedent = 0;
+        quillesRelevees = true;
+        premierDixiemeTour = 0;
+        partieTerminee = false;
+    }
+
+    /**
+     * Transmet le résultat de la ligne au récepteur
+     * @return 1 si la ligne est une partie valide, 0 sinon
+     */
+    private int terminerLigne(RecepteurScores recepteur) {
+        if (ligneVide) {
+            return 0;
+        }
+        if (erreur == null && !partieTerminee) {
+            erreur = "partie incomplète";
+        }
+        if (erreur != null) {
+            recepteur.ligneInvalide(numeroLigne, erreur);
+            return 0;
+        }
+        recepteur.score(numeroLigne, calculateur.getScore());
+        return 1;
+    }
+
+    private void analyser(byte caractere) {
+        if (caractere == ' ' || caractere == '\t' || caractere == '\r' || caractere == ',' || caractere == '|') {
+            return;
+        }
+        ligneVide = false;
+        int quilles;
+        switch (caractere) {
+            case 'X', 'x' -> quilles = 10;
+            case '-' -> quilles = 0;
+            case '/' -> {
+                if (quillesRelevees) {
+                    erreur = "spare sans lancer précédent dans le tour " + numeroTour;
+                    return;
+                }
+                quilles = 10 - precedent;
+            }
+            default -> {
+                if (caractere < '0' || caractere > '9') {
+                    erreur = "caractère invalide '" + (char) caractere + "'";
+                    return;
+                }
+                quilles = caractere - '0';
+            }
+        }
+        ajouterLancer(quilles);
+    }
+
+    /**
+     * Suit la progression des tours comme Tour et PartieMonoJoueur
+     */
+    private void ajouterLancer(int quilles) {
+        if (partieTerminee) {
+            erreur = "lancer après la fin de la partie";
+            return;
+        }
+        if (numeroTour < 10) {
+            if (numeroBoule == 2 && precedent + quilles > 10) {
+                erreur = "plus de 10 quilles au tour " + numeroTour;
+                return;
+            }
+            calculateur.ajouterLancer(quilles);
+            if (numeroBoule == 1 && quilles < 10) {
+                numeroBoule = 2;
+                precedent = quilles;
+                quillesRelevees = false;
+            } else {
+                numeroTour++;
+                numeroBoule = 1;
+                precedent = 0;
+                quillesRelevees = true;
+            }
+            return;
+        }
+
+        calculateur.ajouterLancer(quilles);
+        if (numeroBoule == 1) {
+            premierDixiemeTour = quilles;
+            quillesRelevees = quilles == 10;
+        } else if (numeroBoule == 2) {
+            partieTerminee = premierDixiemeTour < 10 && premierDixiemeTour + quilles != 10;
+            // Après un strike, la 2e boule est jouée sur des quilles relevées : elles le sont à nouveau si elle les abat toutes
+            quillesRelevees = premierDixiemeTour < 10 ? premierDixiemeTour + quilles == 10 : quilles == 10;
+        } else {
+            partieTerminee = true;
+        }
+        numeroBoule++;
+        precedent = quilles;
+    }
+}
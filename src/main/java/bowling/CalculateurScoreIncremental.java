@@ -0,0 +1,125 @@
+package bowling;
+
+/**
+ * Calcule le score d'une partie au fil des lancers, sans jamais reparcourir
+ * les tours déjà joués.
+ * Les bonus de strike et de spare en attente sont mémorisés sous forme de
+ * compteurs : le score courant est toujours celui obtenu si tous les lancers
+ * restants abattaient 0 quille (même convention que PartieMonoJoueur).
+ * Aucune validation n'est faite ici : c'est le rôle de Tour.
+ */
+public class CalculateurScoreIncremental {
+
+    private int score;
+    private int numeroTour;
+    private int numeroBoule;
+    private int quillesPremiereBoule;
+    // Nombre de bonus (strike ou spare) qui porteront sur le prochain lancer
+    private int bonusLancerSuivant;
+    // Nombre de bonus (strike uniquement) qui porteront sur le lancer d'après
+    private int bonusLancerApres;
+
+    /**
+     * Constructeur : le calcul démarre au tour 1, boule 1, avec un score nul
+     */
+    public CalculateurScoreIncremental() {
+        reinitialiser();
+    }
+
+    /**
+     * Remet le calculateur dans l'état d'une partie qui commence,
+     * pour pouvoir le réutiliser sans nouvelle allocation.
+     */
+    public void reinitialiser() {
+        score = 0;
+        numeroTour = 1;
+        numeroBoule = 1;
+        quillesPremiereBoule = 0;
+        bonusLancerSuivant = 0;
+        bonusLancerApres = 0;
+    }
+
+    /**
+     * Reprend le calcul au début d'un tour, dans un état relevé plus tôt par
+     * getScore et getBonusEnAttente au début de ce même tour : les lancers
+     * suivants sont comptés comme s'ils suivaient ceux d'alors.
+     * @param numeroTour le tour qui commence [1..10]
+     * @param score le score relevé au début du tour
+     * @param bonusEnAttente les bonus en attente relevés au début du tour
+     */
+    void reprendreAuTour(int numeroTour, int score, int bonusEnAttente) {
+        this.score = score;
+        this.numeroTour = numeroTour;
+        this.numeroBoule = 1;
+        this.quillesPremiereBoule = 0;
+        this.bonusLancerSuivant = bonusEnAttente >> 1;
+        this.bonusLancerApres = bonusEnAttente & 1;
+    }
+
+    /**
+     * Prend en compte un lancer (supposé valide) : ajoute les quilles au score,
+     * règle les bonus en attente et enregistre les nouveaux bonus.
+     * @param quilles le nombre de quilles abattues lors de ce lancer
+     */
+    public void ajouterLancer(int quilles) {
+        // Le lancer compte une fois pour lui-même, plus une fois par bonus en attente
+        score += quilles * (1 + bonusLancerSuivant);
+        bonusLancerSuivant = bonusLancerApres;
+        bonusLancerApres = 0;
+
+        if (numeroTour < 10) {
+            if (numeroBoule == 1) {
+                if (quilles == 10) {
+                    // Strike : bonus sur les 2 prochains lancers
+                    bonusLancerSuivant++;
+                    bonusLancerApres++;
+                    numeroTour++;
+                } else {
+                    quillesPremiereBoule = quilles;
+                    numeroBoule = 2;
+                }
+            } else {
+                if (quillesPremiereBoule + quilles == 10) {
+                    // Spare : bonus sur le prochain lancer
+                    bonusLancerSuivant++;
+                }
+                numeroTour++;
+                numeroBoule = 1;
+            }
+        } else {
+            // Au 10e tour, les lancers supplémentaires ne génèrent pas de bonus
+            if (numeroBoule == 1) {
+                quillesPremiereBoule = quilles;
+            }
+            numeroBoule++;
+        }
+    }
+
+    /**
+     * @return le score courant, les lancers restants étant comptés à 0
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return les bonus en attente, codés bonusLancerSuivant * 2 + bonusLancerApres [0..5]
+     */
+    int getBonusEnAttente() {
+        return bonusLancerSuivant * 2 + bonusLancerApres;
+    }
+
+    /**
+     * @return le numéro du tour dans lequel tombera le prochain lancer [1..10]
+     */
+    public int getNumeroTour() {
+        return numeroTour;
+    }
+
+    /**
+     * @return le numéro de la prochaine boule dans le tour courant [1..3]
+     */
+    public int getNumeroBoule() {
+        return numeroBoule;
+    }
+}
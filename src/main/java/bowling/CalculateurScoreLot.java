@@ -0,0 +1,64 @@
+package bowling;
+
+/**
+ * Calcule en une fois le score total d'un grand nombre de parties archivées.
+ * Les lancers de toutes les parties sont mis bout à bout dans un seul tableau ;
+ * la partie p occupe les indices [debuts[p], debuts[p + 1]).
+ * Les règles sont celles de CalculateurScore : une partie incomplète est
+ * complétée par des lancers à 0.
+ * Pour une version vectorisée de ce calcul, cf. CalculateurScoreLotVectoriel.
+ */
+public class CalculateurScoreLot {
+
+    /**
+     * Calcule le score total de chaque partie
+     * @param lancers les lancers de toutes les parties, mis bout à bout
+     * @param debuts les indices de début de chaque partie, suivis de l'indice de fin de la dernière
+     * @return le score total de chaque partie
+     */
+    public int[] calculerScoresTotaux(int[] lancers, int[] debuts) {
+        int[] scores = new int[debuts.length - 1];
+        calculerScoresTotaux(lancers, debuts, 0, scores.length, scores);
+        return scores;
+    }
+
+    /**
+     * Calcule le score total de chaque partie
+     * @param lancers les lancers de toutes les parties, mis bout à bout
+     * @param debuts les indices de début de chaque partie, suivis de l'indice de fin de la dernière
+     * @return le score total de chaque partie
+     */
+    public int[] calculerScoresTotaux(byte[] lancers, int[] debuts) {
+        CalculateurScoreCompact calculateur = new CalculateurScoreCompact();
+        int[] scores = new int[debuts.length - 1];
+        for (int p = 0; p < scores.length; p++) {
+            scores[p] = calculateur.calculerScoreTotal(lancers, debuts[p], debuts[p + 1]);
+        }
+        return scores;
+    }
+
+    /**
+     * Calcule le score total des parties [premiere, derniere)
+     * @param lancers les lancers de toutes les parties, mis bout à bout
+     * @param debuts les indices de début de chaque partie, suivis de l'indice de fin de la dernière
+     * @param premiere l'indice de la première partie à calculer
+     * @param derniere l'indice qui suit la dernière partie à calculer
+     * @param scores le tableau recevant le score de la partie p dans scores[p]
+     */
+    void calculerScoresTotaux(int[] lancers, int[] debuts, int premiere, int derniere, int[] scores) {
+        for (int p = premiere; p < derniere; p++) {
+            scores[p] = calculerScoreTotal(lancers, debuts[p], debuts[p + 1]);
+        }
+    }
+
+    /**
+     * Calcule le score total d'une partie, avec l'algorithme de CalculateurScoreCompact
+     * @param lancers les lancers de toutes les parties, mis bout à bout
+     * @param debut l'indice du premier lancer de la partie
+     * @param fin l'indice qui suit le dernier lancer de la partie
+     * @return le score total
+     */
+    static int calculerScoreTotal(int[] lancers, int debut, int fin) {
+        return CalculateurScoreCompact.calculerScoreTotal(i -> lancers[i], debut, fin);
+    }
+}
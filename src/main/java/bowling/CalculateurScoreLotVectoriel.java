@@ -0,0 +1,65 @@
+package bowling;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Version vectorisée de CalculateurScoreLot : chaque voie d'un vecteur calcule
+ * le score d'une partie différente, et les 10 tours sont déroulés en parallèle
+ * sur toutes les voies. Les parties qui ne remplissent pas un vecteur complet
+ * sont calculées par le chemin scalaire.
+ * Nécessite le module incubateur : --add-modules jdk.incubator.vector
+ */
+public class CalculateurScoreLotVectoriel {
+
+    private static final VectorSpecies<Integer> ESPECE = IntVector.SPECIES_PREFERRED;
+
+    private final CalculateurScoreLot calculateurScalaire = new CalculateurScoreLot();
+
+    /**
+     * Calcule le score total de chaque partie
+     * @param lancers les lancers de toutes les parties, mis bout à bout
+     * @param debuts les indices de début de chaque partie, suivis de l'indice de fin de la dernière
+     * @return le score total de chaque partie
+     */
+    public int[] calculerScoresTotaux(int[] lancers, int[] debuts) {
+        int nombreParties = debuts.length - 1;
+        int[] scores = new int[nombreParties];
+        int[] indices = new int[ESPECE.length()];
+        int limite = ESPECE.loopBound(nombreParties);
+
+        for (int p = 0; p < limite; p += ESPECE.length()) {
+            IntVector position = IntVector.fromArray(ESPECE, debuts, p);
+            IntVector fin = IntVector.fromArray(ESPECE, debuts, p + 1);
+            IntVector score = IntVector.zero(ESPECE);
+
+            for (int tour = 1; tour <= 10; tour++) {
+                IntVector premier = lancer(lancers, position, fin, 0, indices);
+                IntVector second = lancer(lancers, position, fin, 1, indices);
+                IntVector troisieme = lancer(lancers, position, fin, 2, indices);
+
+                VectorMask<Integer> strike = premier.eq(10);
+                VectorMask<Integer> spare = premier.add(second).eq(10).andNot(strike);
+
+                // Strike ou spare : premier + second vaut déjà 10 + bonus éventuel du 2e lancer
+                score = score.add(premier).add(second).add(troisieme, strike.or(spare));
+                position = position.add(2).sub(1, strike);
+            }
+            score.intoArray(scores, p);
+        }
+
+        calculateurScalaire.calculerScoresTotaux(lancers, debuts, limite, nombreParties, scores);
+        return scores;
+    }
+
+    /**
+     * Charge, pour chaque partie, le lancer situé à position + decalage,
+     * ou 0 si la partie n'a pas ce lancer
+     */
+    private static IntVector lancer(int[] lancers, IntVector position, IntVector fin, int decalage, int[] indices) {
+        IntVector indice = position.add(decalage);
+        indice.intoArray(indices, 0);
+        return IntVector.fromArray(ESPECE, lancers, 0, indices, 0, indice.lt(fin));
+    }
+}
@@ -0,0 +1,382 @@
+package bowling;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Registre des pistes d'un centre de bowling, chacune jouant sa propre partie
+ * multi-joueurs. Cette classe peut être utilisée par plusieurs threads :
+ * chaque piste a son propre verrou, si bien que des lancers sur des pistes
+ * différentes ne se bloquent jamais. Sur une même piste, les lectures de score
+ * peuvent se faire en parallèle, les lancers sont exécutés un par un.
+ */
+public class CentreDeBowling {
+
+    private final ConcurrentMap<Integer, Piste> pistes = new ConcurrentHashMap<>();
+    private final MoteurStockage moteurStockage;
+    private final JournalLancers journal;
+    private volatile EcouteurScores ecouteur;
+    private final Metriques metriques = new Metriques();
+
+    /**
+     * Constructeur : les parties sont stockées sous forme d'objets Tour
+     */
+    public CentreDeBowling() {
+        this(MoteurStockage.OBJETS);
+    }
+
+    /**
+     * Constructeur
+     * @param moteurStockage le moteur de stockage utilisé pour les parties de toutes les pistes
+     */
+    public CentreDeBowling(MoteurStockage moteurStockage) {
+        this.moteurStockage = moteurStockage;
+        this.journal = null;
+    }
+
+    /**
+     * Constructeur d'un centre journalisé : les parties déjà présentes dans le
+     * journal sont reconstruites, puis chaque démarrage de partie, chaque
+     * lancer accepté et chaque correction y est ajouté.
+     * @param moteurStockage le moteur de stockage utilisé pour les parties de toutes les pistes
+     * @param journal le journal à rejouer puis à compléter
+     * @throws IOException si le journal ne peut pas être relu
+     * @throws IllegalStateException si le journal contient une correction et que
+     * le moteur de stockage ne permet pas de corriger un lancer (COMPACT)
+     */
+    public CentreDeBowling(MoteurStockage moteurStockage, JournalLancers journal) throws IOException {
+        this.moteurStockage = moteurStockage;
+        this.journal = journal;
+        journal.rejouer(new JournalLancers.Lecteur() {
+            @Override
+            public void demarrage(int numeroPiste, String[] nomsDesJoueurs) {
+                pistes.computeIfAbsent(numeroPiste, CentreDeBowling.this::nouvellePiste)
+                      .partie.demarreNouvellePartie(nomsDesJoueurs);
+            }
+
+            @Override
+            public void lancer(int numeroPiste, int quilles) {
+                getPiste(numeroPiste).partie.jouerLancer(quilles);
+            }
+
+            @Override
+            public void correction(int numeroPiste, int identifiantJoueur, int indexLancer, int quilles) {
+                getPiste(numeroPiste).partie.corrigerLancer(identifiantJoueur, indexLancer, quilles);
+            }
+        });
+    }
+
+    /**
+     * Démarre une nouvelle partie sur une piste, créée au besoin.
+     * @param numeroPiste le numéro de la piste
+     * @param nomsDesJoueurs un tableau des noms de joueurs (il faut au moins un joueur)
+     * @return une chaîne de caractères indiquant le prochain joueur.
+     * @throws IllegalArgumentException si le tableau est vide ou null
+     */
+    public String demarreNouvellePartie(int numeroPiste, String[] nomsDesJoueurs) {
+        Piste piste = pistes.computeIfAbsent(numeroPiste, this::nouvellePiste);
+        Lock verrou = piste.verrou.writeLock();
+        verrou.lock();
+        try {
+            String message = piste.partie.demarreNouvellePartie(nomsDesJoueurs);
+            if (journal != null) {
+                journal.journaliserDemarrage(numeroPiste, nomsDesJoueurs);
+            }
+            return message;
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Enregistre le nombre de quilles abattues pour le joueur courant d'une piste.
+     * @param numeroPiste le numéro de la piste
+     * @param nombreDeQuillesAbattues nombre de quilles abattues à ce lancer
+     * @return une chaîne de caractères indiquant le prochain joueur, ou "Partie terminée".
+     * @throws IllegalArgumentException si la piste est inconnue ou le lancer invalide
+     * @throws IllegalStateException si la partie est terminée
+     */
+    public String enregistreLancer(int numeroPiste, int nombreDeQuillesAbattues) {
+        Piste piste = getPiste(numeroPiste);
+        Lock verrou = piste.verrou.writeLock();
+        verrou.lock();
+        try {
+            String message = piste.partie.enregistreLancer(nombreDeQuillesAbattues);
+            if (journal != null) {
+                journal.journaliserLancer(numeroPiste, nombreDeQuillesAbattues);
+            }
+            return message;
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Enregistre un lancer après avoir vérifié que c'est bien au joueur indiqué
+     * de lancer, et décrit le tir suivant sans construire de message.
+     * @param numeroPiste le numéro de la piste
+     * @param indexJoueur l'indice du joueur qui lance, dans l'ordre de démarrage de la partie
+     * @param nombreDeQuillesAbattues nombre de quilles abattues à ce lancer
+     * @return l'état du prochain tir, codé par EtatProchainTir
+     * @throws IllegalArgumentException si la piste est inconnue, si ce n'est pas au joueur de lancer
+     * ou si le lancer est invalide
+     * @throws IllegalStateException si la partie est terminée
+     */
+    public long enregistreLancer(int numeroPiste, int indexJoueur, int nombreDeQuillesAbattues) {
+        return enregistreLancer(getPiste(numeroPiste), indexJoueur, nombreDeQuillesAbattues);
+    }
+
+    /**
+     * Même chose que {@link #enregistreLancer(int, int, int)}, pour une piste déjà obtenue par getPiste
+     */
+    long enregistreLancer(Piste piste, int indexJoueur, int nombreDeQuillesAbattues) {
+        Lock verrou = piste.verrou.writeLock();
+        verrou.lock();
+        try {
+            int indexJoueurCourant = piste.partie.getIndexJoueurCourant();
+            if (indexJoueurCourant != indexJoueur) {
+                throw EvenementsJfr.refuser(piste.partie.getPartieJoueur(indexJoueurCourant).getNumeroTourCourant(),
+                        nombreDeQuillesAbattues,
+                        new IllegalArgumentException("Ce n'est pas au joueur n° " + indexJoueur + " de lancer."));
+            }
+            long etat = piste.partie.jouerLancer(nombreDeQuillesAbattues);
+            if (journal != null) {
+                journal.journaliserLancer(piste.numero, nombreDeQuillesAbattues);
+            }
+            return etat;
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Corrige le nombre de quilles d'un lancer déjà enregistré sur une piste
+     * (cf. PartieMultiJoueurs.corrigerLancer)
+     * @param numeroPiste le numéro de la piste
+     * @param identifiantJoueur l'indice du joueur, dans l'ordre de démarrage de la partie
+     * @param indexLancer l'indice du lancer parmi ceux du joueur
+     * @param nombreDeQuillesAbattues le nombre de quilles corrigé
+     * @return l'état du prochain tir, codé par EtatProchainTir
+     * @throws IllegalArgumentException si la piste ou le joueur est inconnu, ou si la correction est invalide
+     * @throws IllegalStateException si aucune partie n'est démarrée sur la piste, ou si
+     * le moteur de stockage ne permet pas de corriger un lancer (COMPACT)
+     */
+    public long corrigerLancer(int numeroPiste, int identifiantJoueur, int indexLancer, int nombreDeQuillesAbattues) {
+        Piste piste = getPiste(numeroPiste);
+        Lock verrou = piste.verrou.writeLock();
+        verrou.lock();
+        try {
+            long etat = piste.partie.corrigerLancer(identifiantJoueur, indexLancer, nombreDeQuillesAbattues);
+            if (journal != null) {
+                journal.journaliserCorrection(numeroPiste, identifiantJoueur, indexLancer, nombreDeQuillesAbattues);
+            }
+            return etat;
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Donne le score d'un joueur d'une piste
+     * @param numeroPiste le numéro de la piste
+     * @param nomDuJoueur le nom du joueur recherché
+     * @return le score pour ce joueur
+     * @throws IllegalArgumentException si la piste est inconnue ou si le joueur ne joue pas sur cette piste
+     */
+    public int scorePour(int numeroPiste, String nomDuJoueur) {
+        Piste piste = getPiste(numeroPiste);
+        Lock verrou = piste.verrou.readLock();
+        verrou.lock();
+        try {
+            return piste.partie.scorePour(nomDuJoueur);
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Donne le score d'un joueur d'une piste, désigné par son identifiant
+     * @param numeroPiste le numéro de la piste
+     * @param identifiantJoueur l'indice du joueur, dans l'ordre de démarrage de la partie
+     * @return le score pour ce joueur
+     * @throws IllegalArgumentException si la piste est inconnue ou si l'identifiant ne désigne aucun joueur
+     */
+    public int scorePour(int numeroPiste, int identifiantJoueur) {
+        Piste piste = getPiste(numeroPiste);
+        Lock verrou = piste.verrou.readLock();
+        verrou.lock();
+        try {
+            return piste.partie.scorePour(identifiantJoueur);
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Écrit un instantané de toutes les pistes (cf. FormatInstantane), précédé
+     * du nombre de pistes puis, pour chaque piste, de son numéro.
+     * Chaque piste est copiée en mémoire sous son verrou de lecture, puis écrite
+     * une fois le verrou relâché : une piste n'est jamais bloquée plus longtemps
+     * que le temps d'un lancer. Les pistes ne sont pas figées ensemble, l'instantané
+     * mêle donc des états de pistes pris à des instants légèrement différents.
+     * Le fichier est écrit à côté puis renommé, si bien qu'un instantané précédent
+     * n'est jamais remplacé par un fichier incomplet.
+     * @param fichier le fichier de l'instantané
+     * @throws IOException si le fichier ne peut pas être écrit
+     */
+    public void ecrireInstantane(Path fichier) throws IOException {
+        Set<Integer> numeros = getNumerosPistes();
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + ".tmp");
+        ByteArrayOutputStream octetsPiste = new ByteArrayOutputStream();
+        DataOutputStream sortiePiste = new DataOutputStream(octetsPiste);
+        try (DataOutputStream sortie = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaire)))) {
+            FormatInstantane.ecrireEntete(sortie);
+            sortie.writeInt(numeros.size());
+            for (int numero : numeros) {
+                Piste piste = getPiste(numero);
+                octetsPiste.reset();
+                Lock verrou = piste.verrou.readLock();
+                verrou.lock();
+                try {
+                    FormatInstantane.ecrirePartie(sortiePiste, piste.partie);
+                } finally {
+                    verrou.unlock();
+                }
+                sortie.writeInt(numero);
+                octetsPiste.writeTo(sortie);
+            }
+        }
+        Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Construit un centre à partir d'un instantané écrit par {@link #ecrireInstantane(Path)}.
+     * Le fichier est projeté en mémoire et relu directement, sans copie intermédiaire.
+     * @param fichier le fichier de l'instantané
+     * @param moteurStockage le moteur de stockage utilisé pour les parties de toutes les pistes
+     * @return le centre, avec toutes les pistes de l'instantané
+     * @throws IOException si le fichier ne peut pas être lu, ou s'il est tronqué,
+     * corrompu ou d'une version inconnue
+     */
+    public static CentreDeBowling restaurer(Path fichier, MoteurStockage moteurStockage) throws IOException {
+        CentreDeBowling centre = new CentreDeBowling(moteurStockage);
+        try (FileChannel canal = FileChannel.open(fichier)) {
+            MappedByteBuffer instantane = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            FormatInstantane.lireEntete(instantane);
+            int nombrePistes = instantane.getInt();
+            for (int i = 0; i < nombrePistes; i++) {
+                int numero = instantane.getInt();
+                centre.pistes.put(numero, centre.installer(numero, FormatInstantane.lirePartie(instantane, moteurStockage)));
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Instantané tronqué : " + fichier, e);
+        }
+        return centre;
+    }
+
+    /**
+     * Abonne un écouteur (par exemple un Classement) aux changements de score de
+     * toutes les pistes, actuelles et futures, en remplacement du précédent.
+     * L'écouteur reçoit aussitôt l'état des parties en cours.
+     * @param ecouteur l'écouteur, ou null pour n'en avoir aucun
+     */
+    public void setEcouteurScores(EcouteurScores ecouteur) {
+        this.ecouteur = ecouteur;
+        for (Piste piste : pistes.values()) {
+            Lock verrou = piste.verrou.writeLock();
+            verrou.lock();
+            try {
+                piste.partie.setEcouteurScores(piste.numero, ecouteur);
+            } finally {
+                verrou.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return les métriques des lancers de toutes les pistes de ce centre (cf. Metriques)
+     */
+    public Metriques getMetriques() {
+        return metriques;
+    }
+
+    /**
+     * Expose les métriques de ce centre par JMX, sous le nom
+     * bowling:type=CentreDeBowling,name=nom
+     * @param nom le nom qui distingue ce centre des autres
+     * @return le nom JMX sous lequel les métriques sont exposées
+     * @throws JMException si le nom est invalide ou déjà pris
+     */
+    public ObjectName exposerMetriques(String nom) throws JMException {
+        ObjectName nomJmx = new ObjectName("bowling:type=CentreDeBowling,name=" + ObjectName.quote(nom));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(metriques, nomJmx);
+        return nomJmx;
+    }
+
+    /**
+     * @return les numéros des pistes sur lesquelles une partie a été démarrée
+     */
+    public Set<Integer> getNumerosPistes() {
+        return Set.copyOf(pistes.keySet());
+    }
+
+    /**
+     * @param numeroPiste le numéro de la piste
+     * @return la piste, qui reste la même pendant toute la vie du centre
+     * @throws IllegalArgumentException si la piste est inconnue
+     */
+    Piste getPiste(int numeroPiste) {
+        Piste piste = pistes.get(numeroPiste);
+        if (piste == null) {
+            throw new IllegalArgumentException("Piste inconnue : " + numeroPiste);
+        }
+        return piste;
+    }
+
+    private Piste nouvellePiste(int numeroPiste) {
+        return installer(numeroPiste, new PartieMultiJoueurs(moteurStockage));
+    }
+
+    /**
+     * Rattache la partie d'une piste à ce centre : numéro de piste (transmis à
+     * l'écouteur et aux événements JFR), écouteur et métriques
+     */
+    private Piste installer(int numeroPiste, PartieMultiJoueurs partie) {
+        partie.setEcouteurScores(numeroPiste, ecouteur);
+        partie.setMetriques(metriques);
+        return new Piste(numeroPiste, partie);
+    }
+
+    /**
+     * Une piste : son numéro, sa partie et le verrou qui la protège
+     */
+    static class Piste {
+
+        private final int numero;
+        final PartieMultiJoueurs partie;
+        private final ReadWriteLock verrou = new ReentrantReadWriteLock();
+
+        Piste(int numero, PartieMultiJoueurs partie) {
+            this.numero = numero;
+            this.partie = partie;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package bowling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Classement en direct de tous les joueurs des parties en cours, toutes pistes
+ * confondues, tenu à jour à chaque lancer.
+ * <p>
+ * Les joueurs sont rangés par score décroissant dans une liste à enjambements
+ * concurrente (ConcurrentSkipListSet) : une mise à jour coûte O(log n), et la
+ * lecture des K premiers O(K). Le rang d'un joueur est donné par un arbre de
+ * Fenwick sur les scores possibles (0 à 300), qui compte les joueurs par score :
+ * O(log 300) par mise à jour comme par requête. Chaque joueur (une piste et un
+ * indice) a sa Place, retrouvée par une table à adressage ouvert sur des clés
+ * long, sans boxing, qui désigne son entrée courante.
+ * <p>
+ * Cette classe peut être utilisée par plusieurs threads. Les mises à jour d'un
+ * même joueur ne doivent pas être concurrentes entre elles, ce que garantissent
+ * CentreDeBowling et PisteActeur (un seul lancer à la fois par piste). Les
+ * lectures sont faiblement cohérentes : elles ne bloquent jamais les lancers, et
+ * peuvent refléter en partie des lancers en cours.
+ */
+public class Classement implements EcouteurScores {
+
+    private static final Comparator<Entree> ORDRE = Comparator
+            .comparingInt((Entree entree) -> -entree.score)
+            .thenComparingInt(entree -> entree.place.numeroPiste)
+            .thenComparingInt(entree -> entree.place.indexJoueur);
+
+    private final ConcurrentSkipListSet<Entree> parScore = new ConcurrentSkipListSet<>(ORDRE);
+    // Places par clé (piste, indice), en adressage ouvert : lues sans verrou, ajoutées sous le verrou du classement
+    private volatile AtomicReferenceArray<Place> places = new AtomicReferenceArray<>(64);
+    private int nombrePlaces;
+    // Arbre de Fenwick : nombre de joueurs par score, indices 1..301 pour les scores 0..300
+    private final AtomicLongArray fenwick = new AtomicLongArray(StatistiquesScores.SCORE_MAX + 2);
+
+    @Override
+    public void partieDemarree(int numeroPiste, String[] nomsDesJoueurs) {
+        // Les indices d'une piste sont consécutifs : on retire les joueurs de la partie précédente
+        Place place;
+        for (int i = 0; (place = trouver(numeroPiste, i)) != null; i++) {
+            Entree ancienne = place.courante;
+            if (ancienne != null) {
+                place.courante = null;
+                parScore.remove(ancienne);
+                compter(ancienne.score, -1);
+            }
+        }
+        for (int i = 0; i < nomsDesJoueurs.length; i++) {
+            place = trouver(numeroPiste, i);
+            if (place == null) {
+                place = ajouterPlace(numeroPiste, i);
+            }
+            Entree entree = new Entree(place, nomsDesJoueurs[i], 0);
+            parScore.add(entree);
+            place.courante = entree;
+            compter(0, 1);
+        }
+    }
+
+    @Override
+    public void scoreModifie(int numeroPiste, int indexJoueur, int score) {
+        Place place = trouver(numeroPiste, indexJoueur);
+        Entree ancienne = place == null ? null : place.courante;
+        if (ancienne == null || ancienne.score == score) {
+            return;
+        }
+        // La nouvelle entrée est ajoutée avant que l'ancienne ne soit retirée (cf. meilleurs)
+        Entree nouvelle = new Entree(place, ancienne.nomJoueur, score);
+        parScore.add(nouvelle);
+        place.courante = nouvelle;
+        parScore.remove(ancienne);
+        compter(score, 1);
+        compter(ancienne.score, -1);
+    }
+
+    /**
+     * Donne les meilleurs joueurs. Chaque joueur y figure au plus une fois ;
+     * un joueur dont le score change pendant la lecture y figure avec son
+     * ancien ou son nouveau score, mais peut aussi manquer s'il change de rang
+     * à l'instant où la lecture passe à sa hauteur.
+     * @param k le nombre de joueurs voulus
+     * @return les k meilleurs joueurs (ou tous s'il y en a moins), du meilleur au moins bon ;
+     * à score égal, par numéro de piste puis par ordre de jeu
+     */
+    public List<Entree> meilleurs(int k) {
+        List<Entree> meilleurs = new ArrayList<>(Math.min(k, 64));
+        Set<Place> vues = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Entree entree : parScore) {
+            if (meilleurs.size() == k) {
+                break;
+            }
+            Entree courante = entree.place.courante;
+            if (courante == entree) {
+                if (vues.add(entree.place)) {
+                    meilleurs.add(entree);
+                }
+            } else if (courante != null && ORDRE.compare(courante, entree) < 0 && vues.add(courante.place)) {
+                // Joueur mis à jour pendant la lecture, et dont la nouvelle entrée est déjà passée : on la reprend à son rang
+                meilleurs.add(-1 - Collections.binarySearch(meilleurs, courante, ORDRE), courante);
+            }
+        }
+        return meilleurs;
+    }
+
+    /**
+     * Donne le rang d'un joueur : 1 plus le nombre de joueurs qui ont un score
+     * strictement supérieur au sien (les ex aequo ont le même rang)
+     * @param numeroPiste le numéro de la piste du joueur
+     * @param indexJoueur l'indice du joueur, dans l'ordre de jeu
+     * @return le rang du joueur
+     * @throws IllegalArgumentException si ce joueur ne joue pas
+     */
+    public int rang(int numeroPiste, int indexJoueur) {
+        Place place = trouver(numeroPiste, indexJoueur);
+        Entree entree = place == null ? null : place.courante;
+        if (entree == null) {
+            throw new IllegalArgumentException("Joueur inconnu : piste " + numeroPiste + ", joueur n° " + indexJoueur);
+        }
+        return (int) (1 + nombreJoueursAuDela(entree.score));
+    }
+
+    /**
+     * @return le nombre de joueurs classés
+     */
+    public int getNombreJoueurs() {
+        return (int) nombreJoueursAuDela(-1);
+    }
+
+    /**
+     * @return le nombre de joueurs dont le score est strictement supérieur à score
+     */
+    private long nombreJoueursAuDela(int score) {
+        long total = 0;
+        long jusquaScore = 0;
+        for (int i = fenwick.length() - 1; i > 0; i -= i & -i) {
+            total += fenwick.get(i);
+        }
+        for (int i = score + 1; i > 0; i -= i & -i) {
+            jusquaScore += fenwick.get(i);
+        }
+        return total - jusquaScore;
+    }
+
+    private void compter(int score, int delta) {
+        for (int i = score + 1; i < fenwick.length(); i += i & -i) {
+            fenwick.addAndGet(i, delta);
+        }
+    }
+
+    /**
+     * @return la place du joueur, ou null s'il n'a jamais joué
+     */
+    private Place trouver(int numeroPiste, int indexJoueur) {
+        AtomicReferenceArray<Place> table = places;
+        int masque = table.length() - 1;
+        for (int i = indice(numeroPiste, indexJoueur, masque); ; i = (i + 1) & masque) {
+            Place place = table.get(i);
+            if (place == null || place.numeroPiste == numeroPiste && place.indexJoueur == indexJoueur) {
+                return place;
+            }
+        }
+    }
+
+    /**
+     * Ajoute la place d'un nouveau joueur ; la table, remplie au plus à moitié,
+     * est recopiée en deux fois plus grand avant d'être publiée
+     */
+    private synchronized Place ajouterPlace(int numeroPiste, int indexJoueur) {
+        Place place = new Place(numeroPiste, indexJoueur);
+        AtomicReferenceArray<Place> table = places;
+        if (2 * (nombrePlaces + 1) > table.length()) {
+            AtomicReferenceArray<Place> agrandie = new AtomicReferenceArray<>(2 * table.length());
+            for (int i = 0; i < table.length(); i++) {
+                Place existante = table.get(i);
+                if (existante != null) {
+                    inserer(agrandie, existante);
+                }
+            }
+            inserer(agrandie, place);
+            places = agrandie;
+        } else {
+            inserer(table, place);
+        }
+        nombrePlaces++;
+        return place;
+    }
+
+    private static void inserer(AtomicReferenceArray<Place> table, Place place) {
+        int masque = table.length() - 1;
+        int i = indice(place.numeroPiste, place.indexJoueur, masque);
+        while (table.get(i) != null) {
+            i = (i + 1) & masque;
+        }
+        table.set(i, place);
+    }
+
+    private static int indice(int numeroPiste, int indexJoueur, int masque) {
+        long cle = (long) numeroPiste << 32 | indexJoueur;
+        return (int) (cle * 0x9E3779B97F4A7C15L >>> 32) & masque;
+    }
+
+    /**
+     * Un joueur (une piste et un indice dans l'ordre de jeu), et son entrée
+     * courante dans le classement, ou null s'il ne joue plus
+     */
+    private static final class Place {
+
+        private final int numeroPiste;
+        private final int indexJoueur;
+        private volatile Entree courante;
+
+        Place(int numeroPiste, int indexJoueur) {
+            this.numeroPiste = numeroPiste;
+            this.indexJoueur = indexJoueur;
+        }
+    }
+
+    /**
+     * Un joueur du classement, avec son score au moment de la lecture
+     */
+    public static final class Entree {
+
+        private final Place place;
+        private final String nomJoueur;
+        private final int score;
+
+        Entree(Place place, String nomJoueur, int score) {
+            this.place = place;
+            this.nomJoueur = nomJoueur;
+            this.score = score;
+        }
+
+        /**
+         * @return le numéro de la piste du joueur
+         */
+        public int getNumeroPiste() {
+            return place.numeroPiste;
+        }
+
+        /**
+         * @return l'indice du joueur, dans l'ordre de jeu de sa piste
+         */
+        public int getIndexJoueur() {
+            return place.indexJoueur;
+        }
+
+        /**
+         * @return le nom du joueur
+         */
+        public String getNomJoueur() {
+            return nomJoueur;
+        }
+
+        /**
+         * @return le score du joueur
+         */
+        public int getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return nomJoueur + " (piste " + place.numeroPiste + ") : " + score;
+        }
+    }
+}
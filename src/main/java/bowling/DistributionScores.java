@@ -0,0 +1,142 @@
+package bowling;
+
+import java.util.stream.IntStream;
+
+/**
+ * Dénombre exactement les parties acceptées par le moteur, par score final :
+ * combien de suites de lancers, validées comme par Tour.ajouterLancer et
+ * comptées comme par CalculateurScore, mènent à chaque score de 0 à 300, pour
+ * une partie entière ou pour les fins d'une partie déjà entamée.
+ * <p>
+ * Le calcul remonte les états de CalculateurScoreAutomate depuis l'état final,
+ * comme ProjectionScore : pour chaque état, restant[etat][points] est le nombre
+ * de fins de partie qui marquent encore exactement ces points. Un état ne dépend
+ * que des états des boules suivantes : les états d'une même boule d'un même tour
+ * sont calculés en parallèle, une boule après l'autre en remontant.
+ * <p>
+ * Le nombre total de parties (environ 7,9 × 10^18, le 10e tour n'étant pas
+ * limité par les quilles restées debout) tient dans un long : les additions
+ * sont tout de même vérifiées.
+ */
+public final class DistributionScores {
+
+    /**
+     * Nombre d'états de l'automate pour une même boule d'un même tour
+     */
+    private static final int ETATS_PAR_BOULE = 11 * 3 * 2;
+
+    /**
+     * restant[etat][points] : nombre de fins de partie depuis l'état qui
+     * marquent encore exactement points
+     */
+    private final long[][] restant = new long[CalculateurScoreAutomate.ETAT_FINAL + 1][];
+
+    /**
+     * Constructeur : dénombre les parties, en parallèle sur le pool commun
+     */
+    public DistributionScores() {
+        this(true);
+    }
+
+    /**
+     * Constructeur
+     * @param parallele true pour calculer en parallèle les états d'une même boule
+     */
+    DistributionScores(boolean parallele) {
+        restant[CalculateurScoreAutomate.ETAT_FINAL] = new long[]{1};
+        for (int debut = CalculateurScoreAutomate.ETAT_FINAL - ETATS_PAR_BOULE; debut >= 0;
+                debut -= ETATS_PAR_BOULE) {
+            IntStream etats = IntStream.range(debut, debut + ETATS_PAR_BOULE);
+            (parallele ? etats.parallel() : etats).forEach(this::denombrer);
+        }
+    }
+
+    private void denombrer(int etat) {
+        int multiplicateur = CalculateurScoreAutomate.multiplicateur(etat);
+        int maximum = CalculateurScoreAutomate.quillesMaximum(etat);
+        int taille = 0;
+        for (int quilles = 0; quilles <= maximum; quilles++) {
+            int suivant = CalculateurScoreAutomate.suivant(etat, quilles);
+            taille = Math.max(taille, quilles * multiplicateur + restant[suivant].length);
+        }
+        long[] nombres = new long[taille];
+        for (int quilles = 0; quilles <= maximum; quilles++) {
+            long[] fins = restant[CalculateurScoreAutomate.suivant(etat, quilles)];
+            int decalage = quilles * multiplicateur;
+            for (int points = 0; points < fins.length; points++) {
+                nombres[decalage + points] = Math.addExact(nombres[decalage + points], fins[points]);
+            }
+        }
+        restant[etat] = nombres;
+    }
+
+    /**
+     * @return le nombre de parties différentes acceptées par le moteur
+     */
+    public long nombreParties() {
+        return somme(restant[CalculateurScoreAutomate.ETAT_INITIAL], 0);
+    }
+
+    /**
+     * @param score un score final
+     * @return le nombre de parties qui finissent avec ce score (0 hors de [0, 300])
+     */
+    public long nombreParties(int score) {
+        long[] nombres = restant[CalculateurScoreAutomate.ETAT_INITIAL];
+        return score >= 0 && score < nombres.length ? nombres[score] : 0;
+    }
+
+    /**
+     * @return distribution[score] : le nombre de parties qui finissent avec ce score, de 0 à 300
+     */
+    public long[] distribution() {
+        return distribution(new int[0]);
+    }
+
+    /**
+     * Distribution des scores finaux des fins possibles d'une partie entamée
+     * @param lancers les quilles abattues à chaque lancer déjà joué, dans l'ordre
+     * @return distribution[score] : le nombre de fins de partie qui finissent avec ce score, de 0 à 300
+     * @throws IllegalArgumentException si un lancer est invalide
+     * @throws IllegalStateException si la partie se termine avant le dernier lancer
+     */
+    public long[] distribution(int[] lancers) {
+        ProjectionScore projection = ProjectionScore.depuis(lancers);
+        long[] fins = restant[projection.getEtat()];
+        long[] distribution = new long[StatistiquesScores.SCORE_MAX + 1];
+        System.arraycopy(fins, 0, distribution, projection.scoreMinimum(), fins.length);
+        return distribution;
+    }
+
+    /**
+     * Nombre de fins d'une partie entamée qui atteignent au moins un score, par
+     * exemple combien mènent à 200 ou plus
+     * @param lancers les quilles abattues à chaque lancer déjà joué, dans l'ordre
+     * @param scoreMinimum le score final à atteindre
+     * @return le nombre de fins de partie dont le score final est au moins scoreMinimum
+     * @throws IllegalArgumentException si un lancer est invalide
+     * @throws IllegalStateException si la partie se termine avant le dernier lancer
+     */
+    public long nombreFinsAtteignant(int[] lancers, int scoreMinimum) {
+        ProjectionScore projection = ProjectionScore.depuis(lancers);
+        return somme(restant[projection.getEtat()], scoreMinimum - projection.scoreMinimum());
+    }
+
+    /**
+     * @param lancers les quilles abattues à chaque lancer déjà joué, dans l'ordre
+     * @return le nombre de fins possibles de la partie entamée (1 si elle est terminée)
+     * @throws IllegalArgumentException si un lancer est invalide
+     * @throws IllegalStateException si la partie se termine avant le dernier lancer
+     */
+    public long nombreFins(int[] lancers) {
+        return somme(restant[ProjectionScore.depuis(lancers).getEtat()], 0);
+    }
+
+    private static long somme(long[] nombres, int depuis) {
+        long somme = 0;
+        for (int points = Math.max(0, depuis); points < nombres.length; points++) {
+            somme = Math.addExact(somme, nombres[points]);
+        }
+        return somme;
+    }
+}
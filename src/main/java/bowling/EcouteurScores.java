@@ -0,0 +1,25 @@
+package bowling;
+
+/**
+ * Est prévenu des changements de score des joueurs d'une partie multi-joueurs.
+ * Les appels sont faits par le thread qui joue la partie, juste après le lancer
+ * ou le démarrage : ils doivent être rapides.
+ */
+public interface EcouteurScores {
+
+    /**
+     * Appelée au démarrage d'une nouvelle partie sur une piste : les joueurs de
+     * la partie précédente ne jouent plus, et chaque nouveau joueur a un score nul
+     * @param numeroPiste le numéro de la piste
+     * @param nomsDesJoueurs les noms des joueurs, dans l'ordre de jeu
+     */
+    void partieDemarree(int numeroPiste, String[] nomsDesJoueurs);
+
+    /**
+     * Appelée après chaque lancer accepté
+     * @param numeroPiste le numéro de la piste
+     * @param indexJoueur l'indice du joueur qui a lancé, dans l'ordre de jeu
+     * @param score le nouveau score de ce joueur
+     */
+    void scoreModifie(int numeroPiste, int indexJoueur, int score);
+}
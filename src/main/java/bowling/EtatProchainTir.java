@@ -0,0 +1,60 @@
+package bowling;
+
+/**
+ * Description du prochain tir d'une partie multi-joueurs, codée dans un long
+ * pour ne rien allouer : indice du joueur qui doit lancer, numéro du tour,
+ * numéro de la boule, et indicateur de fin de partie.
+ */
+public final class EtatProchainTir {
+
+    /**
+     * État d'une partie terminée : plus aucun tir n'est attendu
+     */
+    public static final long PARTIE_TERMINEE = 1L << 48;
+
+    private EtatProchainTir() {
+    }
+
+    /**
+     * Code l'état du prochain tir
+     * @param indexJoueur l'indice du joueur qui doit lancer
+     * @param numeroTour le numéro du tour [1..10]
+     * @param numeroBoule le numéro de la boule dans le tour [1..3]
+     * @return l'état codé
+     */
+    public static long coder(int indexJoueur, int numeroTour, int numeroBoule) {
+        return (indexJoueur & 0xFFFF_FFFFL) | ((long) numeroTour << 32) | ((long) numeroBoule << 40);
+    }
+
+    /**
+     * @param etat un état codé
+     * @return true si la partie est terminée pour tous les joueurs
+     */
+    public static boolean estPartieTerminee(long etat) {
+        return (etat & PARTIE_TERMINEE) != 0;
+    }
+
+    /**
+     * @param etat un état codé
+     * @return l'indice du joueur qui doit lancer, ou 0 si la partie est terminée
+     */
+    public static int indexJoueur(long etat) {
+        return (int) etat;
+    }
+
+    /**
+     * @param etat un état codé
+     * @return le numéro du tour [1..10], ou 0 si la partie est terminée
+     */
+    public static int numeroTour(long etat) {
+        return (int) (etat >>> 32) & 0xFF;
+    }
+
+    /**
+     * @param etat un état codé
+     * @return le numéro de la boule [1..3], ou 0 si la partie est terminée
+     */
+    public static int numeroBoule(long etat) {
+        return (int) (etat >>> 40) & 0xFF;
+    }
+}
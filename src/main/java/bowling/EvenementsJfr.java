@@ -0,0 +1,124 @@
+package bowling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Événements Java Flight Recorder du jeu, dans la catégorie « Bowling ».
+ * <p>
+ * Chaque événement peut être activé, désactivé, et pour ceux qui ont une durée
+ * recevoir un seuil, comme les événements du JDK : dans un fichier .jfc, avec
+ * les options de -XX:StartFlightRecording, ou par Recording.enable(nom). Quand
+ * aucun enregistrement ne les demande, isEnabled() est faux : aucun champ n'est
+ * renseigné, et l'objet événement, qui ne sort pas de la méthode, n'est pas alloué.
+ * <ul>
+ * <li>bowling.DemarragePartie : démarrage d'une partie sur une piste</li>
+ * <li>bowling.Lancer : un lancer accepté par PartieMultiJoueurs, avec sa durée
+ * (seuil par défaut : 0, tous les lancers)</li>
+ * <li>bowling.CalculScore : un calcul de CalculateurScore.calculerScoreTotal
+ * (seuil par défaut : 1 ms, seuls les calculs anormalement longs)</li>
+ * <li>bowling.LancerRefuse : un lancer refusé, quel que soit le moteur de
+ * stockage (quilles hors de [0, 10], total du tour dépassé, partie non démarrée
+ * ou déjà terminée, pas au tour de ce joueur), émis par {@link #refuser}</li>
+ * </ul>
+ */
+public final class EvenementsJfr {
+
+    private EvenementsJfr() {
+    }
+
+    /**
+     * Émet l'événement d'un lancer refusé, s'il est activé, avec le message de
+     * l'exception comme raison
+     * @param tour le numéro du tour courant (0 si la partie est terminée)
+     * @param quilles le nombre de quilles du lancer refusé
+     * @param exception l'exception qui refuse le lancer
+     * @return l'exception, à lever par l'appelant
+     */
+    static <E extends RuntimeException> E refuser(int tour, int quilles, E exception) {
+        LancerRefuse evenement = new LancerRefuse();
+        if (evenement.isEnabled()) {
+            evenement.tour = tour;
+            evenement.quilles = quilles;
+            evenement.raison = exception.getMessage();
+            evenement.commit();
+        }
+        return exception;
+    }
+
+    @Name("bowling.DemarragePartie")
+    @Label("Démarrage de partie")
+    @Category("Bowling")
+    @StackTrace(false)
+    static final class DemarragePartie extends Event {
+
+        @Label("Piste")
+        int piste;
+
+        @Label("Nombre de joueurs")
+        int nombreJoueurs;
+
+        @Label("Moteur de stockage")
+        String moteur;
+    }
+
+    @Name("bowling.Lancer")
+    @Label("Lancer")
+    @Description("Un lancer enregistré par PartieMultiJoueurs, du joueur courant d'une piste")
+    @Category("Bowling")
+    @StackTrace(false)
+    @Threshold("0 ns")
+    static final class LancerJoue extends Event {
+
+        @Label("Piste")
+        int piste;
+
+        @Label("Joueur")
+        @Description("Indice du joueur, dans l'ordre de jeu")
+        int joueur;
+
+        @Label("Tour")
+        int tour;
+
+        @Label("Boule")
+        int boule;
+
+        @Label("Quilles abattues")
+        int quilles;
+    }
+
+    @Name("bowling.CalculScore")
+    @Label("Calcul du score")
+    @Description("Calcul de référence du score total d'une partie")
+    @Category("Bowling")
+    @StackTrace(false)
+    @Threshold("1 ms")
+    static final class CalculScore extends Event {
+
+        @Label("Nombre de tours")
+        int nombreTours;
+
+        @Label("Score")
+        int score;
+    }
+
+    @Name("bowling.LancerRefuse")
+    @Label("Lancer refusé")
+    @Category("Bowling")
+    static final class LancerRefuse extends Event {
+
+        @Label("Tour")
+        int tour;
+
+        @Label("Quilles abattues")
+        int quilles;
+
+        @Label("Raison")
+        String raison;
+    }
+}
@@ -0,0 +1,180 @@
+package bowling;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Format binaire versionné des instantanés de parties.
+ * Un instantané commence par un en-tête (le mot magique "BOWL" puis le numéro
+ * de version sur 2 octets) suivi d'une ou plusieurs parties. Tous les entiers
+ * sont en big-endian.
+ * <ul>
+ * <li>partie multi-joueurs : 1 octet (1 si démarrée, 0 sinon), puis si elle
+ * est démarrée le nombre de joueurs et l'indice du joueur courant (2 octets
+ * chacun), puis la partie de chaque joueur dans l'ordre de jeu ;</li>
+ * <li>partie d'un joueur : la longueur du nom en UTF-8 (2 octets), le nom,
+ * le nombre de lancers joués (1 octet) puis les quilles de chaque lancer
+ * (1 octet chacun).</li>
+ * </ul>
+ * Le découpage en tours n'est pas stocké : il se déduit des lancers, qui sont
+ * rejoués et donc validés à la relecture. Le moteur de stockage n'est pas non
+ * plus stocké : il est choisi par celui qui relit l'instantané.
+ */
+public final class FormatInstantane {
+
+    /**
+     * "BOWL" en ASCII
+     */
+    static final int MAGIQUE = 0x424F574C;
+
+    /**
+     * Version du format écrit par cette classe
+     */
+    public static final int VERSION = 1;
+
+    private FormatInstantane() {
+    }
+
+    /**
+     * Écrit l'instantané d'une partie multi-joueurs, en-tête compris.
+     * @param partie la partie à écrire
+     * @return l'instantané
+     */
+    public static byte[] ecrire(PartieMultiJoueurs partie) {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        DataOutputStream sortie = new DataOutputStream(octets);
+        try {
+            ecrireEntete(sortie);
+            ecrirePartie(sortie, partie);
+        } catch (IOException e) {
+            // Impossible en mémoire
+            throw new UncheckedIOException(e);
+        }
+        return octets.toByteArray();
+    }
+
+    /**
+     * Relit l'instantané d'une partie multi-joueurs écrit par {@link #ecrire(PartieMultiJoueurs)}.
+     * @param instantane l'instantané, lu à partir de sa position courante
+     * @param moteurStockage le moteur de stockage des parties relues
+     * @return la partie, dans l'état où elle a été écrite
+     * @throws IOException si l'instantané est tronqué, corrompu ou d'une version inconnue
+     */
+    public static PartieMultiJoueurs lire(ByteBuffer instantane, MoteurStockage moteurStockage) throws IOException {
+        try {
+            lireEntete(instantane);
+            return lirePartie(instantane, moteurStockage);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Instantané tronqué", e);
+        }
+    }
+
+    static void ecrireEntete(DataOutput sortie) throws IOException {
+        sortie.writeInt(MAGIQUE);
+        sortie.writeShort(VERSION);
+    }
+
+    /**
+     * @throws IOException si le mot magique ou la version ne correspondent pas
+     */
+    static void lireEntete(ByteBuffer entree) throws IOException {
+        if (entree.getInt() != MAGIQUE) {
+            throw new IOException("Ce n'est pas un instantané de parties de bowling");
+        }
+        int version = Short.toUnsignedInt(entree.getShort());
+        if (version != VERSION) {
+            throw new IOException("Version d'instantané non prise en charge : " + version);
+        }
+    }
+
+    /**
+     * Écrit une partie multi-joueurs, sans en-tête
+     * @throws IllegalArgumentException si la partie a plus de 65535 joueurs
+     */
+    static void ecrirePartie(DataOutput sortie, PartieMultiJoueurs partie) throws IOException {
+        if (!partie.estDemarree()) {
+            sortie.writeByte(0);
+            return;
+        }
+        int nombreJoueurs = partie.getNombreJoueurs();
+        if (nombreJoueurs > 0xFFFF) {
+            throw new IllegalArgumentException("Trop de joueurs pour un instantané : " + nombreJoueurs);
+        }
+        sortie.writeByte(1);
+        sortie.writeShort(nombreJoueurs);
+        sortie.writeShort(partie.getIndexJoueurCourant());
+        for (int i = 0; i < nombreJoueurs; i++) {
+            ecrirePartie(sortie, partie.getPartieJoueur(i));
+        }
+    }
+
+    /**
+     * Relit une partie multi-joueurs écrite par ecrirePartie
+     * @throws IOException si la partie relue est incohérente
+     */
+    static PartieMultiJoueurs lirePartie(ByteBuffer entree, MoteurStockage moteurStockage) throws IOException {
+        PartieMultiJoueurs partie = new PartieMultiJoueurs(moteurStockage);
+        int demarree = entree.get();
+        if (demarree == 0) {
+            return partie;
+        }
+        if (demarree != 1) {
+            throw new IOException("Instantané corrompu : état de partie " + demarree);
+        }
+        IPartieMonoJoueur[] parties = new IPartieMonoJoueur[Short.toUnsignedInt(entree.getShort())];
+        int indexJoueurCourant = Short.toUnsignedInt(entree.getShort());
+        for (int i = 0; i < parties.length; i++) {
+            parties[i] = lirePartieMonoJoueur(entree, moteurStockage);
+        }
+        try {
+            partie.restaurer(parties, indexJoueurCourant);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Instantané corrompu : " + e.getMessage(), e);
+        }
+        return partie;
+    }
+
+    /**
+     * Écrit la partie d'un joueur, sans en-tête
+     * @throws IllegalArgumentException si le nom du joueur dépasse 65535 octets en UTF-8
+     */
+    static void ecrirePartie(DataOutput sortie, IPartieMonoJoueur partie) throws IOException {
+        byte[] nom = partie.getNomJoueur().getBytes(StandardCharsets.UTF_8);
+        if (nom.length > 0xFFFF) {
+            throw new IllegalArgumentException("Nom de joueur trop long pour un instantané");
+        }
+        int[] lancers = partie.getLancers();
+        sortie.writeShort(nom.length);
+        sortie.write(nom);
+        sortie.writeByte(lancers.length);
+        for (int quilles : lancers) {
+            sortie.writeByte(quilles);
+        }
+    }
+
+    /**
+     * Relit la partie d'un joueur écrite par ecrirePartie, en rejouant ses lancers
+     * @throws IOException si un lancer relu est refusé par la partie
+     */
+    static IPartieMonoJoueur lirePartieMonoJoueur(ByteBuffer entree, MoteurStockage moteurStockage) throws IOException {
+        byte[] nom = new byte[Short.toUnsignedInt(entree.getShort())];
+        entree.get(nom);
+        IPartieMonoJoueur partie = moteurStockage.nouvellePartie(new String(nom, StandardCharsets.UTF_8));
+        int nombreLancers = Byte.toUnsignedInt(entree.get());
+        try {
+            for (int i = 0; i < nombreLancers; i++) {
+                partie.enregistrerLancer(entree.get());
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Instantané corrompu pour le joueur " + partie.getNomJoueur()
+                                  + " : " + e.getMessage(), e);
+        }
+        return partie;
+    }
+}
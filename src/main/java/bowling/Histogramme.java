@@ -0,0 +1,121 @@
+package bowling;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de durées (en nanosecondes) à cases fixes, dans l'esprit des
+ * histogrammes HDR : les valeurs de 0 à 15 ont chacune leur case, puis chaque
+ * puissance de deux est découpée en 8 cases de même largeur. L'erreur relative
+ * sur une valeur lue est donc d'au plus 12,5 %, de la nanoseconde à plusieurs
+ * années, avec 488 cases en tout.
+ * <p>
+ * Chaque case est un LongAdder : des threads qui enregistrent en même temps
+ * n'écrivent pas dans la même cellule, et un enregistrement ne prend jamais de
+ * verrou. Les lectures sont faiblement cohérentes.
+ */
+public final class Histogramme {
+
+    private static final int BITS_SOUS_CASES = 3;
+    private static final int SOUS_CASES = 1 << BITS_SOUS_CASES;
+    private static final int VALEURS_EXACTES = 2 * SOUS_CASES;
+    // Les valeurs exactes, puis 8 cases pour chaque puissance de deux de 2^4 à 2^62
+    private static final int NOMBRE_CASES = VALEURS_EXACTES + (63 - 4) * SOUS_CASES;
+
+    private final LongAdder[] cases = new LongAdder[NOMBRE_CASES];
+    private final LongAccumulator maximum = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructeur d'un histogramme vide
+     */
+    public Histogramme() {
+        for (int i = 0; i < cases.length; i++) {
+            cases[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Enregistre une valeur ; une valeur négative compte pour 0
+     * @param valeur la valeur, en nanosecondes
+     */
+    public void enregistrer(long valeur) {
+        long positive = Math.max(valeur, 0);
+        cases[indice(positive)].increment();
+        maximum.accumulate(positive);
+    }
+
+    /**
+     * @return le nombre de valeurs enregistrées
+     */
+    public long getNombre() {
+        long nombre = 0;
+        for (LongAdder compteur : cases) {
+            nombre += compteur.sum();
+        }
+        return nombre;
+    }
+
+    /**
+     * @return la plus grande valeur enregistrée, ou 0 si aucune
+     */
+    public long getMaximum() {
+        return maximum.get();
+    }
+
+    /**
+     * Donne un quantile des valeurs enregistrées
+     * @param fraction la part des valeurs qui doit être inférieure ou égale au résultat, de 0 à 1
+     * @return la borne supérieure de la case du quantile demandé (jamais plus que le maximum),
+     * ou 0 si aucune valeur n'a été enregistrée
+     */
+    public long quantile(double fraction) {
+        long[] nombres = new long[cases.length];
+        long total = 0;
+        for (int i = 0; i < cases.length; i++) {
+            nombres[i] = cases[i].sum();
+            total += nombres[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rang = Math.max(1, (long) Math.ceil(fraction * total));
+        long cumul = 0;
+        for (int i = 0; i < nombres.length; i++) {
+            cumul += nombres[i];
+            if (cumul >= rang) {
+                return Math.min(borneSuperieure(i), getMaximum());
+            }
+        }
+        return getMaximum();
+    }
+
+    /**
+     * Remet l'histogramme à zéro. Les valeurs enregistrées pendant la remise à
+     * zéro peuvent être conservées ou perdues.
+     */
+    public void reinitialiser() {
+        for (LongAdder compteur : cases) {
+            compteur.reset();
+        }
+        maximum.reset();
+    }
+
+    static int indice(long valeur) {
+        if (valeur < VALEURS_EXACTES) {
+            return (int) valeur;
+        }
+        int exposant = 63 - Long.numberOfLeadingZeros(valeur);
+        int sousCase = (int) (valeur >>> (exposant - BITS_SOUS_CASES)) & (SOUS_CASES - 1);
+        return VALEURS_EXACTES + (exposant - 4) * SOUS_CASES + sousCase;
+    }
+
+    static long borneSuperieure(int indice) {
+        if (indice < VALEURS_EXACTES) {
+            return indice;
+        }
+        int exposant = (indice - VALEURS_EXACTES) / SOUS_CASES + 4;
+        int sousCase = (indice - VALEURS_EXACTES) % SOUS_CASES;
+        long largeur = 1L << (exposant - BITS_SOUS_CASES);
+        return (SOUS_CASES + sousCase) * largeur + largeur - 1;
+    }
+}
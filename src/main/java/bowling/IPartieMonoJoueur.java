@@ -0,0 +1,57 @@
+package bowling;
+
+/**
+ * Partie d'un seul joueur : enregistre ses lancers successifs et donne son score.
+ * Plusieurs implémentations (moteurs de stockage) sont disponibles, cf. MoteurStockage.
+ */
+public interface IPartieMonoJoueur {
+
+    /**
+     * Enregistre un lancer de boule
+     * @param nombreDeQuillesAbattues le nombre de quilles abattues lors de ce lancer
+     * @throws IllegalStateException si la partie est terminée
+     * @throws IllegalArgumentException si le lancer est invalide
+     */
+    void enregistrerLancer(int nombreDeQuillesAbattues);
+
+    /**
+     * @return le score du joueur, les lancers restants étant comptés à 0
+     */
+    int score();
+
+    /**
+     * @return vrai si la partie est terminée pour ce joueur, faux sinon
+     */
+    boolean estTerminee();
+
+    /**
+     * @return Le numéro du tour courant [1..10], ou 0 si le jeu est fini
+     */
+    int getNumeroTourCourant();
+
+    /**
+     * @return Le numéro du prochain lancer pour tour courant [1..3], ou 0 si le jeu est fini
+     */
+    int getNumeroBouleCourante();
+
+    /**
+     * @return Le nom du joueur
+     */
+    String getNomJoueur();
+
+    /**
+     * @return les quilles abattues à chacun des lancers déjà joués, dans l'ordre
+     */
+    int[] getLancers();
+
+    /**
+     * @return true si le joueur doit lancer à nouveau pour compléter le tour en cours.
+     */
+    boolean doitRelancer();
+
+    /**
+     * @return true si le tour courant est terminé (et qu'on doit passer au joueur suivant),
+     * false si le joueur doit relancer pour compléter le tour.
+     */
+    boolean aTermineSonTour();
+}
@@ -0,0 +1,439 @@
+package bowling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Journal des opérations d'un centre de bowling, pour pouvoir reconstruire
+ * toutes les parties en cours après un arrêt brutal de la JVM.
+ * <p>
+ * Chaque démarrage de partie, chaque lancer accepté et chaque correction d'un
+ * lancer est ajouté à la fin du journal sous forme d'enregistrements binaires de taille fixe (32 octets),
+ * écrits dans des fichiers segments projetés en mémoire (FileChannel.map) :
+ * un ajout n'est qu'une copie de quelques octets en mémoire. Quand un segment
+ * est plein, le suivant est créé.
+ * <p>
+ * Format d'un enregistrement : type (1 octet), drapeau (1 octet), numéro de
+ * piste (4 octets), puis selon le type le nombre de quilles, le nombre de
+ * joueurs, le joueur, l'indice du lancer et les quilles d'une correction, ou un
+ * morceau de nom de joueur (longueur sur 1 octet à l'indice 8,
+ * puis au plus 23 octets UTF-8 ; le drapeau indique que le nom continue dans
+ * l'enregistrement suivant de la même piste). Le type est écrit en dernier : un
+ * enregistrement interrompu par une panne a un type nul et marque la fin du journal.
+ * <p>
+ * Les ajouts ne prennent aucun verrou : chaque enregistrement réserve son
+ * emplacement en avançant atomiquement la position du segment, y écrit son
+ * contenu puis publie son type. Seul le passage au segment suivant est
+ * synchronisé. Les enregistrements d'une même piste (journalisés sous le verrou
+ * de la piste) restent dans l'ordre, mais ceux de pistes différentes peuvent
+ * être entremêlés, et publiés dans le désordre : à la réouverture, ce qui suit
+ * le premier enregistrement non publié est effacé.
+ */
+public class JournalLancers implements AutoCloseable {
+
+    /**
+     * Taille d'un enregistrement, en octets
+     */
+    static final int TAILLE_ENREGISTREMENT = 32;
+
+    /**
+     * Taille par défaut d'un segment : 64 Mo, soit 2 millions d'enregistrements
+     */
+    public static final int TAILLE_SEGMENT_DEFAUT = 64 * 1024 * 1024;
+
+    private static final byte TYPE_FIN = 0;
+    private static final byte TYPE_JOUEUR = 1;
+    private static final byte TYPE_DEMARRAGE = 2;
+    private static final byte TYPE_LANCER = 3;
+    private static final byte TYPE_CORRECTION = 4;
+    private static final int DEBUT_NOM = 9;
+    private static final int TAILLE_MORCEAU_NOM = TAILLE_ENREGISTREMENT - DEBUT_NOM;
+
+    /**
+     * Ajouté à la position du segment par close() : toute réservation suivante tombe hors du segment
+     */
+    private static final long FERMETURE = 1L << 40;
+
+    /**
+     * Lecture des 4 premiers octets d'un enregistrement (le type en poids fort),
+     * pour voir le type publié par un autre thread
+     */
+    private static final VarHandle ENTETE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path dossier;
+    private final int tailleSegment;
+    private final PolitiqueSynchronisation politique;
+    private final AtomicInteger enregistrementsNonSynchronises = new AtomicInteger();
+    // Remplacé sous le verrou du journal, quand il est plein
+    private volatile Segment segment;
+    // Les champs suivants sont protégés par le verrou du journal
+    private int debutNonSynchronise;
+    private boolean ferme;
+    private int finAvantFermeture;
+
+    /**
+     * Ouvre le journal d'un dossier (créé au besoin), avec des segments de taille
+     * par défaut et sans écriture forcée sur disque.
+     * @param dossier le dossier des segments
+     * @throws IOException si le dossier ou le dernier segment ne peut pas être ouvert
+     */
+    public JournalLancers(Path dossier) throws IOException {
+        this(dossier, TAILLE_SEGMENT_DEFAUT, PolitiqueSynchronisation.aucune());
+    }
+
+    /**
+     * Ouvre le journal d'un dossier (créé au besoin). Les nouveaux enregistrements
+     * seront ajoutés après ceux déjà présents.
+     * @param dossier le dossier des segments
+     * @param tailleSegment la taille des nouveaux segments, multiple de 32 octets
+     * @param politique la fréquence des écritures forcées sur disque
+     * @throws IOException si le dossier ou le dernier segment ne peut pas être ouvert
+     * @throws IllegalArgumentException si la taille de segment est invalide
+     */
+    public JournalLancers(Path dossier, int tailleSegment, PolitiqueSynchronisation politique) throws IOException {
+        if (tailleSegment < TAILLE_ENREGISTREMENT || tailleSegment % TAILLE_ENREGISTREMENT != 0) {
+            throw new IllegalArgumentException("La taille d'un segment doit être un multiple de "
+                    + TAILLE_ENREGISTREMENT + " octets.");
+        }
+        this.dossier = Files.createDirectories(dossier);
+        this.tailleSegment = tailleSegment;
+        this.politique = politique;
+
+        List<Path> segments = listerSegments();
+        if (segments.isEmpty()) {
+            segment = ouvrirSegment(0);
+        } else {
+            String dernier = segments.get(segments.size() - 1).getFileName().toString();
+            Segment ouvert = ouvrirSegment(Integer.parseInt(
+                    dernier.substring("journal-".length(), dernier.length() - ".seg".length())));
+            // On reprend après le dernier enregistrement complet. Un segment n'est quitté que tout publié :
+            // seul le dernier peut avoir un trou, et les enregistrements publiés après lui sont effacés.
+            MappedByteBuffer tampon = ouvert.tampon;
+            int position = 0;
+            while (position + TAILLE_ENREGISTREMENT <= tampon.capacity() && tampon.get(position) != TYPE_FIN) {
+                position += TAILLE_ENREGISTREMENT;
+            }
+            boolean efface = false;
+            for (int p = position; p + TAILLE_ENREGISTREMENT <= tampon.capacity(); p += TAILLE_ENREGISTREMENT) {
+                if (tampon.get(p) != TYPE_FIN) {
+                    tampon.put(p, TYPE_FIN);
+                    efface = true;
+                }
+            }
+            if (efface) {
+                tampon.force();
+            }
+            ouvert.position.set(position);
+            segment = ouvert;
+            debutNonSynchronise = position;
+        }
+    }
+
+    /**
+     * Ajoute le démarrage d'une partie au journal
+     * @param numeroPiste le numéro de la piste
+     * @param nomsDesJoueurs les noms des joueurs, dans l'ordre de passage
+     * @throws IllegalStateException si le journal est fermé
+     */
+    public void journaliserDemarrage(int numeroPiste, String[] nomsDesJoueurs) {
+        for (String nom : nomsDesJoueurs) {
+            byte[] octets = nom.getBytes(StandardCharsets.UTF_8);
+            int debut = 0;
+            do {
+                int longueur = Math.min(TAILLE_MORCEAU_NOM, octets.length - debut);
+                boolean suite = debut + longueur < octets.length;
+                Segment s = segment;
+                int position;
+                while ((position = s.reserver()) < 0) {
+                    s = segmentSuivant(s);
+                }
+                s.tampon.put(position + 1, (byte) (suite ? 1 : 0));
+                s.tampon.putInt(position + 2, numeroPiste);
+                s.tampon.put(position + 8, (byte) longueur);
+                s.tampon.put(position + DEBUT_NOM, octets, debut, longueur);
+                publier(s, position, TYPE_JOUEUR);
+                debut += longueur;
+            } while (debut < octets.length);
+        }
+        Segment s = segment;
+        int position;
+        while ((position = s.reserver()) < 0) {
+            s = segmentSuivant(s);
+        }
+        s.tampon.putInt(position + 2, numeroPiste);
+        s.tampon.putShort(position + 6, (short) nomsDesJoueurs.length);
+        publier(s, position, TYPE_DEMARRAGE);
+    }
+
+    /**
+     * Ajoute un lancer au journal
+     * @param numeroPiste le numéro de la piste
+     * @param quilles le nombre de quilles abattues
+     * @throws IllegalStateException si le journal est fermé
+     */
+    public void journaliserLancer(int numeroPiste, int quilles) {
+        Segment s = segment;
+        int position;
+        while ((position = s.reserver()) < 0) {
+            s = segmentSuivant(s);
+        }
+        s.tampon.putInt(position + 2, numeroPiste);
+        s.tampon.put(position + 6, (byte) quilles);
+        publier(s, position, TYPE_LANCER);
+    }
+
+    /**
+     * Ajoute la correction d'un lancer au journal
+     * @param numeroPiste le numéro de la piste
+     * @param identifiantJoueur l'indice du joueur dans l'ordre de jeu
+     * @param indexLancer l'indice du lancer parmi ceux du joueur
+     * @param quilles le nombre de quilles corrigé
+     * @throws IllegalStateException si le journal est fermé
+     */
+    public void journaliserCorrection(int numeroPiste, int identifiantJoueur, int indexLancer, int quilles) {
+        Segment s = segment;
+        int position;
+        while ((position = s.reserver()) < 0) {
+            s = segmentSuivant(s);
+        }
+        s.tampon.putInt(position + 2, numeroPiste);
+        s.tampon.putShort(position + 6, (short) identifiantJoueur);
+        s.tampon.put(position + 8, (byte) indexLancer);
+        s.tampon.put(position + 9, (byte) quilles);
+        publier(s, position, TYPE_CORRECTION);
+    }
+
+    /**
+     * Force l'écriture sur disque de tout ce qui a été journalisé, après avoir
+     * attendu la fin des ajouts en cours
+     */
+    public synchronized void synchroniser() {
+        Segment s = segment;
+        int fin = ferme ? finAvantFermeture : (int) Math.min(s.position.get(), s.tampon.capacity());
+        if (fin > debutNonSynchronise) {
+            attendrePublication(s, debutNonSynchronise, fin);
+            s.tampon.force(debutNonSynchronise, fin - debutNonSynchronise);
+            debutNonSynchronise = fin;
+        }
+        enregistrementsNonSynchronises.set(0);
+    }
+
+    /**
+     * Relit tout le journal, du premier au dernier enregistrement complet.
+     * À appeler au démarrage, avant tout nouvel ajout.
+     * @param lecteur reçoit les opérations journalisées, dans l'ordre
+     * @throws IOException si un segment ne peut pas être lu
+     */
+    public void rejouer(Lecteur lecteur) throws IOException {
+        // Noms déjà lus des démarrages en cours, par piste : ceux de pistes différentes peuvent être entremêlés
+        Map<Integer, NomsEnCours> noms = new HashMap<>();
+
+        segments:
+        for (Path fichier : listerSegments()) {
+            MappedByteBuffer tampon;
+            try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+                tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            }
+            for (int p = 0; p + TAILLE_ENREGISTREMENT <= tampon.capacity(); p += TAILLE_ENREGISTREMENT) {
+                byte type = tampon.get(p);
+                if (type == TYPE_FIN) {
+                    break segments;
+                }
+                int numeroPiste = tampon.getInt(p + 2);
+                switch (type) {
+                    case TYPE_LANCER -> lecteur.lancer(numeroPiste, tampon.get(p + 6));
+                    case TYPE_CORRECTION -> lecteur.correction(numeroPiste, tampon.getShort(p + 6),
+                                                               tampon.get(p + 8), tampon.get(p + 9));
+                    case TYPE_JOUEUR -> noms.computeIfAbsent(numeroPiste, n -> new NomsEnCours())
+                                            .ajouter(tampon, p);
+                    case TYPE_DEMARRAGE -> {
+                        NomsEnCours partie = noms.remove(numeroPiste);
+                        lecteur.demarrage(numeroPiste,
+                                partie == null ? new String[0] : partie.noms.toArray(String[]::new));
+                    }
+                    default -> throw new IOException("Enregistrement inconnu dans " + fichier + " à la position " + p);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ferme le journal : les ajouts suivants sont refusés, et ce qui reste à
+     * synchroniser selon la politique est écrit sur disque
+     */
+    @Override
+    public synchronized void close() {
+        if (ferme) {
+            return;
+        }
+        ferme = true;
+        Segment s = segment;
+        finAvantFermeture = (int) Math.min(s.position.getAndAdd(FERMETURE), s.tampon.capacity());
+        if (politique.getIntervalle() > 0) {
+            synchroniser();
+        }
+    }
+
+    /**
+     * Reçoit les opérations relues par {@link JournalLancers#rejouer(Lecteur)}
+     */
+    public interface Lecteur {
+
+        /**
+         * @param numeroPiste le numéro de la piste
+         * @param nomsDesJoueurs les noms des joueurs de la nouvelle partie
+         */
+        void demarrage(int numeroPiste, String[] nomsDesJoueurs);
+
+        /**
+         * @param numeroPiste le numéro de la piste
+         * @param quilles le nombre de quilles abattues
+         */
+        void lancer(int numeroPiste, int quilles);
+
+        /**
+         * Par défaut, un lecteur écrit avant l'ajout des corrections refuse de
+         * rejouer un journal qui en contient, plutôt que de les ignorer.
+         * @param numeroPiste le numéro de la piste
+         * @param identifiantJoueur l'indice du joueur dans l'ordre de jeu
+         * @param indexLancer l'indice du lancer parmi ceux du joueur
+         * @param quilles le nombre de quilles corrigé
+         * @throws IllegalStateException si le lecteur ne sait pas rejouer les corrections
+         */
+        default void correction(int numeroPiste, int identifiantJoueur, int indexLancer, int quilles) {
+            throw new IllegalStateException("Correction de lancer sur la piste " + numeroPiste
+                    + " : ce lecteur ne sait pas rejouer les corrections.");
+        }
+    }
+
+    /**
+     * Passe au segment suivant quand le segment plein est encore le segment
+     * courant, une fois tous ses enregistrements publiés
+     * @return le nouveau segment courant
+     * @throws IllegalStateException si le journal est fermé
+     */
+    private synchronized Segment segmentSuivant(Segment plein) {
+        if (ferme) {
+            throw new IllegalStateException("Le journal est fermé.");
+        }
+        if (segment == plein) {
+            attendrePublication(plein, debutNonSynchronise, plein.tampon.capacity());
+            if (politique.getIntervalle() > 0) {
+                synchroniser();
+            }
+            try {
+                segment = ouvrirSegment(plein.numero + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Impossible de créer un nouveau segment de journal", e);
+            }
+            debutNonSynchronise = 0;
+        }
+        return segment;
+    }
+
+    /**
+     * Valide un enregistrement en écrivant son type, après tout son contenu, puis synchronise si nécessaire
+     */
+    private void publier(Segment s, int position, byte type) {
+        VarHandle.releaseFence();
+        s.tampon.put(position, type);
+        int intervalle = politique.getIntervalle();
+        if (intervalle > 0 && enregistrementsNonSynchronises.incrementAndGet() >= intervalle) {
+            synchroniser();
+        }
+    }
+
+    /**
+     * Attend que les emplacements réservés [debut, fin) d'un segment soient
+     * publiés : leurs écrivains n'ont plus que quelques octets à écrire
+     */
+    private static void attendrePublication(Segment s, int debut, int fin) {
+        for (int p = debut; p < fin; p += TAILLE_ENREGISTREMENT) {
+            while ((int) ENTETE.getAcquire(s.tampon, p) >>> 24 == TYPE_FIN) {
+                Thread.yield();
+            }
+        }
+    }
+
+    private Segment ouvrirSegment(int numero) throws IOException {
+        Path fichier = dossier.resolve(String.format("journal-%06d.seg", numero));
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Un segment existant garde sa taille, un nouveau segment est rempli de zéros
+            long taille = Math.max(canal.size(), tailleSegment);
+            return new Segment(numero, canal.map(FileChannel.MapMode.READ_WRITE, 0, taille));
+        }
+    }
+
+    private List<Path> listerSegments() throws IOException {
+        try (Stream<Path> fichiers = Files.list(dossier)) {
+            return fichiers.filter(f -> f.getFileName().toString().matches("journal-\\d{6}\\.seg"))
+                           .sorted()
+                           .toList();
+        }
+    }
+
+    /**
+     * Un fichier segment projeté en mémoire, et la position du prochain emplacement à réserver
+     */
+    private static final class Segment {
+
+        private final int numero;
+        private final MappedByteBuffer tampon;
+        // Dépasse la capacité une fois le segment plein (ou le journal fermé)
+        private final AtomicLong position = new AtomicLong();
+
+        Segment(int numero, MappedByteBuffer tampon) {
+            this.numero = numero;
+            this.tampon = tampon;
+        }
+
+        /**
+         * @return la position de l'emplacement réservé, ou -1 si le segment est plein
+         */
+        int reserver() {
+            long debut = position.getAndAdd(TAILLE_ENREGISTREMENT);
+            return debut + TAILLE_ENREGISTREMENT <= tampon.capacity() ? (int) debut : -1;
+        }
+    }
+
+    /**
+     * Noms des joueurs d'un démarrage en cours de relecture, et morceaux du nom en cours
+     */
+    private static final class NomsEnCours {
+
+        private final List<String> noms = new ArrayList<>();
+        private byte[] nom = new byte[TAILLE_MORCEAU_NOM];
+        private int longueurNom;
+
+        void ajouter(MappedByteBuffer tampon, int p) {
+            int longueur = tampon.get(p + 8);
+            if (longueurNom + longueur > nom.length) {
+                nom = Arrays.copyOf(nom, Math.max(2 * nom.length, longueurNom + longueur));
+            }
+            tampon.get(p + DEBUT_NOM, nom, longueurNom, longueur);
+            longueurNom += longueur;
+            if (tampon.get(p + 1) == 0) {
+                noms.add(new String(nom, 0, longueurNom, StandardCharsets.UTF_8));
+                longueurNom = 0;
+            }
+        }
+    }
+}
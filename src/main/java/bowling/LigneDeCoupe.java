@@ -0,0 +1,117 @@
+package bowling;
+
+import java.util.Arrays;
+
+/**
+ * Ligne de coupe d'une qualification : les places meilleurs joueurs parmi ceux
+ * proposés jusqu'ici, tenue à jour à chaque résultat au lieu de retrier tous
+ * les résultats.
+ * <p>
+ * Les qualifiés sont gardés dans un tas binaire de taille bornée dont la racine
+ * est le dernier qualifié : un nouveau résultat est comparé à la racine, et ne
+ * coûte O(log places) que s'il entre dans les qualifiés. Chaque qualifié est
+ * codé dans un long (série dans les 32 bits de poids fort, puis l'identifiant
+ * inversé) : à série égale, le plus petit identifiant passe devant, et le tas
+ * ne contient aucun objet.
+ * <p>
+ * Cette classe peut être utilisée par plusieurs threads : les méthodes sont
+ * synchronisées, et un résultat ne tient le verrou que quelques nanosecondes.
+ */
+public final class LigneDeCoupe {
+
+    private final long[] tas;
+    private int taille;
+
+    /**
+     * Constructeur
+     * @param places le nombre de joueurs qualifiés
+     * @throws IllegalArgumentException si places est inférieur à 1
+     */
+    public LigneDeCoupe(int places) {
+        if (places < 1) {
+            throw new IllegalArgumentException("Il faut au moins une place qualificative.");
+        }
+        this.tas = new long[places];
+    }
+
+    /**
+     * Prend en compte le résultat d'un joueur, qui ne doit être proposé qu'une fois
+     * @param joueur l'identifiant du joueur (positif ou nul)
+     * @param serie le total de ses parties (positif ou nul)
+     * @return true si le joueur est qualifié à ce stade
+     */
+    public synchronized boolean proposer(int joueur, int serie) {
+        long cle = cle(joueur, serie);
+        if (taille < tas.length) {
+            int i = taille++;
+            // Remontée du nouveau qualifié
+            while (i > 0 && tas[(i - 1) / 2] > cle) {
+                tas[i] = tas[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            tas[i] = cle;
+            return true;
+        }
+        if (cle < tas[0]) {
+            return false;
+        }
+        // Le dernier qualifié est remplacé, puis le nouveau descend à sa place
+        int i = 0;
+        while (true) {
+            int fils = 2 * i + 1;
+            if (fils >= taille) {
+                break;
+            }
+            if (fils + 1 < taille && tas[fils + 1] < tas[fils]) {
+                fils++;
+            }
+            if (tas[fils] >= cle) {
+                break;
+            }
+            tas[i] = tas[fils];
+            i = fils;
+        }
+        tas[i] = cle;
+        return true;
+    }
+
+    /**
+     * @return la série du dernier qualifié, ou -1 tant qu'il y a moins de
+     * joueurs proposés que de places
+     */
+    public synchronized int getSerieMinimum() {
+        return taille < tas.length ? -1 : serie(tas[0]);
+    }
+
+    /**
+     * @return les identifiants des qualifiés à ce stade, du meilleur au dernier
+     */
+    public synchronized int[] qualifies() {
+        long[] cles = Arrays.copyOf(tas, taille);
+        Arrays.sort(cles);
+        int[] qualifies = new int[taille];
+        for (int i = 0; i < taille; i++) {
+            qualifies[i] = joueur(cles[taille - 1 - i]);
+        }
+        return qualifies;
+    }
+
+    /**
+     * @return le nombre de places qualificatives
+     */
+    public int getPlaces() {
+        return tas.length;
+    }
+
+    private static long cle(int joueur, int serie) {
+        return (long) serie << 32 | (Integer.MAX_VALUE - joueur);
+    }
+
+    private static int serie(long cle) {
+        return (int) (cle >>> 32);
+    }
+
+    private static int joueur(long cle) {
+        return Integer.MAX_VALUE - (int) cle;
+    }
+}
@@ -0,0 +1,238 @@
+package bowling;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Métriques des chemins les plus fréquents : lancers
+ * (PartieMultiJoueurs.jouerLancer, et donc enregistreLancer), score d'un
+ * joueur (PartieMonoJoueur.score) et calcul du score à partir des tours
+ * (CalculateurScore.calculerScoreTotal, quel que soit le calculateur).
+ * <p>
+ * Pour que le coût reste de quelques nanosecondes, les appels sont comptés
+ * dans un compteur réparti en cellules, comme un LongAdder : la cellule d'un
+ * appel est choisie par le hachage de l'identifiant de son thread, et seuls les
+ * threads dont les identifiants tombent dans la même cellule se la disputent. Le
+ * nombre de cellules est fixé d'après le nombre de processeurs, quel que soit le
+ * nombre de threads créés (threads virtuels compris). Seul un appel sur
+ * PERIODE_ECHANTILLONNAGE de chaque cellule est chronométré et enregistré dans
+ * un Histogramme. Les appels qui lèvent une exception sont comptés mais pas
+ * chronométrés.
+ * <p>
+ * Le relevé est désactivé par défaut (propriété système bowling.metriques pour
+ * l'activer au démarrage) : chaque point de mesure ne coûte alors que la
+ * lecture d'un booléen.
+ * <p>
+ * Chaque CentreDeBowling a ses propres métriques de lancers, exposées par JMX
+ * (cf. CentreDeBowling.exposerMetriques). Le score et son calcul ne sont pas
+ * rattachés à une piste : ils sont relevés dans GLOBALES, et toutes les
+ * métriques les partagent.
+ */
+public final class Metriques implements MetriquesMBean {
+
+    /**
+     * Un appel sur PERIODE_ECHANTILLONNAGE est chronométré (une puissance de deux)
+     */
+    static final int PERIODE_ECHANTILLONNAGE = 64;
+
+    /**
+     * Valeur renvoyée par Mesure.debut pour un appel qui n'est pas chronométré
+     */
+    static final long NON_CHRONOMETRE = Long.MIN_VALUE;
+
+    private static volatile boolean activees = Boolean.getBoolean("bowling.metriques");
+
+    /**
+     * Métriques des parties qui n'appartiennent à aucun CentreDeBowling,
+     * et du score de toutes les parties
+     */
+    public static final Metriques GLOBALES = new Metriques(new Mesure(), new Mesure(), new Mesure());
+
+    final Mesure lancers;
+    final Mesure scores;
+    final Mesure calculsScore;
+
+    /**
+     * Constructeur des métriques d'un registre de pistes : les lancers lui sont
+     * propres, le score et son calcul sont ceux de GLOBALES
+     */
+    public Metriques() {
+        this(new Mesure(), GLOBALES.scores, GLOBALES.calculsScore);
+    }
+
+    private Metriques(Mesure lancers, Mesure scores, Mesure calculsScore) {
+        this.lancers = lancers;
+        this.scores = scores;
+        this.calculsScore = calculsScore;
+    }
+
+    /**
+     * Active ou désactive le relevé de toutes les métriques
+     * @param activees true pour relever les métriques
+     */
+    public static void activer(boolean activees) {
+        Metriques.activees = activees;
+    }
+
+    /**
+     * @return true si les métriques sont relevées
+     */
+    public static boolean sontActivees() {
+        return activees;
+    }
+
+    @Override
+    public boolean isActivees() {
+        return activees;
+    }
+
+    @Override
+    public void setActivees(boolean activees) {
+        activer(activees);
+    }
+
+    @Override
+    public long getNombreLancers() {
+        return lancers.getNombre();
+    }
+
+    @Override
+    public long getDureeLancerMediane() {
+        return lancers.durees.quantile(0.5);
+    }
+
+    @Override
+    public long getDureeLancer99() {
+        return lancers.durees.quantile(0.99);
+    }
+
+    @Override
+    public long getDureeLancerMax() {
+        return lancers.durees.getMaximum();
+    }
+
+    @Override
+    public long getNombreScores() {
+        return scores.getNombre();
+    }
+
+    @Override
+    public long getDureeScoreMediane() {
+        return scores.durees.quantile(0.5);
+    }
+
+    @Override
+    public long getDureeScore99() {
+        return scores.durees.quantile(0.99);
+    }
+
+    @Override
+    public long getNombreCalculsScore() {
+        return calculsScore.getNombre();
+    }
+
+    @Override
+    public long getDureeCalculScoreMediane() {
+        return calculsScore.durees.quantile(0.5);
+    }
+
+    @Override
+    public long getDureeCalculScore99() {
+        return calculsScore.durees.quantile(0.99);
+    }
+
+    /**
+     * @return l'histogramme des durées de lancer mesurées
+     */
+    public Histogramme getDureesLancer() {
+        return lancers.durees;
+    }
+
+    @Override
+    public void reinitialiser() {
+        lancers.reinitialiser();
+        if (this == GLOBALES) {
+            scores.reinitialiser();
+            calculsScore.reinitialiser();
+        }
+    }
+
+    /**
+     * Un point de mesure : un compteur d'appels et un histogramme de durées.
+     * Utilisation : {@code long debut = mesure.debut(); ...; mesure.fin(debut);}
+     */
+    static final class Mesure {
+
+        /**
+         * Nombre de cellules du compteur : la puissance de deux égale ou
+         * supérieure au double du nombre de processeurs
+         */
+        private static final int NOMBRE_CELLULES =
+                Integer.highestOneBit(2 * Runtime.getRuntime().availableProcessors() - 1) << 1;
+
+        /**
+         * Écart entre deux cellules, en long (128 octets) : deux cellules ne
+         * partagent jamais une ligne de cache, ni la ligne voisine préchargée
+         */
+        private static final int ECART = 16;
+
+        private final AtomicLongArray cellules = new AtomicLongArray(NOMBRE_CELLULES * ECART);
+        private final Histogramme durees = new Histogramme();
+        // Nombre d'appels à la dernière remise à zéro
+        private volatile long origine;
+
+        /**
+         * Compte un appel et, s'il fait partie de l'échantillon, le chronomètre
+         * @return l'instant de début, ou NON_CHRONOMETRE
+         */
+        long debut() {
+            if (!activees) {
+                return NON_CHRONOMETRE;
+            }
+            long total = cellules.incrementAndGet(cellule(Thread.currentThread().threadId()));
+            if ((total & (PERIODE_ECHANTILLONNAGE - 1)) != 0) {
+                return NON_CHRONOMETRE;
+            }
+            return System.nanoTime();
+        }
+
+        /**
+         * Enregistre la durée d'un appel chronométré
+         * @param debut la valeur renvoyée par debut()
+         */
+        void fin(long debut) {
+            if (debut != NON_CHRONOMETRE) {
+                durees.enregistrer(System.nanoTime() - debut);
+            }
+        }
+
+        /**
+         * @return le nombre d'appels comptés depuis la dernière remise à zéro
+         */
+        long getNombre() {
+            return total() - origine;
+        }
+
+        /**
+         * Remet à zéro le compteur, sans écrire dans ses cellules
+         */
+        void reinitialiser() {
+            origine = total();
+            durees.reinitialiser();
+        }
+
+        private long total() {
+            long total = 0;
+            for (int i = 0; i < cellules.length(); i += ECART) {
+                total += cellules.get(i);
+            }
+            return total;
+        }
+
+        /**
+         * @return l'indice dans cellules de la cellule d'un thread
+         */
+        private static int cellule(long idThread) {
+            return ((int) (idThread * 0x9E3779B97F4A7C15L >>> 32) & (NOMBRE_CELLULES - 1)) * ECART;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package bowling;
+
+/**
+ * Interface JMX des métriques d'un registre de pistes (cf. Metriques).
+ * Les durées sont en nanosecondes, mesurées sur un échantillon des appels.
+ */
+public interface MetriquesMBean {
+
+    /**
+     * @return true si les métriques sont relevées (dans toute l'application)
+     */
+    boolean isActivees();
+
+    /**
+     * Active ou désactive le relevé des métriques dans toute l'application
+     * @param activees true pour relever les métriques
+     */
+    void setActivees(boolean activees);
+
+    /**
+     * @return le nombre de lancers joués
+     */
+    long getNombreLancers();
+
+    /**
+     * @return la durée médiane d'un lancer
+     */
+    long getDureeLancerMediane();
+
+    /**
+     * @return la durée d'un lancer au 99e centile
+     */
+    long getDureeLancer99();
+
+    /**
+     * @return la plus longue durée de lancer mesurée
+     */
+    long getDureeLancerMax();
+
+    /**
+     * @return le nombre d'appels à PartieMonoJoueur.score
+     */
+    long getNombreScores();
+
+    /**
+     * @return la durée médiane de PartieMonoJoueur.score
+     */
+    long getDureeScoreMediane();
+
+    /**
+     * @return la durée de PartieMonoJoueur.score au 99e centile
+     */
+    long getDureeScore99();
+
+    /**
+     * @return le nombre d'appels à CalculateurScore.calculerScoreTotal
+     */
+    long getNombreCalculsScore();
+
+    /**
+     * @return la durée médiane de CalculateurScore.calculerScoreTotal
+     */
+    long getDureeCalculScoreMediane();
+
+    /**
+     * @return la durée de CalculateurScore.calculerScoreTotal au 99e centile
+     */
+    long getDureeCalculScore99();
+
+    /**
+     * Remet à zéro les compteurs et les histogrammes propres à ces métriques :
+     * ceux des lancers pour un centre, tous pour les métriques globales (le score
+     * et son calcul, partagés par tous les centres, ne sont remis à zéro que là)
+     */
+    void reinitialiser();
+}
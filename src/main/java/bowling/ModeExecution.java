@@ -0,0 +1,32 @@
+package bowling;
+
+/**
+ * Type de thread utilisé pour exécuter la boucle d'une PisteActeur.
+ */
+public enum ModeExecution {
+
+    /**
+     * Un thread système par piste
+     */
+    THREADS_PLATEFORME {
+        @Override
+        Thread.Builder constructeur() {
+            return Thread.ofPlatform().daemon(true);
+        }
+    },
+
+    /**
+     * Un thread virtuel par piste, pour pouvoir en faire tourner des milliers
+     */
+    THREADS_VIRTUELS {
+        @Override
+        Thread.Builder constructeur() {
+            return Thread.ofVirtual();
+        }
+    };
+
+    /**
+     * @return le constructeur des threads de ce type
+     */
+    abstract Thread.Builder constructeur();
+}
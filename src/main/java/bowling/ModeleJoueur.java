@@ -0,0 +1,162 @@
+package bowling;
+
+import java.util.SplittableRandom;
+
+/**
+ * Modèle de jeu d'un joueur pour la simulation : la loi du nombre de quilles
+ * abattues par la 1re boule d'un tour, et pour chaque résultat de la 1re boule,
+ * la loi du nombre de quilles abattues parmi celles restées debout.
+ * <p>
+ * Chaque loi est tirée par la méthode des alias (Walker) : un seul nombre
+ * aléatoire et au plus deux lectures de tableau par lancer, sans allocation,
+ * quel que soit le modèle. Les tables sont calculées à la construction ; le
+ * modèle est ensuite immuable et peut être partagé entre threads.
+ */
+public final class ModeleJoueur {
+
+    /**
+     * Ligne des tables qui porte la loi de la 1re boule ; les lignes 0 à 9
+     * portent celles de la 2e boule selon les quilles abattues par la 1re
+     */
+    private static final int LIGNE_PREMIERE_BOULE = 10;
+
+    /**
+     * seuils[ligne * 11 + colonne] : probabilité (sur 2^32) de garder la colonne
+     */
+    private final long[] seuils = new long[11 * 11];
+
+    /**
+     * alias[ligne * 11 + colonne] : valeur tirée quand la colonne n'est pas gardée
+     */
+    private final byte[] alias = new byte[11 * 11];
+
+    /**
+     * Constructeur
+     * @param premiereBoule les poids de 0 à 10 quilles à la 1re boule (11 valeurs)
+     * @param secondeBoule pour chaque résultat p de 0 à 9 de la 1re boule, les
+     * poids de 0 à 10 - p quilles à la 2e boule (11 - p valeurs)
+     * @throws IllegalArgumentException si une loi n'a pas la bonne taille, a un
+     * poids négatif ou n'a que des poids nuls
+     */
+    public ModeleJoueur(double[] premiereBoule, double[][] secondeBoule) {
+        if (secondeBoule.length != 10) {
+            throw new IllegalArgumentException("Il faut une loi de 2e boule pour chaque 1re boule de 0 à 9.");
+        }
+        construireLigne(LIGNE_PREMIERE_BOULE, premiereBoule, 11);
+        for (int premiere = 0; premiere < 10; premiere++) {
+            construireLigne(premiere, secondeBoule[premiere], 11 - premiere);
+        }
+    }
+
+    /**
+     * Modèle où chaque quille debout tombe indépendamment avec la même probabilité
+     * @param adresse la probabilité qu'une quille debout tombe [0..1]
+     * @return le modèle : loi binomiale à chaque boule
+     * @throws IllegalArgumentException si adresse n'est pas dans [0..1]
+     */
+    public static ModeleJoueur binomial(double adresse) {
+        if (!(adresse >= 0 && adresse <= 1)) {
+            throw new IllegalArgumentException("Adresse invalide : " + adresse);
+        }
+        double[][] secondeBoule = new double[10][];
+        for (int premiere = 0; premiere < 10; premiere++) {
+            secondeBoule[premiere] = binomiale(10 - premiere, adresse);
+        }
+        return new ModeleJoueur(binomiale(10, adresse), secondeBoule);
+    }
+
+    /**
+     * Tire le résultat de la 1re boule d'un tour, toutes les quilles étant debout
+     * @param hasard le générateur du thread appelant
+     * @return le nombre de quilles abattues [0..10]
+     */
+    public int premiereBoule(SplittableRandom hasard) {
+        return tirer(LIGNE_PREMIERE_BOULE, 11, hasard);
+    }
+
+    /**
+     * Tire le résultat de la 2e boule d'un tour
+     * @param premiere les quilles abattues par la 1re boule [0..9]
+     * @param hasard le générateur du thread appelant
+     * @return le nombre de quilles abattues [0..10 - premiere]
+     */
+    public int secondeBoule(int premiere, SplittableRandom hasard) {
+        return tirer(premiere, 11 - premiere, hasard);
+    }
+
+    private int tirer(int ligne, int taille, SplittableRandom hasard) {
+        long aleatoire = hasard.nextLong();
+        // 32 bits de poids fort pour la colonne, 32 bits de poids faible pour le seuil
+        int colonne = (int) (((aleatoire >>> 32) * taille) >>> 32);
+        int indice = ligne * 11 + colonne;
+        // Sans branchement (le test serait mal prédit) : garde vaut 1 si la colonne est gardée, 0 sinon
+        int garde = (int) (((aleatoire & 0xFFFFFFFFL) - seuils[indice]) >>> 63);
+        int autre = alias[indice];
+        return autre + garde * (colonne - autre);
+    }
+
+    private void construireLigne(int ligne, double[] poids, int taille) {
+        if (poids.length != taille) {
+            throw new IllegalArgumentException("La loi doit avoir " + taille + " valeurs : " + poids.length);
+        }
+        double total = 0;
+        for (double p : poids) {
+            if (!(p >= 0) || Double.isInfinite(p)) {
+                throw new IllegalArgumentException("Poids invalide : " + p);
+            }
+            total += p;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("La loi n'a que des poids nuls.");
+        }
+        // Méthode de Vose : chaque colonne reçoit en moyenne 1, les petites sont complétées par une grande
+        double[] echelle = new double[taille];
+        int[] petites = new int[taille];
+        int[] grandes = new int[taille];
+        int nombrePetites = 0;
+        int nombreGrandes = 0;
+        for (int i = 0; i < taille; i++) {
+            echelle[i] = poids[i] * taille / total;
+            if (echelle[i] < 1) {
+                petites[nombrePetites++] = i;
+            } else {
+                grandes[nombreGrandes++] = i;
+            }
+        }
+        while (nombrePetites > 0 && nombreGrandes > 0) {
+            int petite = petites[--nombrePetites];
+            int grande = grandes[--nombreGrandes];
+            seuils[ligne * 11 + petite] = Math.round(echelle[petite] * 0x1p32);
+            alias[ligne * 11 + petite] = (byte) grande;
+            echelle[grande] -= 1 - echelle[petite];
+            if (echelle[grande] < 1) {
+                petites[nombrePetites++] = grande;
+            } else {
+                grandes[nombreGrandes++] = grande;
+            }
+        }
+        // Restes dus aux arrondis : la colonne est toujours gardée
+        while (nombreGrandes > 0) {
+            int grande = grandes[--nombreGrandes];
+            seuils[ligne * 11 + grande] = 1L << 32;
+            alias[ligne * 11 + grande] = (byte) grande;
+        }
+        while (nombrePetites > 0) {
+            int petite = petites[--nombrePetites];
+            seuils[ligne * 11 + petite] = 1L << 32;
+            alias[ligne * 11 + petite] = (byte) petite;
+        }
+    }
+
+    private static double[] binomiale(int n, double p) {
+        double[] loi = new double[n + 1];
+        for (int k = 0; k <= n; k++) {
+            double coefficient = 1;
+            for (int i = 0; i < k; i++) {
+                coefficient = coefficient * (n - i) / (i + 1);
+            }
+            loi[k] = coefficient * Math.pow(p, k) * Math.pow(1 - p, n - k);
+        }
+        return loi;
+    }
+}
@@ -0,0 +1,34 @@
+package bowling;
+
+/**
+ * Moteurs de stockage disponibles pour les parties mono-joueur.
+ */
+public enum MoteurStockage {
+
+    /**
+     * Une liste de Tour contenant chacun une liste de Lancer
+     */
+    OBJETS {
+        @Override
+        public IPartieMonoJoueur nouvellePartie(String nomJoueur) {
+            return new PartieMonoJoueur(nomJoueur);
+        }
+    },
+
+    /**
+     * Un tableau de 21 octets et les indices de début de chaque tour
+     */
+    COMPACT {
+        @Override
+        public IPartieMonoJoueur nouvellePartie(String nomJoueur) {
+            return new PartieMonoJoueurCompacte(nomJoueur);
+        }
+    };
+
+    /**
+     * Crée une nouvelle partie stockée avec ce moteur
+     * @param nomJoueur le nom du joueur
+     * @return la partie créée
+     */
+    public abstract IPartieMonoJoueur nouvellePartie(String nomJoueur);
+}
@@ -0,0 +1,175 @@
+package bowling;
+
+/**
+ * Organise une longue séance (un marathon de plusieurs dizaines de joueurs, ou
+ * plus) sur plusieurs pistes : les joueurs de la liste sont répartis par blocs
+ * consécutifs entre les pistes, et chaque piste fait tourner ses propres joueurs
+ * dans une PartieMultiJoueurs.
+ * <p>
+ * Chaque joueur est désigné par son identifiant, c'est-à-dire son indice dans
+ * la liste complète. Un lancer, la recherche du joueur suivant sur une piste et
+ * la fin de séance se font en temps constant, quel que soit le nombre de
+ * joueurs : on ne parcourt jamais la liste.
+ * <p>
+ * Comme PartieMultiJoueurs, cette classe n'est pas prévue pour être utilisée
+ * par plusieurs threads.
+ */
+public final class OrdonnanceurPistes {
+
+    private final String[] joueurs;
+    private final PartieMultiJoueurs[] parties;
+    // Pour la piste p, les joueurs d'identifiants premierJoueur[p] à premierJoueur[p + 1] - 1
+    private final int[] premierJoueur;
+    // Piste de chaque joueur, par identifiant
+    private final int[] pisteDuJoueur;
+    private final boolean[] pistesTerminees;
+    private int nombrePistesEnCours;
+
+    /**
+     * Constructeur : répartit les joueurs entre les pistes, sans démarrer de partie
+     * @param joueurs les noms des joueurs, dans l'ordre de passage
+     * @param nombrePistes le nombre de pistes, au plus le nombre de joueurs
+     * @param moteurStockage le moteur de stockage des parties
+     * @throws IllegalArgumentException s'il n'y a aucun joueur, aucune piste,
+     * ou plus de pistes que de joueurs
+     */
+    public OrdonnanceurPistes(String[] joueurs, int nombrePistes, MoteurStockage moteurStockage) {
+        if (joueurs == null || joueurs.length == 0) {
+            throw new IllegalArgumentException("Le tableau de joueurs ne doit pas être vide.");
+        }
+        if (nombrePistes < 1 || nombrePistes > joueurs.length) {
+            throw new IllegalArgumentException("Nombre de pistes invalide : " + nombrePistes);
+        }
+        this.joueurs = joueurs.clone();
+        this.parties = new PartieMultiJoueurs[nombrePistes];
+        this.premierJoueur = new int[nombrePistes + 1];
+        this.pisteDuJoueur = new int[joueurs.length];
+        this.pistesTerminees = new boolean[nombrePistes];
+        for (int piste = 0; piste < nombrePistes; piste++) {
+            parties[piste] = new PartieMultiJoueurs(moteurStockage);
+            // Sans écouteur : seul le numéro de piste des événements JFR est renseigné
+            parties[piste].setEcouteurScores(piste, null);
+            // Blocs de tailles égales à un joueur près
+            premierJoueur[piste + 1] = (int) ((long) (piste + 1) * joueurs.length / nombrePistes);
+            for (int joueur = premierJoueur[piste]; joueur < premierJoueur[piste + 1]; joueur++) {
+                pisteDuJoueur[joueur] = piste;
+            }
+        }
+    }
+
+    /**
+     * Démarre une nouvelle partie sur toutes les pistes
+     */
+    public void demarrer() {
+        for (int piste = 0; piste < parties.length; piste++) {
+            String[] noms = new String[premierJoueur[piste + 1] - premierJoueur[piste]];
+            System.arraycopy(joueurs, premierJoueur[piste], noms, 0, noms.length);
+            parties[piste].demarrerPartie(noms);
+            pistesTerminees[piste] = false;
+        }
+        nombrePistesEnCours = parties.length;
+    }
+
+    /**
+     * Enregistre un lancer du joueur qui doit lancer sur une piste
+     * @param piste l'indice de la piste [0..nombre de pistes - 1]
+     * @param nombreDeQuillesAbattues le nombre de quilles abattues
+     * @return l'état du prochain tir sur cette piste, codé par EtatProchainTir,
+     * où l'indice du joueur est son identifiant dans la liste complète
+     * @throws IllegalStateException si la séance n'est pas démarrée ou si la partie de la piste est terminée
+     * @throws IllegalArgumentException si la piste ou le nombre de quilles est invalide
+     */
+    public long jouerLancer(int piste, int nombreDeQuillesAbattues) {
+        long etat = partie(piste).jouerLancer(nombreDeQuillesAbattues);
+        if (EtatProchainTir.estPartieTerminee(etat)) {
+            pistesTerminees[piste] = true;
+            nombrePistesEnCours--;
+            return etat;
+        }
+        return EtatProchainTir.coder(premierJoueur[piste] + EtatProchainTir.indexJoueur(etat),
+                                     EtatProchainTir.numeroTour(etat),
+                                     EtatProchainTir.numeroBoule(etat));
+    }
+
+    /**
+     * @param piste l'indice de la piste
+     * @return l'identifiant du joueur qui doit lancer sur cette piste
+     * @throws IllegalStateException si la séance n'est pas démarrée
+     * @throws IllegalArgumentException si la piste est invalide
+     */
+    public int joueurCourant(int piste) {
+        return premierJoueur[piste] + partie(piste).getIndexJoueurCourant();
+    }
+
+    /**
+     * @param identifiantJoueur l'identifiant du joueur
+     * @return l'indice de la piste sur laquelle il joue
+     * @throws IllegalArgumentException si l'identifiant ne désigne aucun joueur
+     */
+    public int pisteDe(int identifiantJoueur) {
+        verifierJoueur(identifiantJoueur);
+        return pisteDuJoueur[identifiantJoueur];
+    }
+
+    /**
+     * @param identifiantJoueur l'identifiant du joueur
+     * @return le score de ce joueur
+     * @throws IllegalStateException si la séance n'est pas démarrée
+     * @throws IllegalArgumentException si l'identifiant ne désigne aucun joueur
+     */
+    public int scorePour(int identifiantJoueur) {
+        int piste = pisteDe(identifiantJoueur);
+        return parties[piste].scorePour(identifiantJoueur - premierJoueur[piste]);
+    }
+
+    /**
+     * @param piste l'indice de la piste
+     * @return true si la partie de cette piste est terminée
+     * @throws IllegalArgumentException si la piste est invalide
+     */
+    public boolean estTerminee(int piste) {
+        partie(piste);
+        return pistesTerminees[piste];
+    }
+
+    /**
+     * @return le nombre de pistes dont la partie n'est pas terminée
+     */
+    public int getNombrePistesEnCours() {
+        return nombrePistesEnCours;
+    }
+
+    /**
+     * @return true si la séance a été démarrée et que toutes les pistes ont terminé leur partie
+     */
+    public boolean estTerminee() {
+        return nombrePistesEnCours == 0 && parties[0].estDemarree();
+    }
+
+    /**
+     * @return le nombre de pistes
+     */
+    public int getNombrePistes() {
+        return parties.length;
+    }
+
+    /**
+     * @return le nombre de joueurs de la séance
+     */
+    public int getNombreJoueurs() {
+        return joueurs.length;
+    }
+
+    private PartieMultiJoueurs partie(int piste) {
+        if (piste < 0 || piste >= parties.length) {
+            throw new IllegalArgumentException("Piste inconnue : " + piste);
+        }
+        return parties[piste];
+    }
+
+    private void verifierJoueur(int identifiantJoueur) {
+        if (identifiantJoueur < 0 || identifiantJoueur >= joueurs.length) {
+            throw new IllegalArgumentException("Joueur inconnu: n° " + identifiantJoueur);
+        }
+    }
+}
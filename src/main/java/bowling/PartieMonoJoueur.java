@@ -8,20 +8,35 @@ import java.util.List;
  * lancers successifs d'<b>un seul et même</b> joueur, et de calculer le score
  * final de ce joueur.
  */
-public class PartieMonoJoueur {
+public class PartieMonoJoueur implements IPartieMonoJoueur {
 
     private final String nomJoueur; // Ajout
     private final List<Tour> tours;
     private final CalculateurScore calculateurScore;
+    private CalculateurScoreIncremental calculateurIncremental;
+    // Score et bonus en attente au début de chaque tour, pour reprendre le calcul après une correction
+    private final int[] scoreDebutTour = new int[10];
+    private final byte[] bonusDebutTour = new byte[10];
     private Tour tourCourant;
 
     /**
      * Constructeur
      */
     public PartieMonoJoueur(String nom) { // Ajout du nom
+        this(nom, new CalculateurScore());
+    }
+
+    /**
+     * Constructeur
+     * @param nom le nom du joueur
+     * @param calculateurScore le calculateur utilisé par le calcul de référence du score
+     * (CalculateurScore ou CalculateurScoreAutomate)
+     */
+    public PartieMonoJoueur(String nom, CalculateurScore calculateurScore) {
         this.nomJoueur = nom;
         this.tours = new ArrayList<>();
-        this.calculateurScore = new CalculateurScore();
+        this.calculateurScore = calculateurScore;
+        this.calculateurIncremental = new CalculateurScoreIncremental();
         this.tourCourant = new Tour(1);
     }
     
@@ -38,13 +53,21 @@ public class PartieMonoJoueur {
      * @param nombreDeQuillesAbattues le nombre de quilles abattues lors de ce lancer
      * @throws IllegalStateException si la partie est terminée ou le tour est invalide.
      */
+    @Override
     public void enregistrerLancer(int nombreDeQuillesAbattues) {
         if (estTerminee()) {
-            throw new IllegalStateException("La partie est terminée");
+            throw EvenementsJfr.refuser(0, nombreDeQuillesAbattues, new IllegalStateException("La partie est terminée"));
         }
 
-        Lancer lancer = new Lancer(nombreDeQuillesAbattues);
+        Lancer lancer;
+        try {
+            lancer = new Lancer(nombreDeQuillesAbattues);
+        } catch (IllegalArgumentException e) {
+            throw EvenementsJfr.refuser(tourCourant.getNumeroTour(), nombreDeQuillesAbattues, e);
+        }
         boolean tourContinue = tourCourant.ajouterLancer(lancer);
+        // Le lancer a été validé par le tour : on met à jour le score courant
+        calculateurIncremental.ajouterLancer(nombreDeQuillesAbattues);
 
         // Si le tour est terminé, l'ajouter à la liste et passer au suivant
         if (tourCourant.estTermine()) {
@@ -53,6 +76,8 @@ public class PartieMonoJoueur {
             // Créer le tour suivant si on est avant le 10ème tour
             if (tours.size() < 10) {
                 tourCourant = new Tour(tours.size() + 1);
+                scoreDebutTour[tours.size()] = calculateurIncremental.getScore();
+                bonusDebutTour[tours.size()] = (byte) calculateurIncremental.getBonusEnAttente();
             } else {
                 // Après avoir complété le 10ème tour, la partie est finie
                 tourCourant = null; 
@@ -60,13 +85,124 @@ public class PartieMonoJoueur {
         }
     }
 
+    /**
+     * Corrige le nombre de quilles d'un lancer déjà enregistré, sans rejouer la
+     * partie depuis le début.
+     * Seul le tour du lancer est revalidé si, une fois corrigé, il se termine au
+     * même lancer qu'avant ; sinon (un strike apparaît ou disparaît, un spare du
+     * 10e tour...), les lancers suivants sont redécoupés en tours et revalidés.
+     * Le score reprend au début du tour corrigé, à partir du score et des bonus
+     * en attente mémorisés à ce moment-là : le coût est proportionnel au nombre
+     * de tours à partir de la correction.
+     * @param indexLancer l'indice du lancer dans getLancers()
+     * @param nombreDeQuillesAbattues le nombre de quilles corrigé
+     * @throws IllegalArgumentException si l'indice ne désigne aucun lancer, si le
+     * tour corrigé ou un tour suivant devient invalide, ou si la partie se termine
+     * avant le dernier lancer enregistré : la partie est alors inchangée
+     */
+    public void corrigerLancer(int indexLancer, int nombreDeQuillesAbattues) {
+        int nombreTours = tours.size() + (tourCourant != null ? 1 : 0);
+        int indexTour = 0;
+        int premierLancerDuTour = 0;
+        while (indexTour < nombreTours
+                && premierLancerDuTour + tour(indexTour).getNombreLancers() <= indexLancer) {
+            premierLancerDuTour += tour(indexTour).getNombreLancers();
+            indexTour++;
+        }
+        if (indexLancer < 0 || indexTour == nombreTours) {
+            throw new IllegalArgumentException("Lancer inconnu : n° " + indexLancer);
+        }
+        Lancer correction = new Lancer(nombreDeQuillesAbattues);
+
+        // Le tour corrigé seul : s'il se termine au même lancer qu'avant, les tours suivants ne changent pas
+        Tour ancien = tour(indexTour);
+        List<Lancer> lancersDuTour = ancien.getLancers();
+        lancersDuTour.set(indexLancer - premierLancerDuTour, correction);
+        Tour corrige = new Tour(indexTour + 1);
+        boolean memeDecoupage = true;
+        for (Lancer lancer : lancersDuTour) {
+            if (corrige.estTermine()) {
+                memeDecoupage = false;
+                break;
+            }
+            corrige.ajouterLancerJoue(lancer);
+        }
+        memeDecoupage = memeDecoupage && corrige.estTermine() == ancien.estTermine();
+
+        List<Tour> nouveaux = new ArrayList<>();
+        Tour nouveauCourant;
+        if (memeDecoupage) {
+            if (indexTour < tours.size()) {
+                nouveaux.add(corrige);
+                nouveaux.addAll(tours.subList(indexTour + 1, tours.size()));
+                nouveauCourant = tourCourant;
+            } else {
+                nouveauCourant = corrige;
+            }
+        } else {
+            // Redécoupage des lancers à partir du tour corrigé
+            nouveauCourant = new Tour(indexTour + 1);
+            for (int i = indexTour; i < nombreTours; i++) {
+                for (Lancer lancer : i == indexTour ? lancersDuTour : tour(i).getLancers()) {
+                    if (nouveauCourant == null) {
+                        throw new IllegalArgumentException("Après correction, la partie se termine avant le dernier lancer.");
+                    }
+                    nouveauCourant.ajouterLancerJoue(lancer);
+                    if (nouveauCourant.estTermine()) {
+                        nouveaux.add(nouveauCourant);
+                        int numero = nouveauCourant.getNumeroTour();
+                        nouveauCourant = numero < 10 ? new Tour(numero + 1) : null;
+                    }
+                }
+            }
+        }
+
+        // La correction est valide : remplacement des tours et reprise du score au tour corrigé
+        tours.subList(indexTour, tours.size()).clear();
+        tours.addAll(nouveaux);
+        tourCourant = nouveauCourant;
+        CalculateurScoreIncremental calcul = new CalculateurScoreIncremental();
+        calcul.reprendreAuTour(indexTour + 1, scoreDebutTour[indexTour], bonusDebutTour[indexTour]);
+        for (int i = indexTour; i < tours.size() + (tourCourant != null ? 1 : 0); i++) {
+            Tour tour = tour(i);
+            scoreDebutTour[i] = calcul.getScore();
+            bonusDebutTour[i] = (byte) calcul.getBonusEnAttente();
+            for (int j = 0; j < tour.getNombreLancers(); j++) {
+                calcul.ajouterLancer(tour.getQuillesLancer(j));
+            }
+        }
+        calculateurIncremental = calcul;
+    }
+
+    /**
+     * @return le tour d'indice index [0..9] : un tour terminé, ou le tour courant
+     */
+    private Tour tour(int index) {
+        return index < tours.size() ? tours.get(index) : tourCourant;
+    }
+
     /**
      * Cette méthode donne le score du joueur.
      * Si la partie n'est pas terminée, on considère que les lancers restants
      * abattent 0 quille.
+     * Le score est tenu à jour à chaque lancer : cet appel ne fait aucun calcul.
      * @return Le score du joueur
      */
+    @Override
     public int score() {
+        long debut = Metriques.GLOBALES.scores.debut();
+        int score = calculateurIncremental.getScore();
+        Metriques.GLOBALES.scores.fin(debut);
+        return score;
+    }
+
+    /**
+     * Implémentation de référence du score : reconstruit la fin de partie avec
+     * des lancers à 0 puis recalcule tous les tours avec CalculateurScore.
+     * Conservée pour vérifier l'équivalence avec le calcul incrémental.
+     * @return Le score du joueur, identique à {@link #score()}
+     */
+    int scoreParRecalcul() {
         // Créer une copie des tours pour le calcul
         List<Tour> toursComplets = new ArrayList<>(tours);
         
@@ -120,6 +256,7 @@ public class PartieMonoJoueur {
     /**
      * @return vrai si la partie est terminée pour ce joueur, faux sinon
      */
+    @Override
     public boolean estTerminee() {
         return tours.size() == 10 && tourCourant == null;
     }
@@ -127,6 +264,7 @@ public class PartieMonoJoueur {
     /**
      * @return Le numéro du tour courant [1..10], ou 0 si le jeu est fini
      */
+    @Override
     public int getNumeroTourCourant() { // Changement du nom pour être cohérent avec l'usage
         if (estTerminee()) {
             return 0;
@@ -137,6 +275,7 @@ public class PartieMonoJoueur {
     /**
      * @return Le numéro du prochain lancer pour tour courant [1..3], ou 0 si le jeu est fini
      */
+    @Override
     public int getNumeroBouleCourante() { // Changement du nom pour être cohérent avec l'usage
         if (estTerminee()) {
             return 0;
@@ -147,35 +286,42 @@ public class PartieMonoJoueur {
     /**
      * @return Le nom du joueur
      */
+    @Override
     public String getNomJoueur() {
         return nomJoueur;
     }
     
     /**
+     * @return les quilles abattues à chacun des lancers déjà joués, dans l'ordre
+     */
+    @Override
+    public int[] getLancers() {
+        List<Tour> toursJoues = new ArrayList<>(tours);
+        if (tourCourant != null) {
+            toursJoues.add(tourCourant);
+        }
+        return toursJoues.stream()
+                         .flatMap(tour -> tour.getLancers().stream())
+                         .mapToInt(Lancer::getQuillesAbattues)
+                         .toArray();
+    }
+
+    /**
+     * Le tour courant est remplacé par un tour vide dès qu'il est terminé : le
+     * joueur doit relancer si et seulement si ce tour a déjà reçu un lancer.
      * @return true si le joueur doit lancer à nouveau pour compléter le tour en cours.
      */
+    @Override
     public boolean doitRelancer() {
-        return tourCourant != null && tourCourant.doitRelancer();
+        return tourCourant != null && tourCourant.getNombreLancers() > 0;
     }
     
     /**
      * @return true si le tour courant est terminé (et qu'on doit passer au joueur suivant), 
      * false si le joueur doit relancer pour compléter le tour.
      */
+    @Override
     public boolean aTermineSonTour() {
-        // Le tour est terminé s'il est dans la liste (donc terminé) OU si le jeu est fini
-        // On vérifie si le dernier tour ajouté est le tour qui vient d'être complété
-        // Le cas le plus simple : si le tour courant est null, c'est que le dernier tour vient d'être ajouté.
-        if (estTerminee()) {
-            return true;
-        }
-        
-        // Si le tour n'est PAS null et qu'il n'est PAS terminé, alors le joueur doit relancer
-        if (tourCourant != null && !tourCourant.estTermine()) {
-            return false;
-        }
-        
-        // Le tour courant est terminé s'il est dans la liste des tours ou si tourCourant est null
-        return tourCourant == null || tours.contains(tourCourant);
+        return !doitRelancer();
     }
 }
@@ -0,0 +1,128 @@
+package bowling;
+
+/**
+ * Partie d'un seul joueur stockée de façon compacte : les lancers sont rangés
+ * dans un tableau fixe de 21 octets (nombre maximum de lancers d'une partie),
+ * et le début de chaque tour est repéré par son indice dans ce tableau.
+ * Aucun objet n'est alloué lors de l'enregistrement d'un lancer.
+ * Les règles de validation sont les mêmes que celles de Tour et Lancer.
+ */
+public class PartieMonoJoueurCompacte implements IPartieMonoJoueur {
+
+    private static final CalculateurScoreCompact CALCULATEUR = new CalculateurScoreCompact();
+
+    private final String nomJoueur;
+    private final byte[] lancers = new byte[21];
+    private final byte[] debutsTours = new byte[10];
+    private byte nombreLancers;
+    // Numéro du tour courant [1..10], ou 0 si la partie est terminée
+    private byte numeroTour = 1;
+
+    /**
+     * Constructeur
+     * @param nom le nom du joueur
+     */
+    public PartieMonoJoueurCompacte(String nom) {
+        this.nomJoueur = nom;
+    }
+
+    /**
+     * Constructeur par défaut
+     */
+    public PartieMonoJoueurCompacte() {
+        this("Joueur Inconnu");
+    }
+
+    @Override
+    public void enregistrerLancer(int nombreDeQuillesAbattues) {
+        if (estTerminee()) {
+            throw EvenementsJfr.refuser(0, nombreDeQuillesAbattues, new IllegalStateException("La partie est terminée"));
+        }
+        if (nombreDeQuillesAbattues < 0 || nombreDeQuillesAbattues > 10) {
+            throw EvenementsJfr.refuser(numeroTour, nombreDeQuillesAbattues,
+                    new IllegalArgumentException("Le nombre de quilles abattues doit être entre 0 et 10"));
+        }
+
+        int debut = debutsTours[numeroTour - 1];
+        int boule = nombreLancers - debut;
+        if (boule == 1 && numeroTour < 10 && lancers[debut] + nombreDeQuillesAbattues > 10) {
+            throw EvenementsJfr.refuser(numeroTour, nombreDeQuillesAbattues,
+                    new IllegalArgumentException("Le total des quilles abattues dans ce tour ne peut pas dépasser 10."));
+        }
+
+        lancers[nombreLancers++] = (byte) nombreDeQuillesAbattues;
+
+        if (estTourTermine(debut, nombreLancers - debut)) {
+            if (numeroTour < 10) {
+                debutsTours[numeroTour] = nombreLancers;
+                numeroTour++;
+            } else {
+                numeroTour = 0;
+            }
+        }
+    }
+
+    /**
+     * Applique les règles de fin de tour de Tour.estTermine()
+     * @param debut indice du premier lancer du tour courant
+     * @param nombre nombre de lancers déjà effectués dans ce tour
+     * @return true si le tour courant est terminé
+     */
+    private boolean estTourTermine(int debut, int nombre) {
+        boolean strike = lancers[debut] == 10;
+        if (numeroTour < 10) {
+            return strike || nombre == 2;
+        }
+        if (nombre == 3) {
+            return true;
+        }
+        return nombre == 2 && !strike && lancers[debut] + lancers[debut + 1] != 10;
+    }
+
+    @Override
+    public int score() {
+        return CALCULATEUR.calculerScoreTotal(lancers, 0, nombreLancers);
+    }
+
+    @Override
+    public boolean estTerminee() {
+        return numeroTour == 0;
+    }
+
+    @Override
+    public int getNumeroTourCourant() {
+        return numeroTour;
+    }
+
+    @Override
+    public int getNumeroBouleCourante() {
+        if (estTerminee()) {
+            return 0;
+        }
+        return nombreLancers - debutsTours[numeroTour - 1] + 1;
+    }
+
+    @Override
+    public String getNomJoueur() {
+        return nomJoueur;
+    }
+
+    @Override
+    public int[] getLancers() {
+        int[] copie = new int[nombreLancers];
+        for (int i = 0; i < nombreLancers; i++) {
+            copie[i] = lancers[i];
+        }
+        return copie;
+    }
+
+    @Override
+    public boolean doitRelancer() {
+        return !estTerminee() && nombreLancers > debutsTours[numeroTour - 1];
+    }
+
+    @Override
+    public boolean aTermineSonTour() {
+        return !doitRelancer();
+    }
+}
@@ -1,19 +1,47 @@
 package bowling;
 
-import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Implémentation de l'interface IPartieMultiJoueurs pour gérer une partie de bowling multi-joueurs.
+ * Chaque joueur est aussi désigné par un identifiant entier, son indice dans
+ * l'ordre de jeu : les parties des joueurs sont rangées dans un tableau, et
+ * seule la recherche par nom passe par une table de hachage.
  */
 public class PartieMultiJoueurs implements IPartieMultiJoueurs {
 
-    private Map<String, PartieMonoJoueur> partiesParJoueur;
-    private List<String> nomsDesJoueurs;
+    private final MoteurStockage moteurStockage;
+    private IPartieMonoJoueur[] parties;
+    // Meilleur et pire score final encore possibles de chaque joueur
+    private ProjectionScore[] projections;
+    private String[] nomsDesJoueurs;
+    // Identifiant de chaque nom de joueur (le premier, si plusieurs joueurs ont le même nom)
+    private Map<String, Integer> identifiantsParNom;
+    // Messages déjà construits, par joueur puis par (tour, boule) : cf. messageProchainTir
+    private String[][] messages;
     private int indexJoueurCourant = -1;
+    // Nombre de joueurs dont la partie est terminée : la partie l'est quand il vaut parties.length
+    private int nombreJoueursTermines;
     private boolean partieDemarree = false;
+    private int numeroPiste;
+    private EcouteurScores ecouteur;
+    private Metriques metriques = Metriques.GLOBALES;
+
+    /**
+     * Constructeur : les parties de chaque joueur sont stockées sous forme d'objets Tour
+     */
+    public PartieMultiJoueurs() {
+        this(MoteurStockage.OBJETS);
+    }
+
+    /**
+     * Constructeur
+     * @param moteurStockage le moteur de stockage utilisé pour la partie de chaque joueur
+     */
+    public PartieMultiJoueurs(MoteurStockage moteurStockage) {
+        this.moteurStockage = moteurStockage;
+    }
 
     /**
      * Démarre une nouvelle partie pour un groupe de joueurs.
@@ -23,22 +51,43 @@ public class PartieMultiJoueurs implements IPartieMultiJoueurs {
      */
     @Override
     public String demarreNouvellePartie(String[] nomsDesJoueurs) throws IllegalArgumentException {
+        demarrerPartie(nomsDesJoueurs);
+        return messageProchainTir(EtatProchainTir.coder(0, 1, 1));
+    }
+
+    /**
+     * Démarre une nouvelle partie pour un groupe de joueurs, sans construire de message.
+     * @param nomsDesJoueurs un tableau des noms de joueurs (il faut au moins un joueur)
+     * @return l'identifiant de chaque joueur, à utiliser avec {@link #scorePour(int)}
+     * (c'est aussi son indice dans l'ordre de jeu)
+     * @throws java.lang.IllegalArgumentException si le tableau est vide ou null
+     */
+    public int[] demarrerPartie(String[] nomsDesJoueurs) {
         if (nomsDesJoueurs == null || nomsDesJoueurs.length == 0) {
             throw new IllegalArgumentException("Le tableau de joueurs ne doit pas être vide.");
         }
-        
-        this.nomsDesJoueurs = Arrays.asList(nomsDesJoueurs);
-        this.partiesParJoueur = new LinkedHashMap<>();
-        
-        for (String nom : nomsDesJoueurs) {
-            // Utilisation du constructeur avec nom
-            partiesParJoueur.put(nom, new PartieMonoJoueur(nom)); 
+
+        IPartieMonoJoueur[] nouvelles = new IPartieMonoJoueur[nomsDesJoueurs.length];
+        for (int i = 0; i < nouvelles.length; i++) {
+            nouvelles[i] = moteurStockage.nouvellePartie(nomsDesJoueurs[i]);
         }
-        
-        indexJoueurCourant = 0;
-        partieDemarree = true;
-        
-        return messageProchainTir();
+        installer(nouvelles, 0);
+        EvenementsJfr.DemarragePartie evenement = new EvenementsJfr.DemarragePartie();
+        if (evenement.isEnabled()) {
+            evenement.piste = numeroPiste;
+            evenement.nombreJoueurs = nouvelles.length;
+            evenement.moteur = moteurStockage.name();
+            evenement.commit();
+        }
+        if (ecouteur != null) {
+            ecouteur.partieDemarree(numeroPiste, nomsDesJoueurs.clone());
+        }
+
+        int[] identifiants = new int[nouvelles.length];
+        for (int i = 0; i < identifiants.length; i++) {
+            identifiants[i] = i;
+        }
+        return identifiants;
     }
 
     /**
@@ -50,81 +99,385 @@ public class PartieMultiJoueurs implements IPartieMultiJoueurs {
      */
     @Override
     public String enregistreLancer(int nombreDeQuillesAbattues) throws IllegalStateException {
+        return messageProchainTir(jouerLancer(nombreDeQuillesAbattues));
+    }
+
+    /**
+     * Enregistre le nombre de quilles abattues pour le joueur courant, sans
+     * construire de message ni rien allouer. Le message correspondant peut être
+     * obtenu plus tard, si besoin, avec {@link #messageProchainTir(long)}.
+     * @param nombreDeQuillesAbattues : nombre de quilles abattue à ce lancer
+     * @return l'état du prochain tir, codé par EtatProchainTir
+     * @throws java.lang.IllegalStateException si la partie n'est pas démarrée ou est terminée.
+     * @throws java.lang.IllegalArgumentException si le nombre de quilles est invalide.
+     */
+    public long jouerLancer(int nombreDeQuillesAbattues) {
+        long debut = metriques.lancers.debut();
+        EvenementsJfr.LancerJoue evenement = new EvenementsJfr.LancerJoue();
+        boolean enregistre = evenement.isEnabled() && partieDemarree && !estPartieTerminee();
+        if (enregistre) {
+            IPartieMonoJoueur partieCourante = getPartieCourante();
+            evenement.piste = numeroPiste;
+            evenement.joueur = indexJoueurCourant;
+            evenement.tour = partieCourante.getNumeroTourCourant();
+            evenement.boule = partieCourante.getNumeroBouleCourante();
+            evenement.quilles = nombreDeQuillesAbattues;
+            evenement.begin();
+        }
+        long etat = lancer(nombreDeQuillesAbattues);
+        metriques.lancers.fin(debut);
+        if (enregistre) {
+            evenement.commit();
+        }
+        return etat;
+    }
+
+    private long lancer(int nombreDeQuillesAbattues) {
         if (!partieDemarree) {
-            throw new IllegalStateException("La partie n'a pas été démarrée.");
+            throw EvenementsJfr.refuser(0, nombreDeQuillesAbattues,
+                                        new IllegalStateException("La partie n'a pas été démarrée."));
+        }
+        if (estPartieTerminee()) {
+            throw EvenementsJfr.refuser(0, nombreDeQuillesAbattues, new IllegalStateException("La partie est terminée"));
         }
         
-        PartieMonoJoueur partieCourante = getPartieCourante();
+        IPartieMonoJoueur partieCourante = getPartieCourante();
         
         // Enregistre le lancer dans la partie mono-joueur
         // Note: cela peut lancer IllegalArgumentException si le lancer est invalide.
         partieCourante.enregistrerLancer(nombreDeQuillesAbattues);
-
-        // Si la partie est terminée pour tous les joueurs, on retourne le message de fin.
-        if (estPartieTerminee()) {
-            return "Partie terminée";
+        projections[indexJoueurCourant].ajouterLancer(nombreDeQuillesAbattues);
+        if (ecouteur != null) {
+            ecouteur.scoreModifie(numeroPiste, indexJoueurCourant, partieCourante.score());
         }
-        
-        // LOGIQUE CORRIGÉE : Le joueur change si son tour (frame) est terminé.
-        if (!partieCourante.doitRelancer()) { 
+
+        // Le joueur change si son tour (frame) est terminé.
+        if (partieCourante.aTermineSonTour()) {
+            if (partieCourante.estTerminee() && ++nombreJoueursTermines == parties.length) {
+                return EtatProchainTir.PARTIE_TERMINEE;
+            }
             passerAuJoueurSuivant();
         }
 
-        return messageProchainTir();
+        IPartieMonoJoueur prochaine = getPartieCourante();
+        return EtatProchainTir.coder(indexJoueurCourant,
+                                     prochaine.getNumeroTourCourant(),
+                                     prochaine.getNumeroBouleCourante());
+    }
+
+    /**
+     * Corrige le nombre de quilles d'un lancer déjà enregistré pour un joueur
+     * (cf. PartieMonoJoueur.corrigerLancer). Le score du joueur est transmis à
+     * l'écouteur et sa projection reconstruite. La correction peut terminer ou
+     * rouvrir le tour corrigé, voire la partie du joueur : le joueur qui doit
+     * lancer est recalculé, c'est celui dont le tour est entamé ou, à défaut, le
+     * premier de ceux qui ont joué le moins de tours.
+     * @param identifiantJoueur l'identifiant du joueur (l'indice du joueur dans l'ordre de jeu)
+     * @param indexLancer l'indice du lancer parmi ceux du joueur
+     * @param nombreDeQuillesAbattues le nombre de quilles corrigé
+     * @return l'état du prochain tir, codé par EtatProchainTir
+     * @throws IllegalStateException si la partie n'est pas démarrée, ou si son
+     * moteur de stockage ne permet pas de corriger un lancer (COMPACT)
+     * @throws IllegalArgumentException si l'identifiant ne désigne aucun joueur de
+     * cette partie, ou si la correction est invalide : la partie est alors inchangée
+     */
+    public long corrigerLancer(int identifiantJoueur, int indexLancer, int nombreDeQuillesAbattues) {
+        if (!partieDemarree) {
+            throw new IllegalStateException("La partie n'a pas été démarrée.");
+        }
+        if (identifiantJoueur < 0 || identifiantJoueur >= parties.length) {
+            throw new IllegalArgumentException("Joueur inconnu: n° " + identifiantJoueur);
+        }
+        if (!(parties[identifiantJoueur] instanceof PartieMonoJoueur partie)) {
+            throw new IllegalStateException("Le moteur de stockage " + moteurStockage
+                    + " ne permet pas de corriger un lancer.");
+        }
+
+        partie.corrigerLancer(indexLancer, nombreDeQuillesAbattues);
+        projections[identifiantJoueur] = ProjectionScore.depuis(partie.getLancers());
+        if (ecouteur != null) {
+            ecouteur.scoreModifie(numeroPiste, identifiantJoueur, partie.score());
+        }
+
+        int termines = 0;
+        int prochain = -1;
+        int rangProchain = Integer.MAX_VALUE;
+        for (int i = 0; i < parties.length; i++) {
+            if (parties[i].estTerminee()) {
+                termines++;
+                continue;
+            }
+            // Un tour entamé passe avant tous les autres, puis le tour le moins avancé
+            int rang = (parties[i].getNumeroBouleCourante() > 1 ? 0 : 10) + parties[i].getNumeroTourCourant();
+            if (rang < rangProchain) {
+                prochain = i;
+                rangProchain = rang;
+            }
+        }
+        nombreJoueursTermines = termines;
+        if (prochain < 0) {
+            return EtatProchainTir.PARTIE_TERMINEE;
+        }
+        indexJoueurCourant = prochain;
+        IPartieMonoJoueur prochaine = getPartieCourante();
+        return EtatProchainTir.coder(indexJoueurCourant,
+                                     prochaine.getNumeroTourCourant(),
+                                     prochaine.getNumeroBouleCourante());
+    }
+
+    /**
+     * @return l'indice (dans le tableau passé à demarreNouvellePartie) du joueur qui doit lancer
+     * @throws java.lang.IllegalStateException si la partie n'est pas démarrée.
+     */
+    public int getIndexJoueurCourant() {
+        if (!partieDemarree) {
+            throw new IllegalStateException("La partie n'a pas été démarrée.");
+        }
+        return indexJoueurCourant;
+    }
+
+    /**
+     * @return true si une partie a été démarrée
+     */
+    boolean estDemarree() {
+        return partieDemarree;
+    }
+
+    /**
+     * @return le nombre de joueurs de la partie démarrée
+     */
+    int getNombreJoueurs() {
+        return parties.length;
+    }
+
+    /**
+     * @param index l'indice du joueur, dans l'ordre de démarrage de la partie
+     * @return la partie de ce joueur
+     */
+    IPartieMonoJoueur getPartieJoueur(int index) {
+        return parties[index];
+    }
+
+    /**
+     * Remplace la partie en cours par des parties déjà entamées, par exemple
+     * relues depuis un instantané.
+     * @param parties la partie de chaque joueur, dans l'ordre de jeu
+     * @param indexJoueurCourant l'indice du joueur qui doit lancer
+     * @throws IllegalArgumentException si le tableau est vide ou l'indice hors limites
+     */
+    void restaurer(IPartieMonoJoueur[] parties, int indexJoueurCourant) {
+        if (parties.length == 0) {
+            throw new IllegalArgumentException("Le tableau de joueurs ne doit pas être vide.");
+        }
+        if (indexJoueurCourant < 0 || indexJoueurCourant >= parties.length) {
+            throw new IllegalArgumentException("Indice de joueur invalide : " + indexJoueurCourant);
+        }
+        installer(parties.clone(), indexJoueurCourant);
+        for (int i = 0; i < parties.length; i++) {
+            projections[i] = ProjectionScore.depuis(parties[i].getLancers());
+        }
+        publierEtat();
+    }
+
+    /**
+     * Remplace la partie en cours
+     * @param nouvelles la partie de chaque joueur, dans l'ordre de jeu
+     * @param indexJoueurCourant l'indice du joueur qui doit lancer
+     */
+    private void installer(IPartieMonoJoueur[] nouvelles, int indexJoueurCourant) {
+        String[] noms = new String[nouvelles.length];
+        Map<String, Integer> identifiants = new HashMap<>();
+        String[][] messagesConserves = new String[nouvelles.length][];
+        int termines = 0;
+        for (int i = 0; i < nouvelles.length; i++) {
+            if (nouvelles[i].estTerminee()) {
+                termines++;
+            }
+            noms[i] = nouvelles[i].getNomJoueur();
+            identifiants.putIfAbsent(noms[i], i);
+            // Un joueur qui rejoue à la même place garde ses messages
+            if (nomsDesJoueurs != null && i < nomsDesJoueurs.length && noms[i].equals(nomsDesJoueurs[i])) {
+                messagesConserves[i] = messages[i];
+            }
+        }
+
+        this.parties = nouvelles;
+        this.projections = new ProjectionScore[nouvelles.length];
+        for (int i = 0; i < nouvelles.length; i++) {
+            projections[i] = new ProjectionScore();
+        }
+        this.nomsDesJoueurs = noms;
+        this.identifiantsParNom = identifiants;
+        this.messages = messagesConserves;
+        this.nombreJoueursTermines = termines;
+        this.indexJoueurCourant = indexJoueurCourant;
+        partieDemarree = true;
+    }
+
+    /**
+     * Abonne un écouteur aux changements de score de cette partie, en remplacement
+     * du précédent. Si une partie est en cours, l'écouteur reçoit aussitôt son
+     * démarrage et le score courant de chaque joueur.
+     * @param numeroPiste le numéro de piste transmis à l'écouteur
+     * @param ecouteur l'écouteur, ou null pour n'en avoir aucun
+     */
+    public void setEcouteurScores(int numeroPiste, EcouteurScores ecouteur) {
+        this.numeroPiste = numeroPiste;
+        this.ecouteur = ecouteur;
+        publierEtat();
+    }
+
+    /**
+     * @param metriques les métriques dans lesquelles relever les lancers de cette partie
+     */
+    void setMetriques(Metriques metriques) {
+        this.metriques = metriques;
+    }
+
+    /**
+     * Transmet à l'écouteur l'état complet de la partie en cours
+     */
+    private void publierEtat() {
+        if (ecouteur == null || !partieDemarree) {
+            return;
+        }
+        ecouteur.partieDemarree(numeroPiste, nomsDesJoueurs.clone());
+        for (int i = 0; i < parties.length; i++) {
+            ecouteur.scoreModifie(numeroPiste, i, parties[i].score());
+        }
     }
 
     /**
      * Donne le score pour le joueur playerName
      * @param nomDuJoueur le nom du joueur recherché
-     * @return le score pour ce joueur
+     * @return le score pour ce joueur (le premier de ce nom, si plusieurs joueurs ont le même nom)
      * @throws IllegalArgumentException si nomDuJoueur ne joue pas dans cette partie
+     * @throws IllegalStateException si la partie n'est pas démarrée.
      */
     @Override
     public int scorePour(String nomDuJoueur) throws IllegalArgumentException {
-        PartieMonoJoueur partie = partiesParJoueur.get(nomDuJoueur);
-        if (partie == null) {
+        if (!partieDemarree) {
+            throw new IllegalStateException("La partie n'a pas été démarrée.");
+        }
+        Integer identifiant = identifiantsParNom.get(nomDuJoueur);
+        if (identifiant == null) {
             throw new IllegalArgumentException("Joueur inconnu: " + nomDuJoueur);
         }
-        return partie.score();
+        return parties[identifiant].score();
+    }
+
+    /**
+     * Donne le score d'un joueur désigné par son identifiant, sans recherche par nom
+     * @param identifiantJoueur l'identifiant renvoyé par {@link #demarrerPartie(String[])}
+     * (l'indice du joueur dans l'ordre de jeu)
+     * @return le score pour ce joueur
+     * @throws IllegalArgumentException si l'identifiant ne désigne aucun joueur de cette partie
+     * @throws IllegalStateException si la partie n'est pas démarrée.
+     */
+    public int scorePour(int identifiantJoueur) {
+        if (!partieDemarree) {
+            throw new IllegalStateException("La partie n'a pas été démarrée.");
+        }
+        if (identifiantJoueur < 0 || identifiantJoueur >= parties.length) {
+            throw new IllegalArgumentException("Joueur inconnu: n° " + identifiantJoueur);
+        }
+        return parties[identifiantJoueur].score();
     }
     
     /**
-     * Construit le message d'état du prochain tir.
-     * @return Le message formaté.
+     * @param identifiantJoueur l'identifiant du joueur (l'indice du joueur dans l'ordre de jeu)
+     * @return le plus petit score final encore possible pour ce joueur, c'est-à-dire son score actuel
+     * @throws IllegalArgumentException si l'identifiant ne désigne aucun joueur de cette partie
+     * @throws IllegalStateException si la partie n'est pas démarrée.
+     */
+    public int scoreMinimum(int identifiantJoueur) {
+        return projection(identifiantJoueur).scoreMinimum();
+    }
+
+    /**
+     * @param identifiantJoueur l'identifiant du joueur (l'indice du joueur dans l'ordre de jeu)
+     * @return le plus grand score final encore possible pour ce joueur
+     * @throws IllegalArgumentException si l'identifiant ne désigne aucun joueur de cette partie
+     * @throws IllegalStateException si la partie n'est pas démarrée.
      */
-    private String messageProchainTir() {
-        PartieMonoJoueur partie = getPartieCourante();
-        return String.format("Prochain tir : joueur %s, tour n° %d, boule n° %d",
-                             partie.getNomJoueur(),
-                             partie.getNumeroTourCourant(),
-                             partie.getNumeroBouleCourante());
+    public int scoreMaximum(int identifiantJoueur) {
+        return projection(identifiantJoueur).scoreMaximum();
+    }
+
+    /**
+     * @param identifiantJoueur l'identifiant du joueur
+     * @param identifiantAdversaire l'identifiant de son adversaire
+     * @return true si le joueur peut encore finir avec un score strictement supérieur à celui de l'adversaire
+     * @throws IllegalArgumentException si un identifiant ne désigne aucun joueur de cette partie
+     * @throws IllegalStateException si la partie n'est pas démarrée.
+     */
+    public boolean peutEncoreBattre(int identifiantJoueur, int identifiantAdversaire) {
+        return ProjectionScore.peutEncoreBattre(projection(identifiantJoueur), projection(identifiantAdversaire));
+    }
+
+    private ProjectionScore projection(int identifiantJoueur) {
+        if (!partieDemarree) {
+            throw new IllegalStateException("La partie n'a pas été démarrée.");
+        }
+        if (identifiantJoueur < 0 || identifiantJoueur >= parties.length) {
+            throw new IllegalArgumentException("Joueur inconnu: n° " + identifiantJoueur);
+        }
+        return projections[identifiantJoueur];
+    }
+
+    /**
+     * Donne le message d'état du prochain tir, tel que le renvoie enregistreLancer.
+     * Chaque message n'est construit qu'une fois, à la première demande, puis
+     * réutilisé, y compris dans les parties suivantes si le joueur garde sa place.
+     * @param etat l'état du prochain tir renvoyé par {@link #jouerLancer(int)}
+     * @return Le message formaté, ou "Partie terminée".
+     */
+    public String messageProchainTir(long etat) {
+        // Si la partie est terminée pour tous les joueurs, on retourne le message de fin.
+        if (EtatProchainTir.estPartieTerminee(etat)) {
+            return "Partie terminée";
+        }
+        int indexJoueur = EtatProchainTir.indexJoueur(etat);
+        int numeroTour = EtatProchainTir.numeroTour(etat);
+        int numeroBoule = EtatProchainTir.numeroBoule(etat);
+
+        String[] messagesJoueur = messages[indexJoueur];
+        if (messagesJoueur == null) {
+            messagesJoueur = messages[indexJoueur] = new String[10 * 3];
+        }
+        int indice = (numeroTour - 1) * 3 + numeroBoule - 1;
+        String message = messagesJoueur[indice];
+        if (message == null) {
+            message = messagesJoueur[indice] = String.format("Prochain tir : joueur %s, tour n° %d, boule n° %d",
+                                                             nomsDesJoueurs[indexJoueur], numeroTour, numeroBoule);
+        }
+        return message;
     }
 
     /**
      * Obtient la partie mono-joueur courante.
      * @return La PartieMonoJoueur.
      */
-    private PartieMonoJoueur getPartieCourante() {
-        return partiesParJoueur.get(nomsDesJoueurs.get(indexJoueurCourant));
+    private IPartieMonoJoueur getPartieCourante() {
+        return parties[indexJoueurCourant];
     }
     
     /**
-     * Passe à l'index du joueur suivant.
+     * Passe à l'index du joueur suivant dont la partie n'est pas terminée : une
+     * correction peut rouvrir la partie d'un joueur alors que d'autres ont fini.
+     * Il doit rester au moins un joueur dont la partie n'est pas terminée.
      */
     private void passerAuJoueurSuivant() {
-        indexJoueurCourant = (indexJoueurCourant + 1) % nomsDesJoueurs.size();
+        do {
+            indexJoueurCourant = (indexJoueurCourant + 1) % parties.length;
+        } while (parties[indexJoueurCourant].estTerminee());
     }
     
     /**
-     * Vérifie si tous les joueurs ont terminé leur partie.
+     * Vérifie si tous les joueurs ont terminé leur partie, sans les parcourir.
      * @return true si tous les joueurs ont terminé.
      */
     private boolean estPartieTerminee() {
-        for (PartieMonoJoueur partie : partiesParJoueur.values()) {
-            if (!partie.estTerminee()) {
-                return false;
-            }
-        }
-        return true;
+        return nombreJoueursTermines == parties.length;
     }
 }
@@ -0,0 +1,33 @@
+package bowling;
+
+/**
+ * Enveloppe une partie multi-joueurs pour qu'elle puisse être utilisée par
+ * plusieurs threads : tous les appels sont exécutés un par un, sous le même verrou.
+ */
+public class PartieMultiJoueursSynchronisee implements IPartieMultiJoueurs {
+
+    private final IPartieMultiJoueurs partie;
+
+    /**
+     * Constructeur
+     * @param partie la partie à protéger, qui ne doit plus être utilisée directement
+     */
+    public PartieMultiJoueursSynchronisee(IPartieMultiJoueurs partie) {
+        this.partie = partie;
+    }
+
+    @Override
+    public synchronized String demarreNouvellePartie(String[] nomsDesJoueurs) {
+        return partie.demarreNouvellePartie(nomsDesJoueurs);
+    }
+
+    @Override
+    public synchronized String enregistreLancer(int quillesAbattues) {
+        return partie.enregistreLancer(quillesAbattues);
+    }
+
+    @Override
+    public synchronized int scorePour(String joueur) {
+        return partie.scorePour(joueur);
+    }
+}
@@ -0,0 +1,194 @@
+package bowling;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Une piste pilotée par un unique thread : les commandes (démarrage, lancer,
+ * lecture de score) sont déposées sans verrou dans une file, puis exécutées une
+ * par une, dans leur ordre d'arrivée, par le thread de la piste. Le résultat de
+ * chaque commande est rendu par un CompletableFuture.
+ * La partie n'est jamais touchée par un autre thread que celui de la piste :
+ * elle n'a donc pas besoin d'être protégée.
+ */
+public class PisteActeur implements AutoCloseable {
+
+    private final int numeroPiste;
+    private final PartieMultiJoueurs partie;
+    // File sans verrou : plusieurs producteurs, un seul consommateur
+    private final Queue<Commande<?>> commandes = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean endormi;
+    private volatile boolean arretDemande;
+
+    /**
+     * Constructeur : démarre le thread de la piste
+     * @param numeroPiste le numéro de la piste
+     * @param partie la partie jouée sur cette piste, qui ne doit plus être utilisée directement
+     * @param mode le type de thread qui exécute les commandes
+     */
+    public PisteActeur(int numeroPiste, PartieMultiJoueurs partie, ModeExecution mode) {
+        this.numeroPiste = numeroPiste;
+        this.partie = partie;
+        this.thread = mode.constructeur().name("piste-" + numeroPiste).start(this::boucle);
+    }
+
+    /**
+     * Démarre une nouvelle partie sur la piste
+     * @param nomsDesJoueurs un tableau des noms de joueurs (il faut au moins un joueur)
+     * @return le message indiquant le prochain joueur, ou l'exception levée par PartieMultiJoueurs
+     */
+    public CompletableFuture<String> demarreNouvellePartie(String[] nomsDesJoueurs) {
+        return soumettre(p -> p.demarreNouvellePartie(nomsDesJoueurs));
+    }
+
+    /**
+     * Enregistre le nombre de quilles abattues pour le joueur courant
+     * @param nombreDeQuillesAbattues nombre de quilles abattues à ce lancer
+     * @return le message indiquant le prochain joueur ou "Partie terminée",
+     * ou l'exception levée par PartieMultiJoueurs
+     */
+    public CompletableFuture<String> enregistreLancer(int nombreDeQuillesAbattues) {
+        return soumettre(p -> p.enregistreLancer(nombreDeQuillesAbattues));
+    }
+
+    /**
+     * Donne le score d'un joueur
+     * @param nomDuJoueur le nom du joueur recherché
+     * @return le score pour ce joueur, ou l'exception levée par PartieMultiJoueurs
+     */
+    public CompletableFuture<Integer> scorePour(String nomDuJoueur) {
+        return soumettre(p -> p.scorePour(nomDuJoueur));
+    }
+
+    /**
+     * @return le numéro de la piste
+     */
+    public int getNumeroPiste() {
+        return numeroPiste;
+    }
+
+    /**
+     * Arrête le thread de la piste après l'exécution des commandes déjà déposées
+     */
+    @Override
+    public void close() {
+        arretDemande = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Commandes déposées par un producteur qui n'avait pas encore vu l'arrêt
+        echouerCommandesEnAttente(null);
+    }
+
+    /**
+     * Complète en erreur les commandes restées dans la file, qui ne seront plus exécutées
+     * @param cause l'erreur qui a arrêté le thread de la piste, ou null pour un arrêt normal
+     */
+    private void echouerCommandesEnAttente(Throwable cause) {
+        Commande<?> commande;
+        while ((commande = commandes.poll()) != null) {
+            commande.resultat.completeExceptionally(
+                    new IllegalStateException("La piste " + numeroPiste + " est arrêtée.", cause));
+        }
+    }
+
+    /**
+     * Dépose une action quelconque, exécutée sur le thread de la piste
+     * @param action l'action à exécuter sur la partie
+     * @return le résultat de l'action, ou l'exception qu'elle a levée
+     */
+    <T> CompletableFuture<T> soumettre(Function<PartieMultiJoueurs, T> action) {
+        if (arretDemande) {
+            throw new IllegalStateException("La piste " + numeroPiste + " est arrêtée.");
+        }
+        Commande<T> commande = new Commande<>(action);
+        commandes.offer(commande);
+        if (endormi) {
+            LockSupport.unpark(thread);
+        }
+        // L'arrêt a pu être demandé entre le test ci-dessus et le dépôt, et la file
+        // être déjà vidée par le thread et par close() : si la commande y est
+        // encore, personne ne l'exécutera. Si on ne la retrouve pas, c'est qu'elle
+        // a été prise, et elle sera complétée par celui qui l'a prise.
+        if (arretDemande && commandes.remove(commande)) {
+            commande.resultat.completeExceptionally(
+                    new IllegalStateException("La piste " + numeroPiste + " est arrêtée."));
+        }
+        return commande.resultat;
+    }
+
+    /**
+     * Boucle du thread de la piste : exécute les commandes, s'endort quand la file est vide.
+     * Si une erreur fatale arrête le thread, la piste passe à l'arrêt et les commandes
+     * en attente sont complétées en erreur au lieu de rester sans réponse.
+     */
+    private void boucle() {
+        try {
+            executerCommandes();
+        } catch (Throwable e) {
+            arretDemande = true;
+            echouerCommandesEnAttente(e);
+            throw e;
+        }
+    }
+
+    private void executerCommandes() {
+        while (true) {
+            Commande<?> commande = commandes.poll();
+            if (commande != null) {
+                commande.executer(partie);
+                continue;
+            }
+            if (arretDemande) {
+                // Les commandes déposées pendant l'arrêt sont quand même exécutées
+                while ((commande = commandes.poll()) != null) {
+                    commande.executer(partie);
+                }
+                return;
+            }
+            endormi = true;
+            // On revérifie la file après avoir annoncé qu'on s'endort, sinon un
+            // producteur qui n'a pas vu endormi à true pourrait ne jamais nous réveiller
+            if (commandes.isEmpty() && !arretDemande) {
+                LockSupport.park(this);
+            }
+            endormi = false;
+        }
+    }
+
+    /**
+     * Une commande en attente et le résultat à compléter
+     */
+    private static class Commande<T> {
+
+        private final Function<PartieMultiJoueurs, T> action;
+        private final CompletableFuture<T> resultat = new CompletableFuture<>();
+
+        Commande(Function<PartieMultiJoueurs, T> action) {
+            this.action = action;
+        }
+
+        /**
+         * Exécute l'action et complète le résultat, y compris quand l'action lève une
+         * Error. Une erreur de la JVM (mémoire ou pile épuisée...) est ensuite relancée :
+         * l'état de la partie n'est plus fiable et le thread de la piste doit s'arrêter.
+         */
+        void executer(PartieMultiJoueurs partie) {
+            try {
+                resultat.complete(action.apply(partie));
+            } catch (Throwable e) {
+                resultat.completeExceptionally(e);
+                if (e instanceof VirtualMachineError fatale) {
+                    throw fatale;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package bowling;
+
+/**
+ * Fréquence à laquelle le journal des lancers force l'écriture sur disque (fsync).
+ * Plus elle est élevée, moins on perd de lancers en cas de panne de la machine,
+ * mais plus chaque lancer coûte cher. Un arrêt brutal de la JVM seule ne perd
+ * rien : les pages du fichier projeté en mémoire appartiennent au système.
+ */
+public final class PolitiqueSynchronisation {
+
+    private final int intervalle;
+
+    private PolitiqueSynchronisation(int intervalle) {
+        this.intervalle = intervalle;
+    }
+
+    /**
+     * @return une politique qui laisse le système écrire les pages quand il le souhaite
+     */
+    public static PolitiqueSynchronisation aucune() {
+        return new PolitiqueSynchronisation(0);
+    }
+
+    /**
+     * @return une politique qui force l'écriture après chaque enregistrement
+     */
+    public static PolitiqueSynchronisation chaqueEnregistrement() {
+        return new PolitiqueSynchronisation(1);
+    }
+
+    /**
+     * @param nombreEnregistrements le nombre d'enregistrements entre deux écritures forcées
+     * @return une politique qui force l'écriture tous les nombreEnregistrements enregistrements
+     * @throws IllegalArgumentException si nombreEnregistrements est inférieur à 1
+     */
+    public static PolitiqueSynchronisation tousLes(int nombreEnregistrements) {
+        if (nombreEnregistrements < 1) {
+            throw new IllegalArgumentException("Il faut au moins un enregistrement entre deux synchronisations.");
+        }
+        return new PolitiqueSynchronisation(nombreEnregistrements);
+    }
+
+    /**
+     * @return le nombre d'enregistrements entre deux écritures forcées, ou 0 pour ne jamais forcer
+     */
+    int getIntervalle() {
+        return intervalle;
+    }
+}
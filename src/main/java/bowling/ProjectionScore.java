@@ -0,0 +1,121 @@
+package bowling;
+
+/**
+ * Encadre le score final d'un joueur au fil de ses lancers : le pire cas (tous
+ * les lancers restants à 0, c'est le score de PartieMonoJoueur.score) et le
+ * meilleur cas, compte tenu des quilles restées debout dans le tour courant et
+ * des bonus de strike et de spare en attente.
+ * <p>
+ * L'état du joueur est celui de CalculateurScoreAutomate. Le meilleur score
+ * restant à marquer depuis chacun de ses états est calculé une fois pour toutes,
+ * en remontant de l'état final : un lancer et une question coûtent quelques
+ * opérations, sans rien parcourir.
+ * <p>
+ * Les lancers acceptés sont ceux de Tour : au 10e tour, le nombre de quilles
+ * n'est pas limité par celles restées debout, ce qui est aussi pris en compte
+ * dans le meilleur cas. Abattre toutes les quilles restantes n'est donc pas
+ * toujours le meilleur choix : après un strike au 9e tour, 9 puis 10 rapporte
+ * plus qu'un spare.
+ */
+public final class ProjectionScore {
+
+    /**
+     * MEILLEUR_RESTANT[etat] : le plus grand score qui reste à marquer depuis l'état
+     */
+    private static final short[] MEILLEUR_RESTANT = new short[CalculateurScoreAutomate.ETAT_FINAL + 1];
+
+    static {
+        // Chaque lancer mène à un état d'indice plus grand (tour ou boule suivant)
+        for (int etat = CalculateurScoreAutomate.ETAT_FINAL - 1; etat >= 0; etat--) {
+            int meilleur = 0;
+            for (int quilles = 0; quilles <= CalculateurScoreAutomate.quillesMaximum(etat); quilles++) {
+                int suivant = CalculateurScoreAutomate.suivant(etat, quilles);
+                meilleur = Math.max(meilleur,
+                        quilles * CalculateurScoreAutomate.multiplicateur(etat) + MEILLEUR_RESTANT[suivant]);
+            }
+            MEILLEUR_RESTANT[etat] = (short) meilleur;
+        }
+    }
+
+    private int etat = CalculateurScoreAutomate.ETAT_INITIAL;
+    private int score;
+
+    /**
+     * Constructeur : projection d'une partie qui commence (de 0 à 300)
+     */
+    public ProjectionScore() {
+    }
+
+    /**
+     * Construit la projection d'une partie déjà entamée
+     * @param lancers les quilles abattues à chaque lancer, dans l'ordre
+     * @return la projection après ces lancers
+     * @throws IllegalArgumentException si un lancer est invalide
+     * @throws IllegalStateException si la partie se termine avant le dernier lancer
+     */
+    public static ProjectionScore depuis(int[] lancers) {
+        ProjectionScore projection = new ProjectionScore();
+        for (int quilles : lancers) {
+            projection.ajouterLancer(quilles);
+        }
+        return projection;
+    }
+
+    /**
+     * Prend en compte un lancer
+     * @param quilles le nombre de quilles abattues
+     * @throws IllegalArgumentException si le lancer est invalide
+     * @throws IllegalStateException si la partie est terminée
+     */
+    public void ajouterLancer(int quilles) {
+        int maximum = CalculateurScoreAutomate.quillesMaximum(etat);
+        if (maximum < 0) {
+            throw new IllegalStateException("La partie est terminée");
+        }
+        if (quilles < 0 || quilles > maximum) {
+            throw new IllegalArgumentException("Nombre de quilles invalide : " + quilles);
+        }
+        score += quilles * CalculateurScoreAutomate.multiplicateur(etat);
+        etat = CalculateurScoreAutomate.suivant(etat, quilles);
+    }
+
+    /**
+     * @return le plus petit score final encore possible (tous les lancers restants à 0)
+     */
+    public int scoreMinimum() {
+        return score;
+    }
+
+    /**
+     * @return le plus grand score final encore possible
+     */
+    public int scoreMaximum() {
+        return score + MEILLEUR_RESTANT[etat];
+    }
+
+    /**
+     * @return true si la partie est terminée : le minimum et le maximum sont alors égaux
+     */
+    public boolean estTerminee() {
+        return etat == CalculateurScoreAutomate.ETAT_FINAL;
+    }
+
+    /**
+     * @return l'état de CalculateurScoreAutomate atteint après les lancers pris en compte
+     */
+    int getEtat() {
+        return etat;
+    }
+
+    /**
+     * Les parties des deux joueurs étant indépendantes, le premier peut finir
+     * devant le second si et seulement si son meilleur cas dépasse le pire cas
+     * du second
+     * @param joueur la projection du premier joueur
+     * @param adversaire la projection du second
+     * @return true si joueur peut encore finir avec un score strictement supérieur à celui d'adversaire
+     */
+    public static boolean peutEncoreBattre(ProjectionScore joueur, ProjectionScore adversaire) {
+        return joueur.scoreMaximum() > adversaire.scoreMinimum();
+    }
+}
@@ -0,0 +1,26 @@
+package bowling;
+
+/**
+ * Reçoit les résultats de CalculateurScoreFlux, ligne par ligne.
+ */
+@FunctionalInterface
+public interface RecepteurScores {
+
+    /**
+     * Appelée pour chaque ligne décrivant une partie complète et valide
+     * @param numeroLigne le numéro de la ligne dans le fichier, à partir de 1
+     * @param score le score de la partie
+     */
+    void score(long numeroLigne, int score);
+
+    /**
+     * Appelée pour chaque ligne qui ne décrit pas une partie complète et valide.
+     * Par défaut, la lecture du fichier est interrompue.
+     * @param numeroLigne le numéro de la ligne dans le fichier, à partir de 1
+     * @param raison la description de l'erreur
+     * @throws IllegalArgumentException par défaut
+     */
+    default void ligneInvalide(long numeroLigne, String raison) {
+        throw new IllegalArgumentException("Ligne " + numeroLigne + " : " + raison);
+    }
+}
@@ -0,0 +1,257 @@
+package bowling;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+/**
+ * Serveur des événements de lancer envoyés par les quilleurs automatiques,
+ * avec un protocole binaire compact et une boucle java.nio non bloquante.
+ * <p>
+ * Chaque événement fait 4 octets : numéro de piste (2 octets, non signé),
+ * indice du joueur qui lance (1 octet), nombre de quilles abattues (1 octet).
+ * Chaque événement reçoit une réponse de 6 octets, dans l'ordre d'arrivée :
+ * numéro de piste (2 octets), statut (1 octet, cf. constantes STATUT_*), puis
+ * indice du prochain joueur, numéro du tour et numéro de la boule (1 octet chacun,
+ * 0 si le statut n'est pas STATUT_PROCHAIN_TIR). Tous les entiers sont big-endian.
+ * <p>
+ * Les lancers sont appliqués aux pistes d'un CentreDeBowling. Chaque connexion
+ * possède deux tampons directs, alloués une fois pour toutes : une fois le code
+ * compilé par le JIT, le traitement d'un événement n'alloue aucun objet (sauf
+ * en cas d'erreur).
+ */
+public class ServeurPinsetterNio implements AutoCloseable {
+
+    /**
+     * Taille d'un événement de lancer, en octets
+     */
+    public static final int TAILLE_EVENEMENT = 4;
+
+    /**
+     * Taille d'une réponse, en octets
+     */
+    public static final int TAILLE_REPONSE = 6;
+
+    /**
+     * Le lancer est enregistré, la réponse décrit le prochain tir
+     */
+    public static final byte STATUT_PROCHAIN_TIR = 0;
+
+    /**
+     * Le lancer est enregistré, et c'était le dernier de la partie
+     */
+    public static final byte STATUT_PARTIE_TERMINEE = 1;
+
+    /**
+     * Le lancer est refusé : nombre de quilles invalide ou pas au tour de ce joueur
+     */
+    public static final byte STATUT_LANCER_REFUSE = 2;
+
+    /**
+     * Le lancer est refusé : aucune partie en cours sur la piste
+     */
+    public static final byte STATUT_HORS_PARTIE = 3;
+
+    /**
+     * Le lancer est refusé : la piste n'existe pas dans le centre
+     */
+    public static final byte STATUT_PISTE_INCONNUE = 4;
+
+    private static final int TAILLE_TAMPON = 64 * 1024;
+
+    private final CentreDeBowling centre;
+    private final Selector selecteur;
+    private final ServerSocketChannel canalServeur;
+    // Pistes déjà rencontrées, indexées par numéro : évite la recherche (et le boxing) à chaque événement
+    private final CentreDeBowling.Piste[] pistes = new CentreDeBowling.Piste[1 << 16];
+    private final Consumer<SelectionKey> traitement = this::traiter;
+    private final Thread thread;
+    private volatile boolean arretDemande;
+
+    /**
+     * Constructeur : le serveur écoute aussitôt, sur son propre thread
+     * @param centre le centre auquel les lancers sont appliqués
+     * @param port le port d'écoute, ou 0 pour un port libre quelconque
+     * @throws IOException si le port ne peut pas être ouvert
+     */
+    public ServeurPinsetterNio(CentreDeBowling centre, int port) throws IOException {
+        this.centre = centre;
+        this.selecteur = Selector.open();
+        this.canalServeur = ServerSocketChannel.open();
+        canalServeur.bind(new InetSocketAddress(port));
+        canalServeur.configureBlocking(false);
+        canalServeur.register(selecteur, SelectionKey.OP_ACCEPT);
+        this.thread = Thread.ofPlatform().name("pinsetter-nio").daemon(true).start(this::boucle);
+    }
+
+    /**
+     * @return le port sur lequel le serveur écoute
+     */
+    public int getPort() {
+        return canalServeur.socket().getLocalPort();
+    }
+
+    /**
+     * @return l'identifiant du thread du sélecteur, qui traite tous les événements
+     */
+    long getIdentifiantThread() {
+        return thread.threadId();
+    }
+
+    /**
+     * Arrête le serveur et ferme toutes les connexions
+     */
+    @Override
+    public void close() {
+        arretDemande = true;
+        selecteur.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void boucle() {
+        try (selecteur; canalServeur) {
+            while (!arretDemande) {
+                selecteur.select(traitement);
+            }
+            for (SelectionKey cle : selecteur.keys()) {
+                cle.channel().close();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Arrêt du serveur sur erreur", e);
+        }
+    }
+
+    private void traiter(SelectionKey cle) {
+        try {
+            if (cle.isAcceptable()) {
+                accepter();
+                return;
+            }
+            SocketChannel canal = (SocketChannel) cle.channel();
+            Connexion connexion = (Connexion) cle.attachment();
+            if (cle.isReadable()) {
+                if (canal.read(connexion.entree) < 0) {
+                    cle.cancel();
+                    canal.close();
+                    return;
+                }
+                repondre(cle, canal, connexion);
+            } else if (cle.isWritable()) {
+                // La sortie était pleine : les événements reçus entre-temps attendaient
+                repondre(cle, canal, connexion);
+            }
+        } catch (IOException e) {
+            // Connexion perdue : on l'oublie, les autres continuent
+            cle.cancel();
+            try {
+                cle.channel().close();
+            } catch (IOException ignoree) {
+                // déjà fermée
+            }
+        }
+    }
+
+    private void accepter() throws IOException {
+        SocketChannel canal = canalServeur.accept();
+        if (canal != null) {
+            canal.configureBlocking(false);
+            canal.register(selecteur, SelectionKey.OP_READ, new Connexion());
+        }
+    }
+
+    /**
+     * Applique les événements complets reçus et envoie leurs réponses, jusqu'à ce
+     * qu'il ne reste plus d'événement complet ou que la sortie ne puisse plus être
+     * vidée : la clé reste alors en écriture, et la suite est traitée quand le
+     * client aura lu ses réponses. Sans cela, les événements restés dans l'entrée
+     * quand la sortie était pleine attendraient que le client envoie autre chose.
+     */
+    private void repondre(SelectionKey cle, SocketChannel canal, Connexion connexion) throws IOException {
+        do {
+            appliquerEvenements(connexion);
+            if (!vider(cle, canal, connexion)) {
+                return;
+            }
+        } while (connexion.entree.position() >= TAILLE_EVENEMENT);
+    }
+
+    /**
+     * Applique tous les événements complets reçus, tant qu'il y a de la place pour les réponses
+     */
+    private void appliquerEvenements(Connexion connexion) {
+        ByteBuffer entree = connexion.entree;
+        ByteBuffer sortie = connexion.sortie;
+        entree.flip();
+        while (entree.remaining() >= TAILLE_EVENEMENT && sortie.remaining() >= TAILLE_REPONSE) {
+            appliquer(entree, sortie);
+        }
+        entree.compact();
+    }
+
+    private void appliquer(ByteBuffer entree, ByteBuffer sortie) {
+        int numeroPiste = entree.getShort() & 0xFFFF;
+        int indexJoueur = entree.get() & 0xFF;
+        int quilles = entree.get() & 0xFF;
+        sortie.putShort((short) numeroPiste);
+
+        CentreDeBowling.Piste piste = pistes[numeroPiste];
+        if (piste == null) {
+            try {
+                piste = centre.getPiste(numeroPiste);
+                pistes[numeroPiste] = piste;
+            } catch (IllegalArgumentException e) {
+                sortie.put(STATUT_PISTE_INCONNUE).put((byte) 0).put((byte) 0).put((byte) 0);
+                return;
+            }
+        }
+
+        try {
+            long etat = centre.enregistreLancer(piste, indexJoueur, quilles);
+            if (EtatProchainTir.estPartieTerminee(etat)) {
+                sortie.put(STATUT_PARTIE_TERMINEE).put((byte) 0).put((byte) 0).put((byte) 0);
+            } else {
+                sortie.put(STATUT_PROCHAIN_TIR)
+                      .put((byte) EtatProchainTir.indexJoueur(etat))
+                      .put((byte) EtatProchainTir.numeroTour(etat))
+                      .put((byte) EtatProchainTir.numeroBoule(etat));
+            }
+        } catch (IllegalArgumentException e) {
+            sortie.put(STATUT_LANCER_REFUSE).put((byte) 0).put((byte) 0).put((byte) 0);
+        } catch (IllegalStateException e) {
+            sortie.put(STATUT_HORS_PARTIE).put((byte) 0).put((byte) 0).put((byte) 0);
+        }
+    }
+
+    /**
+     * Envoie les réponses en attente ; si le client ne les lit pas assez vite,
+     * on attend de pouvoir écrire avant de lire de nouveaux événements.
+     * @return true si toutes les réponses ont été envoyées
+     */
+    private static boolean vider(SelectionKey cle, SocketChannel canal, Connexion connexion) throws IOException {
+        ByteBuffer sortie = connexion.sortie;
+        sortie.flip();
+        canal.write(sortie);
+        sortie.compact();
+        boolean vide = sortie.position() == 0;
+        cle.interestOps(vide ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+        return vide;
+    }
+
+    /**
+     * Tampons d'une connexion, réutilisés pour tous ses événements
+     */
+    private static class Connexion {
+
+        private final ByteBuffer entree = ByteBuffer.allocateDirect(TAILLE_TAMPON);
+        private final ByteBuffer sortie = ByteBuffer.allocateDirect(TAILLE_TAMPON);
+    }
+}
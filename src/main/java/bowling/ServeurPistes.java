@@ -0,0 +1,152 @@
+package bowling;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Petit serveur HTTP embarqué (sans dépendance externe) qui expose les pistes
+ * d'un CentreDeBowling aux terminaux des quilleurs :
+ * <ul>
+ * <li>POST /pistes/{n}/partie : démarre une partie, un nom de joueur par ligne dans le corps</li>
+ * <li>POST /pistes/{n}/lancer : enregistre un lancer, le nombre de quilles dans le corps</li>
+ * <li>GET /pistes/{n}/score?joueur=nom : donne le score d'un joueur</li>
+ * </ul>
+ * La réponse est le texte renvoyé par CentreDeBowling. Une requête invalide
+ * donne une erreur 400, un lancer dans une partie terminée ou non démarrée une erreur 409.
+ * Chaque requête est traitée par son propre thread virtuel : des milliers de
+ * terminaux peuvent être connectés en même temps.
+ */
+public class ServeurPistes implements AutoCloseable {
+
+    private static final String PREFIXE = "/pistes/";
+
+    private final CentreDeBowling centre;
+    private final HttpServer serveur;
+    private final ExecutorService executeur;
+
+    /**
+     * Constructeur : le serveur écoute aussitôt
+     * @param centre le centre dont les pistes sont exposées
+     * @param port le port d'écoute, ou 0 pour un port libre quelconque
+     * @throws IOException si le port ne peut pas être ouvert
+     */
+    public ServeurPistes(CentreDeBowling centre, int port) throws IOException {
+        this.centre = centre;
+        this.executeur = Executors.newVirtualThreadPerTaskExecutor();
+        this.serveur = HttpServer.create(new InetSocketAddress(port), 0);
+        serveur.createContext(PREFIXE, this::traiter);
+        serveur.setExecutor(executeur);
+        serveur.start();
+    }
+
+    /**
+     * @return le port sur lequel le serveur écoute
+     */
+    public int getPort() {
+        return serveur.getAddress().getPort();
+    }
+
+    /**
+     * Arrête le serveur sans attendre les échanges en cours
+     */
+    @Override
+    public void close() {
+        serveur.stop(0);
+        executeur.shutdown();
+    }
+
+    private void traiter(HttpExchange echange) throws IOException {
+        try (echange) {
+            // /pistes/{n}/{action}
+            String[] chemin = echange.getRequestURI().getPath().substring(PREFIXE.length()).split("/");
+            if (chemin.length != 2) {
+                repondre(echange, 404, "Ressource inconnue");
+                return;
+            }
+            int numeroPiste;
+            try {
+                numeroPiste = Integer.parseInt(chemin[0]);
+            } catch (NumberFormatException e) {
+                repondre(echange, 404, "Piste inconnue : " + chemin[0]);
+                return;
+            }
+
+            String methode = echange.getRequestMethod();
+            try {
+                switch (chemin[1]) {
+                    case "partie" -> {
+                        if (verifierMethode(echange, methode, "POST")) {
+                            String[] joueurs = lireCorps(echange).strip().split("\\R");
+                            repondre(echange, 200, centre.demarreNouvellePartie(numeroPiste, joueurs));
+                        }
+                    }
+                    case "lancer" -> {
+                        if (verifierMethode(echange, methode, "POST")) {
+                            int quilles = Integer.parseInt(lireCorps(echange).strip());
+                            repondre(echange, 200, centre.enregistreLancer(numeroPiste, quilles));
+                        }
+                    }
+                    case "score" -> {
+                        if (verifierMethode(echange, methode, "GET")) {
+                            String joueur = parametre(echange, "joueur");
+                            repondre(echange, 200, Integer.toString(centre.scorePour(numeroPiste, joueur)));
+                        }
+                    }
+                    default -> repondre(echange, 404, "Ressource inconnue");
+                }
+            } catch (IllegalArgumentException e) {
+                // NumberFormatException comprise
+                repondre(echange, 400, e.getMessage());
+            } catch (IllegalStateException e) {
+                repondre(echange, 409, e.getMessage());
+            }
+        }
+    }
+
+    private static boolean verifierMethode(HttpExchange echange, String methode, String attendue) throws IOException {
+        if (!attendue.equals(methode)) {
+            echange.getResponseHeaders().set("Allow", attendue);
+            repondre(echange, 405, "Méthode attendue : " + attendue);
+            return false;
+        }
+        return true;
+    }
+
+    private static String lireCorps(HttpExchange echange) throws IOException {
+        try (InputStream corps = echange.getRequestBody()) {
+            return new String(corps.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String parametre(HttpExchange echange, String nom) {
+        String requete = echange.getRequestURI().getRawQuery();
+        if (requete != null) {
+            for (String paire : requete.split("&")) {
+                int egal = paire.indexOf('=');
+                if (egal > 0 && paire.substring(0, egal).equals(nom)) {
+                    return URLDecoder.decode(paire.substring(egal + 1), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Paramètre manquant : " + nom);
+    }
+
+    private static void repondre(HttpExchange echange, int statut, String texte) throws IOException {
+        byte[] corps = texte == null ? new byte[0] : texte.getBytes(StandardCharsets.UTF_8);
+        echange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        echange.sendResponseHeaders(statut, corps.length == 0 ? -1 : corps.length);
+        if (corps.length > 0) {
+            try (OutputStream sortie = echange.getResponseBody()) {
+                sortie.write(corps);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package bowling;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Simule un très grand nombre de parties (méthode de Monte-Carlo), chaque
+ * joueur tirant ses lancers selon son ModeleJoueur, pour obtenir la distribution
+ * de ses scores (StatistiquesScores : histogramme, moyenne, quantiles).
+ * <p>
+ * Une partie est jouée tour par tour avec les règles de PartieMonoJoueur et
+ * Tour : la 2e boule d'un tour est tirée parmi les quilles restées debout, et
+ * au 10e tour toutes les quilles sont relevées après un strike ou un spare.
+ * Le score est compté au fil des lancers, sans repasser sur la partie : aucune
+ * allocation par lancer ni par partie.
+ * <p>
+ * Les parties sont réparties en blocs de TAILLE_BLOC parties d'un même joueur,
+ * simulés en parallèle (flux parallèle sur le pool commun). Chaque bloc a son
+ * propre SplittableRandom, obtenu par split() depuis la graine avant le calcul :
+ * pour une même graine, le résultat ne dépend ni du nombre de threads ni de
+ * l'ordre d'exécution des blocs.
+ */
+public final class SimulateurParties {
+
+    /**
+     * Nombre de parties par bloc simulé par un thread
+     */
+    static final int TAILLE_BLOC = 1 << 16;
+
+    /**
+     * Nombre maximum de lancers d'une partie (dont 3 au 10e tour)
+     */
+    static final int LANCERS_MAX = 21;
+
+    /**
+     * Simule les parties d'un joueur
+     * @param modele le modèle du joueur
+     * @param nombreParties le nombre de parties à simuler
+     * @param graine la graine du générateur aléatoire
+     * @return les statistiques des scores des parties simulées
+     * @throws IllegalArgumentException si nombreParties est négatif
+     */
+    public StatistiquesScores simuler(ModeleJoueur modele, long nombreParties, long graine) {
+        return simuler(new ModeleJoueur[]{modele}, nombreParties, graine)[0];
+    }
+
+    /**
+     * Simule le même nombre de parties pour chaque joueur, par exemple une saison
+     * @param joueurs le modèle de chaque joueur
+     * @param partiesParJoueur le nombre de parties à simuler pour chaque joueur
+     * @param graine la graine du générateur aléatoire
+     * @return les statistiques des scores de chaque joueur, dans l'ordre de joueurs
+     * @throws IllegalArgumentException si partiesParJoueur est négatif
+     */
+    public StatistiquesScores[] simuler(ModeleJoueur[] joueurs, long partiesParJoueur, long graine) {
+        if (partiesParJoueur < 0) {
+            throw new IllegalArgumentException("Nombre de parties invalide : " + partiesParJoueur);
+        }
+        int blocsParJoueur = Math.toIntExact((partiesParJoueur + TAILLE_BLOC - 1) / TAILLE_BLOC);
+        SplittableRandom[] hasards = new SplittableRandom[Math.multiplyExact(joueurs.length, blocsParJoueur)];
+        SplittableRandom racine = new SplittableRandom(graine);
+        for (int bloc = 0; bloc < hasards.length; bloc++) {
+            hasards[bloc] = racine.split();
+        }
+        return IntStream.range(0, hasards.length).parallel().collect(
+                () -> nouvellesStatistiques(joueurs.length),
+                (statistiques, bloc) -> {
+                    int joueur = bloc / blocsParJoueur;
+                    long debut = (long) (bloc % blocsParJoueur) * TAILLE_BLOC;
+                    int taille = (int) Math.min(TAILLE_BLOC, partiesParJoueur - debut);
+                    simulerBloc(joueurs[joueur], taille, hasards[bloc], statistiques[joueur]);
+                },
+                (statistiques, autres) -> {
+                    for (int joueur = 0; joueur < statistiques.length; joueur++) {
+                        statistiques[joueur].fusionner(autres[joueur]);
+                    }
+                });
+    }
+
+    private static void simulerBloc(ModeleJoueur modele, int nombreParties, SplittableRandom hasard,
+                                    StatistiquesScores statistiques) {
+        int[] lancers = new int[LANCERS_MAX];
+        for (int partie = 0; partie < nombreParties; partie++) {
+            statistiques.ajouter(jouerPartie(modele, hasard, lancers));
+        }
+    }
+
+    /**
+     * Joue une partie complète en comptant son score au fil des lancers, comme
+     * CalculateurScoreIncremental : chaque lancer compte une fois, plus une fois
+     * par bonus en attente sur lui
+     * @param modele le modèle du joueur
+     * @param hasard le générateur du thread appelant
+     * @param lancers reçoit les quilles abattues à chaque lancer (au moins LANCERS_MAX cases)
+     * @return le score total de la partie
+     */
+    static int jouerPartie(ModeleJoueur modele, SplittableRandom hasard, int[] lancers) {
+        int n = 0;
+        int score = 0;
+        // Nombre de bonus portant sur le prochain lancer [0..2] et sur celui d'après [0..1]
+        int bonusSuivant = 0;
+        int bonusApres = 0;
+        for (int tour = 1; tour < 10; tour++) {
+            int premiere = modele.premiereBoule(hasard);
+            lancers[n++] = premiere;
+            score += premiere * (1 + bonusSuivant);
+            if (premiere == 10) {
+                bonusSuivant = bonusApres + 1;
+                bonusApres = 1;
+            } else {
+                int seconde = modele.secondeBoule(premiere, hasard);
+                lancers[n++] = seconde;
+                score += seconde * (1 + bonusApres);
+                bonusSuivant = premiere + seconde == 10 ? 1 : 0;
+                bonusApres = 0;
+            }
+        }
+        // 10e tour : les quilles sont relevées après un strike ou un spare, et les lancers
+        // supplémentaires ne comptent que pour les bonus
+        int premiere = modele.premiereBoule(hasard);
+        lancers[n++] = premiere;
+        score += premiere * (1 + bonusSuivant);
+        int seconde = premiere == 10 ? modele.premiereBoule(hasard) : modele.secondeBoule(premiere, hasard);
+        lancers[n++] = seconde;
+        score += seconde * (1 + bonusApres);
+        if (premiere == 10) {
+            int troisieme = seconde == 10 ? modele.premiereBoule(hasard) : modele.secondeBoule(seconde, hasard);
+            lancers[n] = troisieme;
+            score += troisieme;
+        } else if (premiere + seconde == 10) {
+            int troisieme = modele.premiereBoule(hasard);
+            lancers[n] = troisieme;
+            score += troisieme;
+        }
+        return score;
+    }
+
+    private static StatistiquesScores[] nouvellesStatistiques(int nombreJoueurs) {
+        StatistiquesScores[] statistiques = new StatistiquesScores[nombreJoueurs];
+        for (int joueur = 0; joueur < nombreJoueurs; joueur++) {
+            statistiques[joueur] = new StatistiquesScores();
+        }
+        return statistiques;
+    }
+}
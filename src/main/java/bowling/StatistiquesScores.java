@@ -0,0 +1,128 @@
+package bowling;
+
+import java.util.Arrays;
+
+/**
+ * Statistiques sur les scores d'un ensemble de parties : nombre de parties,
+ * total, moyenne, extrêmes et histogramme des scores (0 à 300).
+ * Cet objet n'est pas partagé entre threads : chaque tâche remplit le sien,
+ * puis les résultats sont fusionnés.
+ */
+public class StatistiquesScores {
+
+    /**
+     * Score maximum d'une partie (jeu parfait)
+     */
+    public static final int SCORE_MAX = 300;
+
+    private final long[] histogramme = new long[SCORE_MAX + 1];
+    private long nombreParties;
+    private long sommeScores;
+    private int scoreMin = Integer.MAX_VALUE;
+    private int scoreMax = Integer.MIN_VALUE;
+
+    /**
+     * Prend en compte le score d'une partie
+     * @param score le score total de la partie [0..300]
+     */
+    public void ajouter(int score) {
+        histogramme[score]++;
+        nombreParties++;
+        sommeScores += score;
+        scoreMin = Math.min(scoreMin, score);
+        scoreMax = Math.max(scoreMax, score);
+    }
+
+    /**
+     * Ajoute à ces statistiques celles d'un autre ensemble de parties
+     * @param autres les statistiques à ajouter
+     */
+    public void fusionner(StatistiquesScores autres) {
+        for (int score = 0; score <= SCORE_MAX; score++) {
+            histogramme[score] += autres.histogramme[score];
+        }
+        nombreParties += autres.nombreParties;
+        sommeScores += autres.sommeScores;
+        scoreMin = Math.min(scoreMin, autres.scoreMin);
+        scoreMax = Math.max(scoreMax, autres.scoreMax);
+    }
+
+    /**
+     * @return le nombre de parties
+     */
+    public long getNombreParties() {
+        return nombreParties;
+    }
+
+    /**
+     * @return la somme des scores de toutes les parties
+     */
+    public long getSommeScores() {
+        return sommeScores;
+    }
+
+    /**
+     * @return le score moyen, ou 0 s'il n'y a aucune partie
+     */
+    public double getMoyenne() {
+        return nombreParties == 0 ? 0 : (double) sommeScores / nombreParties;
+    }
+
+    /**
+     * @return le plus petit score
+     * @throws IllegalStateException s'il n'y a aucune partie
+     */
+    public int getScoreMin() {
+        verifierNonVide();
+        return scoreMin;
+    }
+
+    /**
+     * @return le plus grand score
+     * @throws IllegalStateException s'il n'y a aucune partie
+     */
+    public int getScoreMax() {
+        verifierNonVide();
+        return scoreMax;
+    }
+
+    /**
+     * @param score un score [0..300]
+     * @return le nombre de parties ayant obtenu ce score
+     */
+    public long getNombrePartiesAvecScore(int score) {
+        return histogramme[score];
+    }
+
+    /**
+     * @return une copie de l'histogramme : l'indice est le score, la valeur le nombre de parties
+     */
+    public long[] getHistogramme() {
+        return Arrays.copyOf(histogramme, histogramme.length);
+    }
+
+    /**
+     * Donne un quantile des scores (exact : l'histogramme a une case par score)
+     * @param fraction la part des parties dont le score doit être inférieur ou égal au résultat, de 0 à 1
+     * @return le plus petit score dont au moins cette part des parties ne dépasse pas
+     * @throws IllegalStateException s'il n'y a aucune partie
+     */
+    public int quantile(double fraction) {
+        verifierNonVide();
+        long rang = Math.max(1, (long) Math.ceil(fraction * nombreParties));
+        long cumul = 0;
+        for (int score = 0; score < SCORE_MAX; score++) {
+            cumul += histogramme[score];
+            if (cumul >= rang) {
+                return score;
+            }
+        }
+        return SCORE_MAX;
+    }
+
+    private void verifierNonVide() {
+        if (nombreParties == 0) {
+            throw new IllegalStateException("Aucune partie n'a été comptée.");
+        }
+    }
+}
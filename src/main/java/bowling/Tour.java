@@ -31,17 +31,48 @@ public class Tour {
      * @throws IllegalStateException si le tour est déjà terminé.
      */
     public boolean ajouterLancer(Lancer lancer) {
+        RuntimeException refus = refus(lancer);
+        if (refus != null) {
+            throw EvenementsJfr.refuser(numeroTour, lancer.getQuillesAbattues(), refus);
+        }
+        return ajouter(lancer);
+    }
+
+    /**
+     * Ajoute au tour un lancer déjà joué, par exemple pour revalider les tours
+     * après la correction d'un lancer : un refus n'émet pas d'événement
+     * LancerRefuse, puisque ce lancer n'est pas joué maintenant.
+     * @param lancer le lancer à ajouter
+     * @return true si le joueur doit lancer à nouveau pour ce tour, false sinon.
+     * @throws IllegalStateException si le tour est déjà terminé.
+     * @throws IllegalArgumentException si le lancer dépasse les quilles debout.
+     */
+    boolean ajouterLancerJoue(Lancer lancer) {
+        RuntimeException refus = refus(lancer);
+        if (refus != null) {
+            throw refus;
+        }
+        return ajouter(lancer);
+    }
+
+    /**
+     * @return l'exception qui refuse le lancer, ou null s'il peut être ajouté
+     */
+    private RuntimeException refus(Lancer lancer) {
         if (estTermine()) {
-            throw new IllegalStateException("Le tour est déjà terminé.");
+            return new IllegalStateException("Le tour est déjà terminé.");
         }
         
         // La règle du bowling veut qu'on ne puisse pas dépasser 10 quilles entre le 1er et le 2e lancer
         if (lancers.size() == 1 && !estDernierTour) {
             if (lancers.get(0).getQuillesAbattues() + lancer.getQuillesAbattues() > 10) {
-                 throw new IllegalArgumentException("Le total des quilles abattues dans ce tour ne peut pas dépasser 10.");
+                return new IllegalArgumentException("Le total des quilles abattues dans ce tour ne peut pas dépasser 10.");
             }
         }
-        
+        return null;
+    }
+
+    private boolean ajouter(Lancer lancer) {
         lancers.add(lancer);
 
         // Si le tour est terminé après ce lancer, la réponse est false (ne doit PAS relancer)
@@ -121,6 +152,15 @@ public class Tour {
         return new ArrayList<>(lancers);
     }
 
+    /**
+     * Accès à un lancer sans copier la liste des lancers
+     * @param indexLancer l'indice du lancer dans ce tour [0..getNombreLancers()-1]
+     * @return le nombre de quilles abattues lors de ce lancer
+     */
+    public int getQuillesLancer(int indexLancer) {
+        return lancers.get(indexLancer).getQuillesAbattues();
+    }
+
     /**
      * @return le numéro de ce tour
      */
@@ -0,0 +1,273 @@
+package bowling;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tournoi simulé : les joueurs sont répartis en équipes (dans l'ordre de la
+ * liste, par blocs de tailleEquipe), et chaque équipe joue une série de
+ * nombreParties parties sur une piste, avec une PartieMultiJoueurs. Les lancers
+ * de chaque joueur sont tirés selon son ModeleJoueur.
+ * <p>
+ * Les équipes sont jouées en parallèle sur un ForkJoinPool : la liste des
+ * équipes est découpée récursivement, et les threads inoccupés volent les
+ * moitiés restantes des autres. Une équipe prend une piste libre au moment de
+ * commencer et la rend à la fin de sa série. Le pool n'a pas plus de threads
+ * que de pistes, mais il peut en ajouter pour compenser un thread bloqué : une
+ * équipe qui ne trouve pas de piste libre attend qu'une autre rende la sienne,
+ * en le signalant au pool (ForkJoinPool.managedBlock).
+ * <p>
+ * Après chaque partie, la série en cours de chaque joueur de l'équipe est
+ * proposée à la LigneDeCoupe de ce stade (après 1, 2, ... parties) : les
+ * lignes de coupe sont connues pendant le tournoi, sans rien retrier. Chaque
+ * équipe a son propre SplittableRandom, tiré de la graine avant le début : le
+ * résultat d'une graine ne dépend ni du nombre de pistes ni de l'ordre de jeu.
+ */
+public final class Tournoi implements AutoCloseable {
+
+    private final String[] joueurs;
+    private final ModeleJoueur[] modeles;
+    private final int tailleEquipe;
+    private final int nombreParties;
+    private final ForkJoinPool pool;
+    private final BlockingQueue<Integer> pistesLibres = new LinkedBlockingQueue<>();
+    // Série de chaque joueur, écrite par le thread de son équipe
+    private final int[] series;
+    // Piste sur laquelle chaque équipe a joué
+    private final int[] pistes;
+    // lignesDeCoupe[k] : qualification après k + 1 parties
+    private final LigneDeCoupe[] lignesDeCoupe;
+    private final AtomicInteger nombreEquipesTerminees = new AtomicInteger();
+    private boolean joue;
+
+    /**
+     * Constructeur
+     * @param joueurs les noms des joueurs
+     * @param modeles le modèle de jeu de chaque joueur, dans le même ordre
+     * @param tailleEquipe le nombre de joueurs par équipe (la dernière peut être incomplète)
+     * @param nombreParties le nombre de parties de la série de chaque joueur
+     * @param nombrePistes le nombre de pistes du centre
+     * @param places le nombre de joueurs qualifiés à chaque ligne de coupe
+     * @throws IllegalArgumentException si un paramètre est incohérent
+     */
+    public Tournoi(String[] joueurs, ModeleJoueur[] modeles, int tailleEquipe, int nombreParties,
+                   int nombrePistes, int places) {
+        this(joueurs, modeles, tailleEquipe, nombreParties, nombrePistes, places,
+             Math.min(nombrePistes, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructeur, avec le nombre de threads du pool
+     * @param parallelisme le nombre de threads du pool, qui peut dépasser le nombre de pistes
+     */
+    Tournoi(String[] joueurs, ModeleJoueur[] modeles, int tailleEquipe, int nombreParties,
+            int nombrePistes, int places, int parallelisme) {
+        if (joueurs.length == 0 || joueurs.length != modeles.length) {
+            throw new IllegalArgumentException("Il faut un modèle pour chaque joueur, et au moins un joueur.");
+        }
+        if (tailleEquipe < 1 || nombreParties < 1 || nombrePistes < 1) {
+            throw new IllegalArgumentException("Taille d'équipe, nombre de parties et de pistes doivent être positifs.");
+        }
+        this.joueurs = joueurs.clone();
+        this.modeles = modeles.clone();
+        this.tailleEquipe = tailleEquipe;
+        this.nombreParties = nombreParties;
+        this.series = new int[joueurs.length];
+        this.pistes = new int[(joueurs.length + tailleEquipe - 1) / tailleEquipe];
+        this.lignesDeCoupe = new LigneDeCoupe[nombreParties];
+        for (int k = 0; k < nombreParties; k++) {
+            lignesDeCoupe[k] = new LigneDeCoupe(places);
+        }
+        for (int piste = 0; piste < nombrePistes; piste++) {
+            pistesLibres.add(piste);
+        }
+        this.pool = new ForkJoinPool(parallelisme);
+    }
+
+    /**
+     * Joue tout le tournoi, et rend la main quand toutes les équipes ont fini
+     * @param graine la graine du générateur aléatoire
+     * @throws IllegalStateException si le tournoi a déjà été joué
+     */
+    public void jouer(long graine) {
+        if (joue) {
+            throw new IllegalStateException("Le tournoi a déjà été joué.");
+        }
+        joue = true;
+        SplittableRandom racine = new SplittableRandom(graine);
+        SplittableRandom[] hasards = new SplittableRandom[pistes.length];
+        for (int equipe = 0; equipe < hasards.length; equipe++) {
+            hasards[equipe] = racine.split();
+        }
+        pool.invoke(new TacheEquipes(hasards, 0, pistes.length));
+    }
+
+    /**
+     * Joue la série d'une équipe sur une piste libre
+     */
+    private void jouerEquipe(int equipe, SplittableRandom hasard) {
+        int premier = equipe * tailleEquipe;
+        String[] noms = Arrays.copyOfRange(joueurs, premier, Math.min(premier + tailleEquipe, joueurs.length));
+        int[] serie = new int[noms.length];
+        // Quilles debout devant chaque joueur (relevées au début de chaque tour, et au 10e tour après un strike ou un spare)
+        int[] debout = new int[noms.length];
+        PartieMultiJoueurs partie = new PartieMultiJoueurs(MoteurStockage.COMPACT);
+        int piste = prendrePiste();
+        try {
+            pistes[equipe] = piste;
+            partie.setEcouteurScores(piste, null);
+            for (int numero = 0; numero < nombreParties; numero++) {
+                partie.demarrerPartie(noms);
+                long etat = EtatProchainTir.coder(0, 1, 1);
+                while (!EtatProchainTir.estPartieTerminee(etat)) {
+                    int j = EtatProchainTir.indexJoueur(etat);
+                    if (EtatProchainTir.numeroBoule(etat) == 1) {
+                        debout[j] = 10;
+                    }
+                    ModeleJoueur modele = modeles[premier + j];
+                    int quilles = debout[j] == 10
+                            ? modele.premiereBoule(hasard)
+                            : modele.secondeBoule(10 - debout[j], hasard);
+                    debout[j] = quilles == debout[j] ? 10 : debout[j] - quilles;
+                    etat = partie.jouerLancer(quilles);
+                }
+                for (int j = 0; j < noms.length; j++) {
+                    serie[j] += partie.scorePour(j);
+                    lignesDeCoupe[numero].proposer(premier + j, serie[j]);
+                }
+            }
+            System.arraycopy(serie, 0, series, premier, serie.length);
+        } finally {
+            pistesLibres.add(piste);
+        }
+        nombreEquipesTerminees.incrementAndGet();
+    }
+
+    /**
+     * Prend une piste libre, en attendant au besoin qu'une équipe rende la sienne
+     * @throws IllegalStateException si le thread est interrompu pendant l'attente
+     */
+    private int prendrePiste() {
+        PriseDePiste prise = new PriseDePiste();
+        try {
+            ForkJoinPool.managedBlock(prise);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Attente d'une piste libre interrompue", e);
+        }
+        return prise.piste;
+    }
+
+    /**
+     * @param joueur l'indice du joueur dans la liste
+     * @return la série du joueur, une fois son équipe terminée (0 avant)
+     */
+    public int getSerie(int joueur) {
+        return series[joueur];
+    }
+
+    /**
+     * @param equipe le numéro de l'équipe
+     * @return la piste sur laquelle l'équipe a joué
+     */
+    public int getPiste(int equipe) {
+        return pistes[equipe];
+    }
+
+    /**
+     * @param nombrePartiesJouees le stade de la qualification [1..nombreParties]
+     * @return la ligne de coupe des séries après ce nombre de parties
+     */
+    public LigneDeCoupe getLigneDeCoupe(int nombrePartiesJouees) {
+        return lignesDeCoupe[nombrePartiesJouees - 1];
+    }
+
+    /**
+     * @return les qualifiés sur la série complète, du meilleur au dernier
+     */
+    public int[] qualifies() {
+        return lignesDeCoupe[nombreParties - 1].qualifies();
+    }
+
+    /**
+     * @param joueur l'indice du joueur dans la liste
+     * @return le nom du joueur
+     */
+    public String getNom(int joueur) {
+        return joueurs[joueur];
+    }
+
+    /**
+     * @return le nombre d'équipes
+     */
+    public int getNombreEquipes() {
+        return pistes.length;
+    }
+
+    /**
+     * @return le nombre d'équipes qui ont fini leur série
+     */
+    public int getNombreEquipesTerminees() {
+        return nombreEquipesTerminees.get();
+    }
+
+    /**
+     * Arrête les threads du tournoi
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Séries des équipes [premiere, derniere)
+     */
+    private final class TacheEquipes extends RecursiveAction {
+
+        private final SplittableRandom[] hasards;
+        private final int premiere;
+        private final int derniere;
+
+        TacheEquipes(SplittableRandom[] hasards, int premiere, int derniere) {
+            this.hasards = hasards;
+            this.premiere = premiere;
+            this.derniere = derniere;
+        }
+
+        @Override
+        protected void compute() {
+            if (derniere - premiere == 1) {
+                jouerEquipe(premiere, hasards[premiere]);
+                return;
+            }
+            int milieu = (premiere + derniere) >>> 1;
+            invokeAll(new TacheEquipes(hasards, premiere, milieu), new TacheEquipes(hasards, milieu, derniere));
+        }
+    }
+
+    /**
+     * Attente d'une piste libre, que le pool peut compenser par un autre thread
+     */
+    private final class PriseDePiste implements ForkJoinPool.ManagedBlocker {
+
+        private Integer piste;
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (piste == null) {
+                piste = pistesLibres.take();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return piste != null || (piste = pistesLibres.poll()) != null;
+        }
+    }
+}
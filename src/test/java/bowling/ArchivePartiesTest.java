@@ -0,0 +1,126 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArchivePartiesTest {
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void allerRetourDesLancersEtDesScores() throws IOException {
+        Random hasard = new Random(12);
+        List<int[]> parties = new ArrayList<>();
+        // Assez de parties pour remplir plusieurs fois le tampon de 64 Ko
+        for (int i = 0; i < 20_000; i++) {
+            parties.add(PartiesAleatoires.partieComplete(hasard));
+        }
+        Path fichier = dossier.resolve("archive.bin");
+        try (ArchiveParties.Ecrivain ecrivain = new ArchiveParties.Ecrivain(fichier)) {
+            for (int[] partie : parties) {
+                ecrivain.ecrire(partie);
+            }
+            assertEquals(parties.size(), ecrivain.getNombreParties());
+        }
+        assertTrue(Files.size(fichier) <= ArchiveParties.TAILLE_ENTETE
+                                          + (long) ArchiveParties.TAILLE_MAX_PARTIE * parties.size());
+
+        try (ArchiveParties.Lecteur lecteur = new ArchiveParties.Lecteur(fichier)) {
+            int[] lancers = new int[21];
+            for (int[] partie : parties) {
+                int n = lecteur.lireLancers(lancers);
+                assertArrayEquals(partie, Arrays.copyOf(lancers, n));
+            }
+            assertEquals(-1, lecteur.lireLancers(lancers));
+        }
+
+        try (ArchiveParties.Lecteur lecteur = new ArchiveParties.Lecteur(fichier)) {
+            for (int[] partie : parties) {
+                assertEquals(CalculateurScoreLot.calculerScoreTotal(partie, 0, partie.length), lecteur.scoreSuivant());
+            }
+            assertEquals(-1, lecteur.scoreSuivant());
+        }
+    }
+
+    @Test
+    void ajoutAUneArchiveExistante() throws IOException {
+        Path fichier = dossier.resolve("archive.bin");
+        PartieMonoJoueur parfaite = new PartieMonoJoueur();
+        for (int i = 0; i < 12; i++) {
+            parfaite.enregistrerLancer(10);
+        }
+        try (ArchiveParties.Ecrivain ecrivain = new ArchiveParties.Ecrivain(fichier)) {
+            ecrivain.ecrire(parfaite);
+        }
+        IPartieMonoJoueur neuf = MoteurStockage.COMPACT.nouvellePartie("Bob");
+        for (int i = 0; i < 20; i++) {
+            neuf.enregistrerLancer(i % 2 == 0 ? 9 : 0);
+        }
+        try (ArchiveParties.Ecrivain ecrivain = new ArchiveParties.Ecrivain(fichier)) {
+            ecrivain.ecrire(neuf);
+        }
+        // 12 strikes sur 6 octets, 20 lancers sur 10 octets
+        assertEquals(ArchiveParties.TAILLE_ENTETE + 6 + 10, Files.size(fichier));
+
+        try (ArchiveParties.Lecteur lecteur = new ArchiveParties.Lecteur(fichier)) {
+            StatistiquesScores statistiques = lecteur.calculerStatistiques();
+            assertEquals(2, statistiques.getNombreParties());
+            assertEquals(300, statistiques.getScoreMax());
+            assertEquals(90, statistiques.getScoreMin());
+        }
+    }
+
+    @Test
+    void partiesInvalidesRefusees() throws IOException {
+        try (ArchiveParties.Ecrivain ecrivain = new ArchiveParties.Ecrivain(dossier.resolve("archive.bin"))) {
+            // Partie incomplète, lancer en trop, plus de 10 quilles dans un tour, lancer hors limites
+            assertThrows(IllegalArgumentException.class, () -> ecrivain.ecrire(new int[19]));
+            assertThrows(IllegalArgumentException.class, () -> ecrivain.ecrire(new int[21]));
+            int[] tropDeQuilles = new int[20];
+            tropDeQuilles[4] = 6;
+            tropDeQuilles[5] = 5;
+            assertThrows(IllegalArgumentException.class, () -> ecrivain.ecrire(tropDeQuilles));
+            int[] horsLimites = new int[20];
+            horsLimites[0] = 11;
+            assertThrows(IllegalArgumentException.class, () -> ecrivain.ecrire(horsLimites));
+            assertThrows(IllegalArgumentException.class, () -> ecrivain.ecrire(new PartieMonoJoueur()));
+            assertEquals(0, ecrivain.getNombreParties());
+        }
+    }
+
+    @Test
+    void archiveTronqueeOuInvalide() throws IOException {
+        Path fichier = dossier.resolve("archive.bin");
+        try (ArchiveParties.Ecrivain ecrivain = new ArchiveParties.Ecrivain(fichier)) {
+            ecrivain.ecrire(new int[20]);
+        }
+        byte[] octets = Files.readAllBytes(fichier);
+
+        Files.write(fichier, Arrays.copyOf(octets, octets.length - 1));
+        try (ArchiveParties.Lecteur lecteur = new ArchiveParties.Lecteur(fichier)) {
+            assertThrows(IOException.class, lecteur::scoreSuivant);
+        }
+
+        octets[ArchiveParties.TAILLE_ENTETE] = (byte) 0xF0;
+        Files.write(fichier, octets);
+        try (ArchiveParties.Lecteur lecteur = new ArchiveParties.Lecteur(fichier)) {
+            assertThrows(IOException.class, lecteur::scoreSuivant);
+        }
+
+        Files.write(fichier, new byte[]{'B', 'W', 'L', 'A', 0, 2});
+        assertThrows(IOException.class, () -> new ArchiveParties.Lecteur(fichier));
+        assertThrows(IOException.class, () -> new ArchiveParties.Ecrivain(fichier));
+    }
+}
@@ -0,0 +1,57 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CalculateurScoreArchiveParalleleTest {
+
+    @Test
+    void memesResultatsQueLeCalculSequentiel() {
+        // Plusieurs blocs, dont un incomplet
+        int nombreParties = CalculateurScoreArchiveParallele.TAILLE_BLOC * 5 + 17;
+        Random hasard = new Random(5);
+        int[] lancers = new int[nombreParties * 21];
+        int[] debuts = new int[nombreParties + 1];
+        int n = 0;
+        for (int p = 0; p < nombreParties; p++) {
+            int[] partie = PartiesAleatoires.partieComplete(hasard);
+            debuts[p] = n;
+            System.arraycopy(partie, 0, lancers, n, partie.length);
+            n += partie.length;
+        }
+        debuts[nombreParties] = n;
+        lancers = Arrays.copyOf(lancers, n);
+
+        int[] attendus = new CalculateurScoreLot().calculerScoresTotaux(lancers, debuts);
+        StatistiquesScores statistiquesAttendues = new StatistiquesScores();
+        for (int score : attendus) {
+            statistiquesAttendues.ajouter(score);
+        }
+
+        try (CalculateurScoreArchiveParallele calculateur = new CalculateurScoreArchiveParallele(4)) {
+            assertArrayEquals(attendus, calculateur.calculerScoresTotaux(lancers, debuts));
+
+            StatistiquesScores statistiques = calculateur.calculerStatistiques(lancers, debuts);
+            assertEquals(nombreParties, statistiques.getNombreParties());
+            assertEquals(statistiquesAttendues.getSommeScores(), statistiques.getSommeScores());
+            assertEquals(statistiquesAttendues.getMoyenne(), statistiques.getMoyenne());
+            assertEquals(statistiquesAttendues.getScoreMin(), statistiques.getScoreMin());
+            assertEquals(statistiquesAttendues.getScoreMax(), statistiques.getScoreMax());
+            assertArrayEquals(statistiquesAttendues.getHistogramme(), statistiques.getHistogramme());
+        }
+    }
+
+    @Test
+    void archiveVide() {
+        try (CalculateurScoreArchiveParallele calculateur = new CalculateurScoreArchiveParallele(2)) {
+            StatistiquesScores statistiques = calculateur.calculerStatistiques(new int[0], new int[]{0});
+            assertEquals(0, statistiques.getNombreParties());
+            assertThrows(IllegalStateException.class, statistiques::getScoreMax,
+                    "Pas de score max sans partie");
+        }
+    }
+}
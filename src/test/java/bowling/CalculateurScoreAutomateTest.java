@@ -0,0 +1,54 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CalculateurScoreAutomateTest {
+
+    private final CalculateurScore reference = new CalculateurScore();
+    private final CalculateurScoreAutomate automate = new CalculateurScoreAutomate();
+
+    @Test
+    void identiqueACalculateurScorePourTousLesDebutsDePartie() {
+        Random hasard = new Random(14);
+        for (int essai = 0; essai < 2000; essai++) {
+            int[] partie = PartiesAleatoires.partieComplete(hasard);
+            for (int n = 0; n <= partie.length; n++) {
+                int[] debut = Arrays.copyOf(partie, n);
+                List<Tour> tours = PartiesAleatoires.tours(debut);
+                int attendu = reference.calculerScoreTotal(tours);
+                assertEquals(attendu, automate.calculerScoreTotal(tours), Arrays.toString(debut));
+                assertEquals(attendu, automate.calculerScoreTotal(debut, 0, n), Arrays.toString(debut));
+            }
+        }
+    }
+
+    @Test
+    void partiesTypiques() {
+        int[] parfaite = new int[12];
+        Arrays.fill(parfaite, 10);
+        assertEquals(300, automate.calculerScoreTotal(parfaite, 0, parfaite.length));
+        int[] spares = new int[21];
+        Arrays.fill(spares, 5);
+        assertEquals(150, automate.calculerScoreTotal(spares, 0, spares.length));
+        assertEquals(0, automate.calculerScoreTotal(new int[20], 0, 20));
+        // Les lancers après le 10e tour ne comptent pas
+        assertEquals(90, automate.calculerScoreTotal(new int[]{9, 0, 9, 0, 9, 0, 9, 0, 9, 0, 9, 0, 9, 0, 9, 0, 9, 0,
+                                                               9, 0, 10, 10}, 0, 22));
+    }
+
+    @Test
+    void selectionnableDansPartieMonoJoueur() {
+        Random hasard = new Random(5);
+        for (int essai = 0; essai < 200; essai++) {
+            PartieMonoJoueur partie = new PartieMonoJoueur("Alice", automate);
+            for (int quilles : PartiesAleatoires.partieComplete(hasard)) {
+                partie.enregistrerLancer(quilles);
+                assertEquals(partie.score(), partie.scoreParRecalcul());
+            }
+        }
+    }
+}
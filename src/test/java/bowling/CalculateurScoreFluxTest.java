@@ -0,0 +1,129 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CalculateurScoreFluxTest {
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void scoresDesPartiesAleatoires() throws IOException {
+        Random hasard = new Random(13);
+        List<Integer> attendus = new ArrayList<>();
+        StringBuilder texte = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            int[] lancers = PartiesAleatoires.partieComplete(hasard);
+            attendus.add(CalculateurScoreLot.calculerScoreTotal(lancers, 0, lancers.length));
+            texte.append(PartiesAleatoires.enNotation(lancers)).append('\n');
+        }
+        Path fichier = dossier.resolve("parties.txt");
+        Files.writeString(fichier, texte);
+
+        // Un tampon minuscule coupe les lignes à tous les endroits possibles
+        for (int tailleTampon : new int[]{7, CalculateurScoreFlux.TAILLE_TAMPON_DEFAUT}) {
+            List<Integer> obtenus = new ArrayList<>();
+            long nombre = new CalculateurScoreFlux(tailleTampon).calculer(fichier, (ligne, score) -> {
+                assertEquals(obtenus.size() + 1, ligne);
+                obtenus.add(score);
+            });
+            assertEquals(attendus.size(), nombre);
+            assertEquals(attendus, obtenus);
+        }
+    }
+
+    @Test
+    void notation() throws IOException {
+        assertEquals(List.of(300, 167, 90, 150, 0),
+                     scores("X X X X X X X X X XXX\n"
+                            + "X 7/ 9- X -8 8/ -6 X X X81\n"
+                            + "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-\r\n"
+                            + "\n"
+                            + "5/5/5/5/5/5/5/5/5/5/5\n"
+                            + "-- -- -- -- -- -- -- -- -- --"));
+    }
+
+    @Test
+    void lignesInvalides() throws IOException {
+        String texte = "X X X\n"                             // partie incomplète
+                       + "X X X X X X X X X XXXX\n"          // lancer en trop
+                       + "75 -- -- -- -- -- -- -- -- --\n"   // plus de 10 quilles au 1er tour
+                       + "/- -- -- -- -- -- -- -- -- --\n"   // spare sans lancer précédent
+                       + "-- -- -- -- -- -- -- -- -- X/5\n"  // spare après un strike
+                       + "-- -- -- -- -- -- -- -- -- -a\n"   // caractère invalide
+                       + "-- -- -- -- -- -- -- -- -- 7//\n"  // spare sur des quilles relevées après un spare
+                       + "-- -- -- -- -- -- -- -- -- XX/\n"  // spare sur des quilles relevées après deux strikes
+                       + "-- -- -- -- -- -- -- -- -- 9/X\n"
+                       + "-- -- -- -- -- -- -- -- -- X3/\n"; // 3 sur des quilles relevées, puis les 7 restantes
+        List<Long> invalides = new ArrayList<>();
+        List<Integer> valides = new ArrayList<>();
+        new CalculateurScoreFlux().calculer(canal(texte), new RecepteurScores() {
+            @Override
+            public void score(long numeroLigne, int score) {
+                valides.add(score);
+            }
+
+            @Override
+            public void ligneInvalide(long numeroLigne, String raison) {
+                invalides.add(numeroLigne);
+            }
+        });
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), invalides);
+        assertEquals(List.of(20, 20), valides);
+
+        // Par défaut, une ligne invalide interrompt la lecture
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new CalculateurScoreFlux().calculer(canal("X X X X X X X X X XXX\n9\n"), (ligne, score) -> { }));
+        assertTrue(e.getMessage().startsWith("Ligne 2"));
+    }
+
+    @Test
+    void memoireConstante() throws IOException {
+        Random hasard = new Random(1);
+        Path fichier = dossier.resolve("parties.txt");
+        StringBuilder texte = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            texte.append(PartiesAleatoires.enNotation(PartiesAleatoires.partieComplete(hasard))).append('\n');
+        }
+        Files.writeString(fichier, texte);
+
+        CalculateurScoreFlux calculateur = new CalculateurScoreFlux();
+        StatistiquesScores statistiques = new StatistiquesScores();
+        RecepteurScores recepteur = (ligne, score) -> statistiques.ajouter(score);
+        calculateur.calculer(fichier, recepteur);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long avant = threads.getCurrentThreadAllocatedBytes();
+        calculateur.calculer(fichier, recepteur);
+        long alloues = threads.getCurrentThreadAllocatedBytes() - avant;
+
+        assertEquals(200_000, statistiques.getNombreParties());
+        // Quelques objets pour ouvrir le fichier, rien par ligne (le fichier fait plusieurs Mo)
+        assertTrue(alloues < 64 * 1024, alloues + " octets alloués pour " + Files.size(fichier) + " octets lus");
+    }
+
+    private static List<Integer> scores(String texte) throws IOException {
+        List<Integer> scores = new ArrayList<>();
+        new CalculateurScoreFlux().calculer(canal(texte), (ligne, score) -> scores.add(score));
+        return scores;
+    }
+
+    private static ReadableByteChannel canal(String texte) {
+        return Channels.newChannel(new ByteArrayInputStream(texte.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
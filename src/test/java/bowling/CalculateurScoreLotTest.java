@@ -0,0 +1,63 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CalculateurScoreLotTest {
+
+    private static final int NOMBRE_PARTIES = 1003;
+
+    private int[] lancers;
+    private byte[] lancersOctets;
+    private int[] debuts;
+    private int[] scoresAttendus;
+
+    @BeforeEach
+    void setUp() {
+        Random hasard = new Random(3);
+        CalculateurScore reference = new CalculateurScore();
+        lancers = new int[NOMBRE_PARTIES * 21];
+        debuts = new int[NOMBRE_PARTIES + 1];
+        scoresAttendus = new int[NOMBRE_PARTIES];
+        int n = 0;
+        for (int p = 0; p < NOMBRE_PARTIES; p++) {
+            int[] partie = PartiesAleatoires.partieComplete(hasard);
+            // Une partie sur cinq est interrompue en cours de route
+            if (p % 5 == 0) {
+                partie = Arrays.copyOf(partie, hasard.nextInt(partie.length));
+            }
+            debuts[p] = n;
+            System.arraycopy(partie, 0, lancers, n, partie.length);
+            n += partie.length;
+            scoresAttendus[p] = reference.calculerScoreTotal(PartiesAleatoires.tours(partie));
+        }
+        debuts[NOMBRE_PARTIES] = n;
+        lancers = Arrays.copyOf(lancers, n);
+        lancersOctets = new byte[n];
+        for (int i = 0; i < n; i++) {
+            lancersOctets[i] = (byte) lancers[i];
+        }
+    }
+
+    @Test
+    void cheminScalaireIdentiqueACalculateurScore() {
+        CalculateurScoreLot calculateur = new CalculateurScoreLot();
+        assertArrayEquals(scoresAttendus, calculateur.calculerScoresTotaux(lancers, debuts));
+        assertArrayEquals(scoresAttendus, calculateur.calculerScoresTotaux(lancersOctets, debuts));
+    }
+
+    @Test
+    void cheminVectorielIdentiqueACalculateurScore() {
+        CalculateurScoreLotVectoriel calculateur = new CalculateurScoreLotVectoriel();
+        assertArrayEquals(scoresAttendus, calculateur.calculerScoresTotaux(lancers, debuts));
+    }
+
+    @Test
+    void lotVide() {
+        assertEquals(0, new CalculateurScoreLotVectoriel().calculerScoresTotaux(new int[0], new int[]{0}).length);
+    }
+}
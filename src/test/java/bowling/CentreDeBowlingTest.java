@@ -0,0 +1,125 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CentreDeBowlingTest {
+
+    private static final String[] JOUEURS = {"Alice", "Bob", "Carole", "David"};
+
+    private CentreDeBowling centre;
+
+    @BeforeEach
+    void setUp() {
+        centre = new CentreDeBowling();
+    }
+
+    @Test
+    void pisteInconnue() {
+        assertThrows(IllegalArgumentException.class, () -> centre.enregistreLancer(1, 5),
+                "Aucune partie n'a été démarrée sur la piste 1");
+        assertThrows(IllegalArgumentException.class, () -> centre.scorePour(1, "Alice"),
+                "Aucune partie n'a été démarrée sur la piste 1");
+    }
+
+    @Test
+    void pistesIndependantes() {
+        centre.demarreNouvellePartie(1, JOUEURS);
+        centre.demarreNouvellePartie(2, JOUEURS);
+        centre.enregistreLancer(1, 7);
+        assertEquals(7, centre.scorePour(1, "Alice"));
+        assertEquals(0, centre.scorePour(2, "Alice"));
+        assertEquals(Set.of(1, 2), centre.getNumerosPistes());
+    }
+
+    @Test
+    void lancersConcurrentsSurDesPistesDifferentes() throws Exception {
+        int nombreThreads = 8;
+        int pistesParThread = 8;
+        int partiesParPiste = 5;
+        ExecutorService executeur = Executors.newFixedThreadPool(nombreThreads + 1);
+        AtomicBoolean fini = new AtomicBoolean();
+        for (int piste = 0; piste < nombreThreads * pistesParThread; piste++) {
+            centre.demarreNouvellePartie(piste, JOUEURS);
+        }
+
+        // Un lecteur interroge les scores pendant que les pistes jouent
+        Future<Integer> lecteur = executeur.submit(() -> {
+            int lectures = 0;
+            while (!fini.get()) {
+                for (int piste = 0; piste < nombreThreads * pistesParThread; piste++) {
+                    int score = centre.scorePour(piste, "Carole");
+                    assertTrue(score >= 0 && score <= 80, "Score incohérent : " + score);
+                    lectures++;
+                }
+            }
+            return lectures;
+        });
+
+        List<Future<?>> joueurs = new ArrayList<>();
+        for (int t = 0; t < nombreThreads; t++) {
+            int premierePiste = t * pistesParThread;
+            joueurs.add(executeur.submit(() -> {
+                for (int partie = 0; partie < partiesParPiste; partie++) {
+                    for (int piste = premierePiste; piste < premierePiste + pistesParThread; piste++) {
+                        if (partie > 0) {
+                            centre.demarreNouvellePartie(piste, JOUEURS);
+                        }
+                        // 4 quilles à chaque lancer : 20 lancers et 80 points par joueur
+                        for (int lancer = 0; lancer < 20 * JOUEURS.length; lancer++) {
+                            centre.enregistreLancer(piste, 4);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> joueur : joueurs) {
+            joueur.get(30, TimeUnit.SECONDS);
+        }
+        fini.set(true);
+        assertTrue(lecteur.get(30, TimeUnit.SECONDS) > 0, "Le lecteur doit avoir lu des scores");
+        executeur.shutdown();
+
+        for (int piste = 0; piste < nombreThreads * pistesParThread; piste++) {
+            for (String joueur : JOUEURS) {
+                assertEquals(80, centre.scorePour(piste, joueur), "Piste " + piste + ", " + joueur);
+            }
+        }
+    }
+
+    @Test
+    void lancersConcurrentsSurUneMemePiste() throws Exception {
+        int nombreThreads = 8;
+        centre.demarreNouvellePartie(1, JOUEURS);
+        ExecutorService executeur = Executors.newFixedThreadPool(nombreThreads);
+        List<Future<?>> lanceurs = new ArrayList<>();
+        for (int t = 0; t < nombreThreads; t++) {
+            lanceurs.add(executeur.submit(() -> {
+                for (int lancer = 0; lancer < 20 * JOUEURS.length / nombreThreads; lancer++) {
+                    centre.enregistreLancer(1, 4);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> lanceur : lanceurs) {
+            lanceur.get(30, TimeUnit.SECONDS);
+        }
+        executeur.shutdown();
+
+        for (String joueur : JOUEURS) {
+            assertEquals(80, centre.scorePour(1, joueur), "Aucun lancer ne doit être perdu pour " + joueur);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class ClassementTest {
+
+    private static final int NOMBRE_PISTES = 200;
+    private static final int JOUEURS_PAR_PISTE = 3;
+
+    @Test
+    void classementIdentiqueAuxScoresDesPistes() {
+        CentreDeBowling centre = new CentreDeBowling(MoteurStockage.COMPACT);
+        Classement classement = new Classement();
+        centre.setEcouteurScores(classement);
+        Random hasard = new Random(15);
+        for (int numero = 0; numero < NOMBRE_PISTES; numero++) {
+            jouerPiste(centre, numero, hasard);
+        }
+        verifierClassement(centre, classement);
+    }
+
+    @Test
+    void abonnementApresLeDebutDesParties() {
+        CentreDeBowling centre = new CentreDeBowling(MoteurStockage.COMPACT);
+        Random hasard = new Random(3);
+        for (int numero = 0; numero < NOMBRE_PISTES; numero++) {
+            jouerPiste(centre, numero, hasard);
+        }
+        Classement classement = new Classement();
+        centre.setEcouteurScores(classement);
+        verifierClassement(centre, classement);
+
+        // Une nouvelle partie remplace les joueurs de la précédente
+        centre.demarreNouvellePartie(7, new String[]{"Zoé"});
+        centre.enregistreLancer(7, 10);
+        centre.enregistreLancer(7, 10);
+        assertEquals(NOMBRE_PISTES * JOUEURS_PAR_PISTE - JOUEURS_PAR_PISTE + 1, classement.getNombreJoueurs());
+        verifierClassement(centre, classement);
+        assertThrows(IllegalArgumentException.class, () -> classement.rang(7, 1));
+    }
+
+    @Test
+    void ecrituresConcurrentes() throws Exception {
+        CentreDeBowling centre = new CentreDeBowling(MoteurStockage.COMPACT);
+        Classement classement = new Classement();
+        centre.setEcouteurScores(classement);
+        try (ExecutorService executeur = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> taches = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int premiere = t;
+                taches.add(executeur.submit(() -> {
+                    Random hasard = new Random(premiere);
+                    for (int numero = premiere; numero < NOMBRE_PISTES; numero += 4) {
+                        jouerPiste(centre, numero, hasard);
+                    }
+                    // Lectures pendant les écritures des autres threads
+                    classement.meilleurs(20);
+                }));
+            }
+            for (Future<?> tache : taches) {
+                tache.get();
+            }
+        }
+        verifierClassement(centre, classement);
+    }
+
+    /**
+     * Des lectures pendant des mises à jour continues : jamais deux fois le même
+     * joueur, et toujours dans l'ordre du classement
+     */
+    @Test
+    void lecturesPendantLesMisesAJour() throws Exception {
+        Classement classement = new Classement();
+        for (int numero = 0; numero < NOMBRE_PISTES; numero++) {
+            classement.partieDemarree(numero, new String[]{"A", "B", "C"});
+        }
+        try (ExecutorService executeur = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> ecrivains = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                int premiere = t;
+                ecrivains.add(executeur.submit(() -> {
+                    Random hasard = new Random(premiere);
+                    for (int i = 0; i < 50_000; i++) {
+                        int numero = premiere + 3 * hasard.nextInt(NOMBRE_PISTES / 3);
+                        classement.scoreModifie(numero, hasard.nextInt(JOUEURS_PAR_PISTE), hasard.nextInt(301));
+                    }
+                }));
+            }
+            while (!ecrivains.stream().allMatch(Future::isDone)) {
+                List<Classement.Entree> meilleurs = classement.meilleurs(50);
+                assertEquals(meilleurs.size(), meilleurs.stream()
+                        .map(entree -> entree.getNumeroPiste() * JOUEURS_PAR_PISTE + entree.getIndexJoueur())
+                        .distinct().count(), "Un joueur en double : " + meilleurs);
+                for (int i = 1; i < meilleurs.size(); i++) {
+                    assertTrue(meilleurs.get(i - 1).getScore() >= meilleurs.get(i).getScore(), meilleurs.toString());
+                }
+            }
+            for (Future<?> ecrivain : ecrivains) {
+                ecrivain.get();
+            }
+        }
+        assertEquals(NOMBRE_PISTES * JOUEURS_PAR_PISTE, classement.getNombreJoueurs());
+    }
+
+    @Test
+    void exAequo() {
+        Classement classement = new Classement();
+        classement.partieDemarree(1, new String[]{"Alice", "Bob", "Carole"});
+        classement.scoreModifie(1, 0, 30);
+        classement.scoreModifie(1, 1, 30);
+        classement.scoreModifie(1, 2, 12);
+        assertEquals(1, classement.rang(1, 0));
+        assertEquals(1, classement.rang(1, 1));
+        assertEquals(3, classement.rang(1, 2));
+        assertEquals(List.of("Alice", "Bob"),
+                     classement.meilleurs(2).stream().map(Classement.Entree::getNomJoueur).toList());
+    }
+
+    /**
+     * Démarre une partie sur la piste et en joue une partie au hasard
+     */
+    private static void jouerPiste(CentreDeBowling centre, int numero, Random hasard) {
+        String[] noms = new String[JOUEURS_PAR_PISTE];
+        int[][] lancers = new int[JOUEURS_PAR_PISTE][];
+        for (int j = 0; j < JOUEURS_PAR_PISTE; j++) {
+            noms[j] = "J" + numero + "-" + j;
+            lancers[j] = PartiesAleatoires.partieComplete(hasard);
+        }
+        centre.demarreNouvellePartie(numero, noms);
+        int[] joues = new int[JOUEURS_PAR_PISTE];
+        for (int i = hasard.nextInt(60); i > 0; i--) {
+            int joueur = centre.getPiste(numero).partie.getIndexJoueurCourant();
+            if (joues[joueur] == lancers[joueur].length) {
+                return;
+            }
+            if (EtatProchainTir.estPartieTerminee(
+                    centre.enregistreLancer(numero, joueur, lancers[joueur][joues[joueur]++]))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Compare le classement à celui obtenu en demandant le score de chaque joueur
+     */
+    private static void verifierClassement(CentreDeBowling centre, Classement classement) {
+        List<int[]> joueurs = new ArrayList<>();
+        for (int numero : centre.getNumerosPistes()) {
+            PartieMultiJoueurs partie = centre.getPiste(numero).partie;
+            for (int j = 0; j < partie.getNombreJoueurs(); j++) {
+                joueurs.add(new int[]{numero, j, partie.getPartieJoueur(j).score()});
+            }
+        }
+        joueurs.sort(Comparator.comparingInt((int[] joueur) -> -joueur[2])
+                               .thenComparingInt(joueur -> joueur[0])
+                               .thenComparingInt(joueur -> joueur[1]));
+
+        assertEquals(joueurs.size(), classement.getNombreJoueurs());
+        List<Classement.Entree> meilleurs = classement.meilleurs(20);
+        assertEquals(Math.min(20, joueurs.size()), meilleurs.size());
+        for (int i = 0; i < meilleurs.size(); i++) {
+            assertEquals(joueurs.get(i)[0], meilleurs.get(i).getNumeroPiste());
+            assertEquals(joueurs.get(i)[1], meilleurs.get(i).getIndexJoueur());
+            assertEquals(joueurs.get(i)[2], meilleurs.get(i).getScore());
+        }
+        for (int[] joueur : joueurs) {
+            long auDela = joueurs.stream().filter(autre -> autre[2] > joueur[2]).count();
+            assertEquals(auDela + 1, classement.rang(joueur[0], joueur[1]));
+        }
+    }
+}
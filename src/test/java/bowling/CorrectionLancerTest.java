@@ -0,0 +1,206 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CorrectionLancerTest {
+
+    @Test
+    void correctionSansChangerLeDecoupage() {
+        PartieMonoJoueur partie = rejouer(new int[]{3, 4, 10, 5, 2});
+        assertEquals(7 + 17 + 7, partie.score());
+        partie.corrigerLancer(0, 6);
+        assertEquals(20 + 17 + 7, partie.score(), "3 4 corrigé en 6 4 : spare");
+        assertArrayEquals(new int[]{6, 4, 10, 5, 2}, partie.getLancers());
+        partie.enregistrerLancer(10);
+        assertEquals(rejouer(new int[]{6, 4, 10, 5, 2, 10}).score(), partie.score());
+    }
+
+    @Test
+    void correctionQuiRedecoupeLesToursSuivants() {
+        // 3 6 | 4 5 | 2 : corriger le 3 en strike donne 10 | 6 4 | 5 2
+        PartieMonoJoueur partie = rejouer(new int[]{3, 6, 4, 5, 2});
+        partie.corrigerLancer(0, 10);
+        assertArrayEquals(new int[]{10, 6, 4, 5, 2}, partie.getLancers());
+        assertEquals(20 + 15 + 7, partie.score());
+        assertEquals(4, partie.getNumeroTourCourant());
+        assertEquals(1, partie.getNumeroBouleCourante());
+    }
+
+    @Test
+    void correctionsRefuseesSansModifierLaPartie() {
+        PartieMonoJoueur partie = rejouer(new int[]{3, 7, 8, 1});
+        // 10 | 7 8 est invalide dans le tour 2
+        assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(3, 3));
+        assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(1, 11));
+        assertArrayEquals(new int[]{3, 7, 8, 1}, partie.getLancers());
+        assertEquals(18 + 9, partie.score());
+
+        // Une partie terminée qui aurait des lancers en trop après correction
+        int[] lancers = new int[20];
+        lancers[0] = 5;
+        PartieMonoJoueur terminee = rejouer(lancers);
+        assertTrue(terminee.estTerminee());
+        assertThrows(IllegalArgumentException.class, () -> terminee.corrigerLancer(0, 10));
+        assertEquals(5, terminee.score());
+    }
+
+    /**
+     * Pour des parties tirées au hasard, terminées ou non, compare chaque
+     * correction à la partie rejouée depuis le début avec les lancers corrigés
+     */
+    @Test
+    void identiqueAUnePartieRejoueeDepuisLeDebut() {
+        Random hasard = new Random(25);
+        for (int essai = 0; essai < 3000; essai++) {
+            int[] partieComplete = PartiesAleatoires.partieComplete(hasard);
+            int[] lancers = Arrays.copyOf(partieComplete, 1 + hasard.nextInt(partieComplete.length));
+            int index = hasard.nextInt(lancers.length);
+            int quilles = hasard.nextInt(4) == 0 ? 10 : hasard.nextInt(11);
+            int[] corriges = lancers.clone();
+            corriges[index] = quilles;
+
+            PartieMonoJoueur partie = rejouer(lancers);
+            PartieMonoJoueur attendue;
+            try {
+                attendue = rejouer(corriges);
+            } catch (RuntimeException e) {
+                assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(index, quilles));
+                verifierIdentiques(rejouer(lancers), partie);
+                continue;
+            }
+            partie.corrigerLancer(index, quilles);
+            verifierIdentiques(attendue, partie);
+            if (!partie.estTerminee()) {
+                // Les lancers suivants partent bien des tours et du score corrigés
+                int suivant = partie.getNumeroBouleCourante() == 2 && partie.getNumeroTourCourant() < 10
+                        ? 10 - corriges[corriges.length - 1] : 10;
+                attendue.enregistrerLancer(suivant);
+                partie.enregistrerLancer(suivant);
+                verifierIdentiques(attendue, partie);
+            }
+        }
+    }
+
+    @Test
+    void correctionDansUnePartieMultiJoueurs() {
+        List<String> scores = new ArrayList<>();
+        PartieMultiJoueurs partie = new PartieMultiJoueurs();
+        partie.demarrerPartie(new String[]{"Alice", "Bob"});
+        partie.setEcouteurScores(1, new EcouteurScores() {
+            @Override
+            public void partieDemarree(int numeroPiste, String[] nomsDesJoueurs) {
+            }
+
+            @Override
+            public void scoreModifie(int numeroPiste, int indexJoueur, int score) {
+                scores.add(numeroPiste + ":" + indexJoueur + ":" + score);
+            }
+        });
+        for (int quilles : new int[]{3, 4, 5, 2, 3}) {
+            partie.jouerLancer(quilles);
+        }
+        scores.clear();
+
+        // Alice : 3 4 | 3 devient 10 | 4 3, son 2e tour est terminé et c'est à Bob de jouer
+        assertEquals(EtatProchainTir.coder(1, 2, 1), partie.corrigerLancer(0, 0, 10));
+        assertEquals(List.of("1:0:24"), scores);
+        assertEquals(24, partie.scoreMinimum(0));
+        assertEquals(24 + 30 * 8, partie.scoreMaximum(0));
+        assertEquals(1, partie.getIndexJoueurCourant());
+
+        // Et inversement : Alice doit finir son 2e tour
+        assertEquals(EtatProchainTir.coder(0, 2, 2), partie.corrigerLancer(0, 0, 3));
+        assertEquals(10, partie.scorePour(0));
+        assertEquals(7 + 20 + 30 * 8, partie.scoreMaximum(0));
+
+        // Une correction invalide ne change rien
+        assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(0, 1, 8));
+        assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(2, 0, 1));
+        assertEquals(EtatProchainTir.coder(1, 2, 1), partie.jouerLancer(4));
+    }
+
+    @Test
+    void correctionQuiRouvreUnePartieTerminee() {
+        PartieMultiJoueurs partie = new PartieMultiJoueurs();
+        partie.demarrerPartie(new String[]{"Alice", "Bob"});
+        long etat = 0;
+        for (int i = 0; i < 40; i++) {
+            etat = partie.jouerLancer(i % 2 == 0 ? 3 : 4);
+        }
+        assertTrue(EtatProchainTir.estPartieTerminee(etat));
+
+        // Le 10e tour d'Alice devient un spare : elle a droit à une 3e boule
+        assertEquals(EtatProchainTir.coder(0, 10, 3), partie.corrigerLancer(0, 19, 7));
+        assertEquals(EtatProchainTir.PARTIE_TERMINEE, partie.jouerLancer(5));
+        assertEquals(9 * 7 + 15, partie.scorePour(0));
+        assertEquals(9 * 7 + 15, partie.scoreMaximum(0));
+    }
+
+    /**
+     * Quand la partie rouverte d'Alice se termine, Bob a fini depuis longtemps :
+     * c'est à Carole de finir son 10e tour
+     */
+    @Test
+    void lesJoueursQuiOntFiniSontSautes() {
+        PartieMultiJoueurs partie = new PartieMultiJoueurs();
+        partie.demarrerPartie(new String[]{"Alice", "Bob", "Carole"});
+        for (int i = 0; i < 9 * 3 * 2; i++) {
+            partie.jouerLancer(0);
+        }
+        for (int quilles : new int[]{3, 4, 0, 0}) {
+            partie.jouerLancer(quilles);
+        }
+        assertEquals(EtatProchainTir.coder(2, 10, 2), partie.jouerLancer(1));
+
+        // Alice et Carole ont chacune un tour entamé : la première dans l'ordre de jeu lance
+        assertEquals(EtatProchainTir.coder(0, 10, 3), partie.corrigerLancer(0, 19, 7));
+        long etat = partie.jouerLancer(5);
+        assertEquals(EtatProchainTir.coder(2, 10, 2), etat);
+        assertEquals("Prochain tir : joueur Carole, tour n° 10, boule n° 2", partie.messageProchainTir(etat));
+        assertEquals(EtatProchainTir.PARTIE_TERMINEE, partie.jouerLancer(2));
+        assertEquals(15, partie.scorePour(0));
+        assertEquals(0, partie.scorePour(1));
+        assertEquals(3, partie.scorePour(2));
+    }
+
+    @Test
+    void correctionRefuseeParLeMoteurCompact() {
+        PartieMultiJoueurs partie = new PartieMultiJoueurs(MoteurStockage.COMPACT);
+        partie.demarrerPartie(new String[]{"Alice"});
+        partie.jouerLancer(3);
+        assertThrows(IllegalStateException.class, () -> partie.corrigerLancer(0, 0, 10));
+        assertEquals(3, partie.scorePour(0));
+        assertEquals(EtatProchainTir.coder(0, 2, 1), partie.jouerLancer(0));
+    }
+
+    private static void verifierIdentiques(PartieMonoJoueur attendue, PartieMonoJoueur partie) {
+        String message = Arrays.toString(attendue.getLancers());
+        assertArrayEquals(attendue.getLancers(), partie.getLancers(), message);
+        assertEquals(attendue.score(), partie.score(), message);
+        assertEquals(partie.scoreParRecalcul(), partie.score(), message);
+        assertEquals(attendue.estTerminee(), partie.estTerminee(), message);
+        assertEquals(attendue.getNumeroTourCourant(), partie.getNumeroTourCourant(), message);
+        assertEquals(attendue.getNumeroBouleCourante(), partie.getNumeroBouleCourante(), message);
+        assertFalse(partie.doitRelancer() == partie.aTermineSonTour(), message);
+    }
+
+    private static PartieMonoJoueur rejouer(int[] lancers) {
+        PartieMonoJoueur partie = new PartieMonoJoueur("Joueur");
+        for (int quilles : lancers) {
+            partie.enregistrerLancer(quilles);
+        }
+        return partie;
+    }
+}
@@ -0,0 +1,124 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DistributionScoresTest {
+
+    private static final DistributionScores DISTRIBUTION = new DistributionScores();
+
+    @Test
+    void partiesExtremesEtTotal() {
+        long[] distribution = DISTRIBUTION.distribution();
+        assertEquals(301, distribution.length);
+        assertEquals(1, distribution[300], "Une seule partie parfaite");
+        assertEquals(1, distribution[0], "Une seule partie à 0");
+        assertEquals(1, DISTRIBUTION.nombreParties(299), "11 strikes puis 9");
+        assertEquals(0, DISTRIBUTION.nombreParties(301));
+        assertEquals(0, DISTRIBUTION.nombreParties(-1));
+        assertEquals(Arrays.stream(distribution).sum(), DISTRIBUTION.nombreParties());
+        // 66 façons de jouer chacun des tours 1 à 9, 331 le 10e tour (sans limite de quilles)
+        long attendu = 331;
+        for (int tour = 1; tour <= 9; tour++) {
+            attendu *= 66;
+        }
+        assertEquals(attendu, DISTRIBUTION.nombreParties());
+    }
+
+    @Test
+    void calculParalleleIdentiqueAuCalculSequentiel() {
+        assertArrayEquals(new DistributionScores(false).distribution(), DISTRIBUTION.distribution());
+    }
+
+    @Test
+    void finsDUnePartieEntamee() {
+        int[] neufStrikes = {10, 10, 10, 10, 10, 10, 10, 10, 10};
+        assertEquals(331, DISTRIBUTION.nombreFins(neufStrikes));
+        assertEquals(1, DISTRIBUTION.nombreFinsAtteignant(neufStrikes, 300));
+        assertEquals(331, DISTRIBUTION.nombreFinsAtteignant(neufStrikes, 200));
+        assertEquals(1, DISTRIBUTION.nombreFins(new int[20]));
+        assertEquals(0, DISTRIBUTION.nombreFinsAtteignant(new int[20], 1));
+        assertEquals(1, DISTRIBUTION.distribution(new int[20])[0]);
+        assertThrows(IllegalArgumentException.class, () -> DISTRIBUTION.nombreFins(new int[]{6, 5}));
+        assertThrows(IllegalStateException.class, () -> DISTRIBUTION.distribution(new int[21]));
+    }
+
+    /**
+     * Pour des débuts de partie tirés au hasard, énumère toutes les fins de
+     * partie que le moteur accepte à partir du 9e tour et compare leurs scores
+     * à la distribution
+     */
+    @Test
+    void identiqueAUneEnumerationExhaustive() {
+        Random hasard = new Random(22);
+        for (int essai = 0; essai < 10; essai++) {
+            int[] partie = PartiesAleatoires.partieComplete(hasard);
+            int[] debut = Arrays.copyOf(partie, debutDuTour(partie, 9));
+            long[] attendue = new long[301];
+            enumerer(debut, attendue);
+            String message = "Après " + Arrays.toString(debut);
+            assertArrayEquals(attendue, DISTRIBUTION.distribution(debut), message);
+            long auMoins = 0;
+            for (int score = 150; score <= 300; score++) {
+                auMoins += attendue[score];
+            }
+            assertEquals(auMoins, DISTRIBUTION.nombreFinsAtteignant(debut, 150), message);
+        }
+    }
+
+    @Test
+    void calculEnMoinsDUneSeconde() {
+        new DistributionScores();
+        long debut = System.nanoTime();
+        new DistributionScores();
+        long duree = System.nanoTime() - debut;
+        assertTrue(duree < 1_000_000_000L, "Durée : " + duree + " ns");
+    }
+
+    /**
+     * Ajoute à distribution le score final de chaque fin de partie acceptée après debut
+     */
+    private static void enumerer(int[] debut, long[] distribution) {
+        IPartieMonoJoueur partie = rejouer(debut);
+        if (partie.estTerminee()) {
+            distribution[partie.score()]++;
+            return;
+        }
+        int[] suite = Arrays.copyOf(debut, debut.length + 1);
+        for (int quilles = 0; quilles <= 10; quilles++) {
+            try {
+                rejouer(debut).enregistrerLancer(quilles);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            suite[debut.length] = quilles;
+            enumerer(suite, distribution);
+        }
+    }
+
+    private static IPartieMonoJoueur rejouer(int[] lancers) {
+        IPartieMonoJoueur partie = new PartieMonoJoueurCompacte("Joueur");
+        for (int quilles : lancers) {
+            partie.enregistrerLancer(quilles);
+        }
+        return partie;
+    }
+
+    /**
+     * @return l'indice du premier lancer du tour numeroTour
+     */
+    private static int debutDuTour(int[] lancers, int numeroTour) {
+        int tour = 1;
+        int i = 0;
+        while (tour < numeroTour) {
+            i += lancers[i] == 10 ? 1 : 2;
+            tour++;
+        }
+        return i;
+    }
+}
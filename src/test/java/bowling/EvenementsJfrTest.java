@@ -0,0 +1,226 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EvenementsJfrTest {
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void evenementsEnregistresPuisRelus() throws Exception {
+        Path fichier = dossier.resolve("bowling.jfr");
+        try (Recording enregistrement = new Recording()) {
+            enregistrement.enable("bowling.DemarragePartie");
+            enregistrement.enable("bowling.Lancer");
+            enregistrement.enable("bowling.CalculScore").withThreshold(Duration.ZERO);
+            enregistrement.enable("bowling.LancerRefuse");
+            enregistrement.start();
+
+            CentreDeBowling centre = new CentreDeBowling(MoteurStockage.OBJETS);
+            centre.demarreNouvellePartie(4, new String[]{"Alice", "Bob"});
+            centre.enregistreLancer(4, 10);
+            centre.enregistreLancer(4, 7);
+            assertThrows(IllegalArgumentException.class, () -> centre.enregistreLancer(4, 5));
+            centre.enregistreLancer(4, 3);
+            new CalculateurScore().calculerScoreTotal(PartiesAleatoires.tours(new int[]{10, 7, 3}));
+
+            enregistrement.stop();
+            enregistrement.dump(fichier);
+        }
+
+        List<RecordedEvent> evenements = RecordingFile.readAllEvents(fichier);
+
+        List<RecordedEvent> demarrages = evenements(evenements, "bowling.DemarragePartie");
+        assertEquals(1, demarrages.size());
+        assertEquals(4, demarrages.get(0).getInt("piste"));
+        assertEquals(2, demarrages.get(0).getInt("nombreJoueurs"));
+        assertEquals("OBJETS", demarrages.get(0).getString("moteur"));
+
+        List<RecordedEvent> lancers = evenements(evenements, "bowling.Lancer");
+        assertEquals(3, lancers.size(), "Le lancer refusé n'est pas un lancer joué");
+        int[][] attendus = {{0, 1, 1, 10}, {1, 1, 1, 7}, {1, 1, 2, 3}};
+        for (int i = 0; i < attendus.length; i++) {
+            RecordedEvent lancer = lancers.get(i);
+            assertEquals(4, lancer.getInt("piste"));
+            assertEquals(attendus[i][0], lancer.getInt("joueur"));
+            assertEquals(attendus[i][1], lancer.getInt("tour"));
+            assertEquals(attendus[i][2], lancer.getInt("boule"));
+            assertEquals(attendus[i][3], lancer.getInt("quilles"));
+            assertTrue(!lancer.getDuration().isNegative());
+        }
+
+        List<RecordedEvent> refus = evenements(evenements, "bowling.LancerRefuse");
+        assertEquals(1, refus.size());
+        assertEquals(1, refus.get(0).getInt("tour"));
+        assertEquals(5, refus.get(0).getInt("quilles"));
+        assertTrue(refus.get(0).getString("raison").contains("dépasser 10"));
+
+        List<RecordedEvent> calculs = evenements(evenements, "bowling.CalculScore");
+        assertEquals(1, calculs.size());
+        assertEquals(20 + 10, calculs.get(0).getInt("score"));
+    }
+
+    /**
+     * Chaque refus de lancer émet l'événement, avec les deux moteurs de stockage
+     */
+    @Test
+    void lancersRefusesParLesDeuxMoteurs() throws Exception {
+        for (MoteurStockage moteur : MoteurStockage.values()) {
+            Path fichier = dossier.resolve("refus-" + moteur + ".jfr");
+            try (Recording enregistrement = new Recording()) {
+                enregistrement.enable("bowling.LancerRefuse");
+                enregistrement.start();
+
+                CentreDeBowling centre = new CentreDeBowling(moteur);
+                centre.demarreNouvellePartie(4, new String[]{"Alice", "Bob"});
+                assertThrows(IllegalArgumentException.class, () -> centre.enregistreLancer(4, 11));
+                centre.enregistreLancer(4, 10);
+                assertThrows(IllegalArgumentException.class, () -> centre.enregistreLancer(4, 0, 7));
+                centre.enregistreLancer(4, 7);
+                assertThrows(IllegalArgumentException.class, () -> centre.enregistreLancer(4, 5));
+
+                centre.demarreNouvellePartie(5, new String[]{"Alice"});
+                for (int i = 0; i < 20; i++) {
+                    centre.enregistreLancer(5, 0);
+                }
+                assertThrows(IllegalStateException.class, () -> centre.enregistreLancer(5, 3));
+                assertThrows(IllegalStateException.class, () -> new PartieMultiJoueurs(moteur).jouerLancer(2));
+
+                enregistrement.stop();
+                enregistrement.dump(fichier);
+            }
+
+            List<RecordedEvent> refus = evenements(RecordingFile.readAllEvents(fichier), "bowling.LancerRefuse");
+            Object[][] attendus = {
+                {1, 11, "entre 0 et 10"},
+                {1, 7, "pas au joueur n° 0"},
+                {1, 5, "dépasser 10"},
+                {0, 3, "terminée"},
+                {0, 2, "pas été démarrée"},
+            };
+            assertEquals(attendus.length, refus.size(), "Moteur " + moteur);
+            for (int i = 0; i < attendus.length; i++) {
+                assertEquals(attendus[i][0], refus.get(i).getInt("tour"), "Moteur " + moteur + ", refus " + i);
+                assertEquals(attendus[i][1], refus.get(i).getInt("quilles"), "Moteur " + moteur + ", refus " + i);
+                String raison = refus.get(i).getString("raison");
+                assertTrue(raison.contains((String) attendus[i][2]), "Moteur " + moteur + " : " + raison);
+            }
+        }
+    }
+
+    @Test
+    void lancerDansUnTourTermine() throws Exception {
+        Path fichier = dossier.resolve("tour.jfr");
+        try (Recording enregistrement = new Recording()) {
+            enregistrement.enable("bowling.LancerRefuse");
+            enregistrement.start();
+
+            Tour tour = new Tour(3);
+            tour.ajouterLancer(new Lancer(10));
+            assertThrows(IllegalStateException.class, () -> tour.ajouterLancer(new Lancer(4)));
+
+            enregistrement.stop();
+            enregistrement.dump(fichier);
+        }
+
+        List<RecordedEvent> refus = evenements(RecordingFile.readAllEvents(fichier), "bowling.LancerRefuse");
+        assertEquals(1, refus.size());
+        assertEquals(3, refus.get(0).getInt("tour"));
+        assertEquals(4, refus.get(0).getInt("quilles"));
+        assertEquals("Le tour est déjà terminé.", refus.get(0).getString("raison"));
+    }
+
+    /**
+     * Une correction refusée ne joue aucun lancer : pas d'événement LancerRefuse
+     */
+    @Test
+    void correctionRefuseeSansEvenement() throws Exception {
+        Path fichier = dossier.resolve("correction.jfr");
+        try (Recording enregistrement = new Recording()) {
+            enregistrement.enable("bowling.LancerRefuse");
+            enregistrement.start();
+
+            PartieMonoJoueur partie = new PartieMonoJoueur("Alice");
+            for (int quilles : new int[]{3, 7, 8, 1}) {
+                partie.enregistrerLancer(quilles);
+            }
+            // 10 | 7 8 : le tour 2 devient invalide
+            assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(0, 10));
+            assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(3, 3));
+            assertThrows(IllegalArgumentException.class, () -> partie.corrigerLancer(1, 11));
+
+            enregistrement.stop();
+            enregistrement.dump(fichier);
+        }
+
+        assertEquals(List.of(), evenements(RecordingFile.readAllEvents(fichier), "bowling.LancerRefuse"));
+    }
+
+    /**
+     * Les pistes d'un centre restauré depuis un instantané gardent leur numéro dans les événements
+     */
+    @Test
+    void pisteDesPartiesRestaurees() throws Exception {
+        Path instantane = dossier.resolve("centre.bin");
+        CentreDeBowling avant = new CentreDeBowling(MoteurStockage.COMPACT);
+        avant.demarreNouvellePartie(9, new String[]{"Alice"});
+        avant.enregistreLancer(9, 4);
+        avant.ecrireInstantane(instantane);
+
+        Path fichier = dossier.resolve("restaure.jfr");
+        try (Recording enregistrement = new Recording()) {
+            enregistrement.enable("bowling.Lancer");
+            enregistrement.start();
+
+            CentreDeBowling apres = CentreDeBowling.restaurer(instantane, MoteurStockage.COMPACT);
+            apres.enregistreLancer(9, 5);
+
+            enregistrement.stop();
+            enregistrement.dump(fichier);
+        }
+
+        List<RecordedEvent> lancers = evenements(RecordingFile.readAllEvents(fichier), "bowling.Lancer");
+        assertEquals(1, lancers.size());
+        assertEquals(9, lancers.get(0).getInt("piste"));
+        assertEquals(2, lancers.get(0).getInt("boule"));
+    }
+
+    @Test
+    void evenementsDesactivesOuSousLeSeuil() throws Exception {
+        Path fichier = dossier.resolve("desactives.jfr");
+        try (Recording enregistrement = new Recording()) {
+            enregistrement.disable("bowling.Lancer");
+            enregistrement.enable("bowling.CalculScore").withThreshold(Duration.ofHours(1));
+            enregistrement.start();
+
+            PartieMultiJoueurs partie = new PartieMultiJoueurs();
+            partie.demarreNouvellePartie(new String[]{"Alice"});
+            partie.enregistreLancer(3);
+            new CalculateurScore().calculerScoreTotal(PartiesAleatoires.tours(new int[]{3}));
+
+            enregistrement.stop();
+            enregistrement.dump(fichier);
+        }
+
+        List<RecordedEvent> evenements = RecordingFile.readAllEvents(fichier);
+        assertEquals(0, evenements(evenements, "bowling.Lancer").size());
+        assertEquals(0, evenements(evenements, "bowling.CalculScore").size());
+    }
+
+    private static List<RecordedEvent> evenements(List<RecordedEvent> evenements, String nom) {
+        return evenements.stream()
+                         .filter(evenement -> evenement.getEventType().getName().equals(nom))
+                         .toList();
+    }
+}
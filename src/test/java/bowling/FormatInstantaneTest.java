@@ -0,0 +1,154 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FormatInstantaneTest {
+
+    private static final String[] JOUEURS = {"Alice", "Bérénice-Élisabeth de la Quille-Dorée", "Bob"};
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void allerRetourDePartiesEntamees() throws IOException {
+        Random hasard = new Random(11);
+        for (MoteurStockage moteur : MoteurStockage.values()) {
+            for (int essai = 0; essai < 200; essai++) {
+                int[][] lancers = new int[JOUEURS.length][];
+                for (int j = 0; j < JOUEURS.length; j++) {
+                    lancers[j] = PartiesAleatoires.partieComplete(hasard);
+                }
+                int[] joues = new int[JOUEURS.length];
+                PartieMultiJoueurs avant = new PartieMultiJoueurs(moteur);
+                avant.demarreNouvellePartie(JOUEURS);
+                jouer(avant, lancers, joues, hasard.nextInt(40));
+
+                byte[] instantane = FormatInstantane.ecrire(avant);
+                PartieMultiJoueurs apres = FormatInstantane.lire(ByteBuffer.wrap(instantane), moteur);
+                verifierMemeEtat(avant, apres);
+
+                // Les deux parties continuent de la même façon
+                int[] jouesApres = joues.clone();
+                jouer(avant, lancers, joues, 60);
+                jouer(apres, lancers, jouesApres, 60);
+                verifierMemeEtat(avant, apres);
+            }
+        }
+    }
+
+    @Test
+    void allerRetourDUnePartieNonDemarree() throws IOException {
+        PartieMultiJoueurs apres = FormatInstantane.lire(
+                ByteBuffer.wrap(FormatInstantane.ecrire(new PartieMultiJoueurs())), MoteurStockage.OBJETS);
+        assertFalse(apres.estDemarree());
+        assertThrows(IllegalStateException.class, () -> apres.scorePour("Alice"));
+    }
+
+    @Test
+    void allerRetourDUnCentreParFichier() throws IOException {
+        Random hasard = new Random(7);
+        CentreDeBowling avant = new CentreDeBowling(MoteurStockage.COMPACT);
+        for (int numero = 1; numero <= 50; numero++) {
+            avant.demarreNouvellePartie(numero, JOUEURS);
+            int[] lancers = PartiesAleatoires.partieComplete(hasard);
+            int nombre = hasard.nextInt(lancers.length);
+            for (int i = 0; i < nombre; i++) {
+                avant.enregistreLancer(numero, lancers[i]);
+            }
+        }
+        // Une piste dont la partie n'a jamais pu démarrer
+        assertThrows(IllegalArgumentException.class, () -> avant.demarreNouvellePartie(99, new String[0]));
+
+        Path fichier = dossier.resolve("centre.bin");
+        avant.ecrireInstantane(fichier);
+        // Un second instantané remplace le premier
+        avant.ecrireInstantane(fichier);
+
+        for (MoteurStockage moteur : MoteurStockage.values()) {
+            CentreDeBowling apres = CentreDeBowling.restaurer(fichier, moteur);
+            assertEquals(avant.getNumerosPistes(), apres.getNumerosPistes());
+            for (int numero = 1; numero <= 50; numero++) {
+                verifierMemeEtat(avant.getPiste(numero).partie, apres.getPiste(numero).partie);
+            }
+            assertFalse(apres.getPiste(99).partie.estDemarree());
+        }
+    }
+
+    @Test
+    void instantaneInvalide() {
+        PartieMultiJoueurs partie = new PartieMultiJoueurs();
+        partie.demarreNouvellePartie(JOUEURS);
+        partie.enregistreLancer(7);
+        byte[] instantane = FormatInstantane.ecrire(partie);
+
+        byte[] autreVersion = instantane.clone();
+        autreVersion[5] = 2;
+        assertThrows(IOException.class,
+                () -> FormatInstantane.lire(ByteBuffer.wrap(autreVersion), MoteurStockage.OBJETS));
+
+        byte[] tronque = Arrays.copyOf(instantane, instantane.length - 1);
+        assertThrows(IOException.class,
+                () -> FormatInstantane.lire(ByteBuffer.wrap(tronque), MoteurStockage.OBJETS));
+
+        // En-tête (6 octets), état, nombre de joueurs et indice courant (5), nom d'Alice (2 + 5),
+        // nombre de lancers d'Alice (1) : l'octet suivant est son unique lancer
+        byte[] corrompu = instantane.clone();
+        assertEquals(7, corrompu[19]);
+        corrompu[19] = 11;
+        assertThrows(IOException.class,
+                () -> FormatInstantane.lire(ByteBuffer.wrap(corrompu), MoteurStockage.OBJETS));
+    }
+
+    @Test
+    void fichierTronque() throws IOException {
+        CentreDeBowling centre = new CentreDeBowling();
+        centre.demarreNouvellePartie(1, JOUEURS);
+        Path fichier = dossier.resolve("centre.bin");
+        centre.ecrireInstantane(fichier);
+        byte[] octets = Files.readAllBytes(fichier);
+        Files.write(fichier, Arrays.copyOf(octets, octets.length - 3));
+        assertThrows(IOException.class, () -> CentreDeBowling.restaurer(fichier, MoteurStockage.OBJETS));
+    }
+
+    /**
+     * Joue au plus nombre lancers, chaque joueur reprenant sa séquence là où il l'avait laissée
+     */
+    private static void jouer(PartieMultiJoueurs partie, int[][] lancers, int[] joues, int nombre) {
+        for (int i = 0; i < nombre; i++) {
+            int joueur = partie.getIndexJoueurCourant();
+            if (joues[joueur] == lancers[joueur].length) {
+                return;
+            }
+            if (EtatProchainTir.estPartieTerminee(partie.jouerLancer(lancers[joueur][joues[joueur]++]))) {
+                return;
+            }
+        }
+    }
+
+    private static void verifierMemeEtat(PartieMultiJoueurs attendue, PartieMultiJoueurs obtenue) {
+        assertEquals(attendue.getNombreJoueurs(), obtenue.getNombreJoueurs());
+        assertEquals(attendue.getIndexJoueurCourant(), obtenue.getIndexJoueurCourant());
+        for (int j = 0; j < attendue.getNombreJoueurs(); j++) {
+            IPartieMonoJoueur a = attendue.getPartieJoueur(j);
+            IPartieMonoJoueur o = obtenue.getPartieJoueur(j);
+            assertEquals(a.getNomJoueur(), o.getNomJoueur());
+            assertArrayEquals(a.getLancers(), o.getLancers());
+            assertEquals(a.score(), o.score());
+            assertEquals(a.estTerminee(), o.estTerminee());
+            assertEquals(a.getNumeroTourCourant(), o.getNumeroTourCourant());
+            assertEquals(a.getNumeroBouleCourante(), o.getNumeroBouleCourante());
+            assertEquals(attendue.scorePour(a.getNomJoueur()), obtenue.scorePour(o.getNomJoueur()));
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalLancersTest {
+
+    private static final String[] JOUEURS = {"Alice", "Bérénice-Élisabeth de la Quille-Dorée", "Bob"};
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void lesPartiesSontReconstruitesApresRedemarrage() throws IOException {
+        CentreDeBowling reference = jouerPartiesInterrompues(new CentreDeBowling());
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            jouerPartiesInterrompues(new CentreDeBowling(MoteurStockage.OBJETS, journal));
+        }
+
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            CentreDeBowling apres = new CentreDeBowling(MoteurStockage.OBJETS, journal);
+            verifierMemeEtat(reference, apres);
+            // Les lancers suivants sont journalisés à la suite des précédents
+            assertEquals(reference.enregistreLancer(1, 3), apres.enregistreLancer(1, 3));
+        }
+
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            verifierMemeEtat(reference, new CentreDeBowling(MoteurStockage.OBJETS, journal));
+        }
+    }
+
+    @Test
+    void plusieursSegmentsEtSynchronisationSystematique() throws IOException {
+        // 10 enregistrements par segment
+        int tailleSegment = 10 * JournalLancers.TAILLE_ENREGISTREMENT;
+        CentreDeBowling reference = jouerPartiesInterrompues(new CentreDeBowling(MoteurStockage.COMPACT));
+        try (JournalLancers journal = new JournalLancers(dossier, tailleSegment,
+                PolitiqueSynchronisation.chaqueEnregistrement())) {
+            jouerPartiesInterrompues(new CentreDeBowling(MoteurStockage.COMPACT, journal));
+        }
+        try (Stream<Path> segments = Files.list(dossier)) {
+            assertTrue(segments.count() > 10, "Le journal doit occuper plusieurs segments");
+        }
+
+        try (JournalLancers journal = new JournalLancers(dossier, tailleSegment, PolitiqueSynchronisation.tousLes(4))) {
+            verifierMemeEtat(reference, new CentreDeBowling(MoteurStockage.COMPACT, journal));
+        }
+    }
+
+    @Test
+    void lesLancersRefusesNeSontPasJournalises() throws IOException {
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            CentreDeBowling avant = new CentreDeBowling(MoteurStockage.OBJETS, journal);
+            avant.demarreNouvellePartie(1, new String[]{"Alice"});
+            avant.enregistreLancer(1, 6);
+            assertThrows(IllegalArgumentException.class, () -> avant.enregistreLancer(1, 5));
+            avant.enregistreLancer(1, 4);
+        }
+
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            assertEquals(10, new CentreDeBowling(MoteurStockage.OBJETS, journal).scorePour(1, "Alice"));
+        }
+    }
+
+    /**
+     * 4 threads journalisent en même temps sur des pistes différentes, avec de
+     * petits segments : les enregistrements entremêlés se relisent piste par piste
+     */
+    @Test
+    void ajoutsConcurrentsSurPlusieursSegments() throws Exception {
+        int tailleSegment = 64 * JournalLancers.TAILLE_ENREGISTREMENT;
+        CentreDeBowling reference = new CentreDeBowling(MoteurStockage.COMPACT);
+        for (int t = 0; t < 4; t++) {
+            jouerPistes(reference, t);
+        }
+        try (JournalLancers journal = new JournalLancers(dossier, tailleSegment, PolitiqueSynchronisation.tousLes(16))) {
+            CentreDeBowling centre = new CentreDeBowling(MoteurStockage.COMPACT, journal);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int premier = t;
+                threads.add(Thread.ofPlatform().start(() -> jouerPistes(centre, premier)));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        try (JournalLancers journal = new JournalLancers(dossier, tailleSegment, PolitiqueSynchronisation.aucune())) {
+            verifierMemeEtat(reference, new CentreDeBowling(MoteurStockage.COMPACT, journal));
+        }
+    }
+
+    @Test
+    void ajoutApresFermetureRefuse() throws IOException {
+        JournalLancers journal = new JournalLancers(dossier);
+        journal.journaliserDemarrage(1, new String[]{"Alice"});
+        journal.close();
+        assertThrows(IllegalStateException.class, () -> journal.journaliserLancer(1, 4));
+        assertThrows(IllegalStateException.class, () -> journal.journaliserDemarrage(2, new String[]{"Bob"}));
+        journal.close();
+
+        try (JournalLancers relu = new JournalLancers(dossier)) {
+            CentreDeBowling centre = new CentreDeBowling(MoteurStockage.OBJETS, relu);
+            assertEquals(Set.of(1), centre.getNumerosPistes());
+            assertEquals(0, centre.scorePour(1, "Alice"));
+        }
+    }
+
+    /**
+     * Un enregistrement jamais publié (panne pendant son écriture) arrête la
+     * relecture ; ceux publiés après lui sont effacés à la réouverture et ne
+     * réapparaissent pas derrière les nouveaux lancers
+     */
+    @Test
+    void lesEnregistrementsApresUnTrouSontEffaces() throws IOException {
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            CentreDeBowling centre = new CentreDeBowling(MoteurStockage.OBJETS, journal);
+            centre.demarreNouvellePartie(1, new String[]{"Alice"});
+            for (int quilles = 1; quilles <= 4; quilles++) {
+                centre.enregistreLancer(1, quilles);
+            }
+        }
+        // Enregistrements : nom, démarrage, lancers 1, 2, 3, 4 ; le lancer de 3 quilles n'a pas été publié
+        try (FileChannel canal = FileChannel.open(dossier.resolve("journal-000000.seg"), StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[1]), 4L * JournalLancers.TAILLE_ENREGISTREMENT);
+        }
+
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            CentreDeBowling centre = new CentreDeBowling(MoteurStockage.OBJETS, journal);
+            assertEquals(3, centre.scorePour(1, "Alice"));
+            centre.enregistreLancer(1, 5);
+        }
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            assertEquals(8, new CentreDeBowling(MoteurStockage.OBJETS, journal).scorePour(1, "Alice"));
+        }
+    }
+
+    @Test
+    void lesCorrectionsSontRejouees() throws IOException {
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            CentreDeBowling centre = new CentreDeBowling(MoteurStockage.OBJETS, journal);
+            centre.demarreNouvellePartie(1, new String[]{"Alice", "Bob"});
+            for (int quilles : new int[]{3, 4, 5, 2, 3}) {
+                centre.enregistreLancer(1, quilles);
+            }
+            // Alice : 3 4 | 3 devient 10 | 4 3, c'est à Bob de jouer son 2e tour
+            assertEquals(EtatProchainTir.coder(1, 2, 1), centre.corrigerLancer(1, 0, 0, 10));
+            assertThrows(IllegalArgumentException.class, () -> centre.corrigerLancer(1, 1, 0, 11));
+        }
+
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            CentreDeBowling centre = new CentreDeBowling(MoteurStockage.OBJETS, journal);
+            assertEquals(24, centre.scorePour(1, "Alice"));
+            assertEquals(7, centre.scorePour(1, "Bob"));
+            assertThrows(IllegalArgumentException.class, () -> centre.enregistreLancer(1, 0, 5));
+            assertEquals(EtatProchainTir.coder(1, 2, 2), centre.enregistreLancer(1, 1, 5));
+        }
+    }
+
+    @Test
+    void unLecteurSansCorrectionsRefuseLesCorrections() throws IOException {
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            journal.journaliserDemarrage(1, new String[]{"Alice"});
+            journal.journaliserLancer(1, 3);
+            journal.journaliserCorrection(1, 0, 0, 10);
+        }
+        List<Integer> lancers = new ArrayList<>();
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            assertThrows(IllegalStateException.class, () -> journal.rejouer(new JournalLancers.Lecteur() {
+                @Override
+                public void demarrage(int numeroPiste, String[] nomsDesJoueurs) {
+                }
+
+                @Override
+                public void lancer(int numeroPiste, int quilles) {
+                    lancers.add(quilles);
+                }
+            }));
+        }
+        assertEquals(List.of(3), lancers);
+    }
+
+    @Test
+    void correctionRefuseeParLeMoteurCompact() throws IOException {
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            CentreDeBowling centre = new CentreDeBowling(MoteurStockage.COMPACT, journal);
+            centre.demarreNouvellePartie(1, new String[]{"Alice"});
+            centre.enregistreLancer(1, 3);
+            assertThrows(IllegalStateException.class, () -> centre.corrigerLancer(1, 0, 0, 10));
+        }
+        try (JournalLancers journal = new JournalLancers(dossier)) {
+            assertEquals(3, new CentreDeBowling(MoteurStockage.COMPACT, journal).scorePour(1, "Alice"));
+        }
+    }
+
+    @Test
+    void tailleDeSegmentInvalide() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new JournalLancers(dossier, 100, PolitiqueSynchronisation.aucune()));
+    }
+
+    /**
+     * Joue sur 20 pistes des parties interrompues à des moments différents,
+     * certaines pistes ayant déjà terminé une première partie
+     */
+    private static CentreDeBowling jouerPartiesInterrompues(CentreDeBowling centre) {
+        Random hasard = new Random(11);
+        for (int piste = 0; piste < 20; piste++) {
+            int parties = piste % 3 == 0 ? 2 : 1;
+            for (int p = 0; p < parties; p++) {
+                centre.demarreNouvellePartie(piste, JOUEURS);
+                int lancers = p == parties - 1 ? hasard.nextInt(20 * JOUEURS.length) : 20 * JOUEURS.length;
+                for (int i = 0; i < lancers; i++) {
+                    centre.enregistreLancer(piste, 4);
+                }
+            }
+        }
+        return centre;
+    }
+
+    /**
+     * Pistes premier, premier + 4, ... jusqu'à 40 : deux parties, la seconde interrompue
+     */
+    private static void jouerPistes(CentreDeBowling centre, int premier) {
+        for (int piste = premier; piste < 40; piste += 4) {
+            centre.demarreNouvellePartie(piste, JOUEURS);
+            for (int i = 0; i < 20 * JOUEURS.length; i++) {
+                centre.enregistreLancer(piste, 3);
+            }
+            centre.demarreNouvellePartie(piste, JOUEURS);
+            for (int i = 0; i < piste; i++) {
+                centre.enregistreLancer(piste, (piste + i) % 5);
+            }
+        }
+    }
+
+    private static void verifierMemeEtat(CentreDeBowling attendu, CentreDeBowling obtenu) {
+        assertEquals(attendu.getNumerosPistes(), obtenu.getNumerosPistes());
+        for (int piste : attendu.getNumerosPistes()) {
+            for (String joueur : JOUEURS) {
+                assertEquals(attendu.scorePour(piste, joueur), obtenu.scorePour(piste, joueur),
+                        "Piste " + piste + ", " + joueur);
+            }
+        }
+    }
+}
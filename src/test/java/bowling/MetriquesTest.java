@@ -0,0 +1,166 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MetriquesTest {
+
+    @AfterEach
+    void desactiver() {
+        Metriques.activer(false);
+    }
+
+    @Test
+    void casesDeLHistogramme() {
+        Random hasard = new Random(19);
+        for (int i = 0; i < 100_000; i++) {
+            long valeur = hasard.nextLong() >>> (1 + hasard.nextInt(63));
+            long borne = Histogramme.borneSuperieure(Histogramme.indice(valeur));
+            assertTrue(borne >= valeur, "Valeur " + valeur);
+            assertTrue(borne - valeur <= valeur / 8, "Valeur " + valeur);
+        }
+        assertEquals(Long.MAX_VALUE, Histogramme.borneSuperieure(Histogramme.indice(Long.MAX_VALUE)));
+
+        Histogramme histogramme = new Histogramme();
+        for (int valeur = 1; valeur <= 1000; valeur++) {
+            histogramme.enregistrer(valeur);
+        }
+        assertEquals(1000, histogramme.getNombre());
+        assertEquals(1000, histogramme.getMaximum());
+        assertTrue(Math.abs(histogramme.quantile(0.5) - 500) <= 500 / 8);
+        assertTrue(Math.abs(histogramme.quantile(0.99) - 990) <= 990 / 8);
+        assertEquals(1000, histogramme.quantile(1));
+    }
+
+    @Test
+    void metriquesDuCentreParJmx() throws Exception {
+        CentreDeBowling centre = new CentreDeBowling(MoteurStockage.COMPACT);
+        ObjectName nom = centre.exposerMetriques("MetriquesTest");
+        MBeanServer serveur = ManagementFactory.getPlatformMBeanServer();
+        try {
+            centre.demarreNouvellePartie(1, new String[]{"Alice"});
+            centre.enregistreLancer(1, 3);
+            assertEquals(0L, serveur.getAttribute(nom, "NombreLancers"), "Relevé désactivé par défaut");
+
+            serveur.setAttribute(nom, new Attribute("Activees", true));
+            assertTrue(Metriques.sontActivees());
+            long scores = Metriques.GLOBALES.getNombreScores();
+            long lancersHorsCentre = Metriques.GLOBALES.getNombreLancers();
+            for (int i = 0; i < 1000; i++) {
+                centre.demarreNouvellePartie(1, new String[]{"Alice"});
+                for (int lancer = 0; lancer < 20; lancer++) {
+                    centre.enregistreLancer(1, 0, 4);
+                }
+            }
+            assertEquals(20_000L, serveur.getAttribute(nom, "NombreLancers"));
+            assertEquals(lancersHorsCentre, Metriques.GLOBALES.getNombreLancers(), "Les lancers du centre lui sont propres");
+            assertEquals(20_000 / Metriques.PERIODE_ECHANTILLONNAGE, centre.getMetriques().getDureesLancer().getNombre(),
+                         "Un lancer sur " + Metriques.PERIODE_ECHANTILLONNAGE + " est chronométré");
+            assertTrue((long) serveur.getAttribute(nom, "DureeLancerMediane") > 0);
+
+            new PartieMonoJoueur().score();
+            assertEquals(scores + 1, serveur.getAttribute(nom, "NombreScores"));
+
+            serveur.invoke(nom, "reinitialiser", null, null);
+            assertEquals(0L, serveur.getAttribute(nom, "NombreLancers"));
+            assertEquals(scores + 1, Metriques.GLOBALES.getNombreScores(),
+                         "Les scores sont partagés par tous les centres : un centre ne les remet pas à zéro");
+        } finally {
+            serveur.unregisterMBean(nom);
+        }
+    }
+
+    @Test
+    void calculsDeScoreDeTousLesCalculateurs() {
+        Metriques.activer(true);
+        List<Tour> tours = PartiesAleatoires.tours(new int[]{10, 7, 3, 4});
+        long avant = Metriques.GLOBALES.getNombreCalculsScore();
+        assertEquals(38, new CalculateurScore().calculerScoreTotal(tours));
+        assertEquals(38, new CalculateurScoreAutomate().calculerScoreTotal(tours));
+        assertEquals(avant + 2, Metriques.GLOBALES.getNombreCalculsScore());
+    }
+
+    /**
+     * Des milliers de threads virtuels éphémères : aucun appel n'est perdu, bien
+     * qu'ils se partagent un nombre fixe de cellules
+     */
+    @Test
+    void comptageExactAvecDesThreadsEphemeres() throws Exception {
+        Metriques.activer(true);
+        Metriques.Mesure mesure = new Metriques.Mesure();
+        try (ExecutorService executeur = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 10_000; t++) {
+                executeur.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        mesure.fin(mesure.debut());
+                    }
+                });
+            }
+        }
+        assertEquals(1_000_000, mesure.getNombre());
+        mesure.reinitialiser();
+        assertEquals(0, mesure.getNombre());
+    }
+
+    /**
+     * Le coût d'un point de mesure activé tient dans un budget de quelques
+     * nanosecondes au-dessus de l'incrément atomique d'un compteur, mesuré sur la
+     * même machine : cet incrément (une instruction lock xadd, de 5 à 15 ns selon
+     * la machine) est le prix d'un comptage exact, le reste (choix de la cellule,
+     * chronométrage d'un appel sur 64) ne doit pas dépasser 5 ns par appel.
+     * On garde la meilleure de plusieurs séries, pour ne pas mesurer les
+     * interruptions de la machine de test.
+     */
+    @Test
+    void surcoutParAppel() {
+        Metriques.Mesure mesure = new Metriques.Mesure();
+        AtomicLongArray compteur = new AtomicLongArray(1);
+        int appels = 2_000_000;
+        double meilleurSansMesure = Double.MAX_VALUE;
+        double meilleurAvecMesure = Double.MAX_VALUE;
+        double meilleurIncrement = Double.MAX_VALUE;
+        // Échauffement : les boucles mesurées sont compilées avant la première série retenue
+        for (int serie = 0; serie < 5; serie++) {
+            Metriques.activer(serie % 2 == 0);
+            nanosParAppel(mesure, appels);
+            nanosParIncrement(compteur, appels);
+        }
+        for (int serie = 0; serie < 25; serie++) {
+            Metriques.activer(false);
+            meilleurSansMesure = Math.min(meilleurSansMesure, nanosParAppel(mesure, appels));
+            Metriques.activer(true);
+            meilleurAvecMesure = Math.min(meilleurAvecMesure, nanosParAppel(mesure, appels));
+            meilleurIncrement = Math.min(meilleurIncrement, nanosParIncrement(compteur, appels));
+        }
+        double surcout = meilleurAvecMesure - meilleurSansMesure;
+        assertTrue(surcout < meilleurIncrement + 5,
+                   "Surcoût par appel : " + surcout + " ns, pour un incrément atomique de " + meilleurIncrement + " ns");
+    }
+
+    private static double nanosParIncrement(AtomicLongArray compteur, int appels) {
+        long debutSerie = System.nanoTime();
+        for (int i = 0; i < appels; i++) {
+            compteur.incrementAndGet(0);
+        }
+        return (double) (System.nanoTime() - debutSerie) / appels;
+    }
+
+    private static double nanosParAppel(Metriques.Mesure mesure, int appels) {
+        long debutSerie = System.nanoTime();
+        for (int i = 0; i < appels; i++) {
+            mesure.fin(mesure.debut());
+        }
+        return (double) (System.nanoTime() - debutSerie) / appels;
+    }
+}
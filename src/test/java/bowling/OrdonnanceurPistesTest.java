@@ -0,0 +1,86 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class OrdonnanceurPistesTest {
+
+    @Test
+    void repartitionDesJoueurs() {
+        OrdonnanceurPistes ordonnanceur = new OrdonnanceurPistes(noms(10), 3, MoteurStockage.COMPACT);
+        int[] attendues = {0, 0, 0, 1, 1, 1, 2, 2, 2, 2};
+        for (int joueur = 0; joueur < attendues.length; joueur++) {
+            assertEquals(attendues[joueur], ordonnanceur.pisteDe(joueur));
+        }
+        ordonnanceur.demarrer();
+        assertEquals(0, ordonnanceur.joueurCourant(0));
+        assertEquals(3, ordonnanceur.joueurCourant(1));
+        assertEquals(6, ordonnanceur.joueurCourant(2));
+    }
+
+    @Test
+    void grandeSeanceEntrelacee() {
+        for (MoteurStockage moteur : MoteurStockage.values()) {
+            int nombreJoueurs = 128;
+            OrdonnanceurPistes ordonnanceur = new OrdonnanceurPistes(noms(nombreJoueurs), 8, moteur);
+            Random hasard = new Random(18);
+            int[][] lancers = new int[nombreJoueurs][];
+            for (int joueur = 0; joueur < nombreJoueurs; joueur++) {
+                lancers[joueur] = PartiesAleatoires.partieComplete(hasard);
+            }
+            int[] joues = new int[nombreJoueurs];
+            ordonnanceur.demarrer();
+
+            // Les pistes lancent à tour de rôle, dans le désordre
+            while (!ordonnanceur.estTerminee()) {
+                int piste = hasard.nextInt(ordonnanceur.getNombrePistes());
+                if (ordonnanceur.estTerminee(piste)) {
+                    continue;
+                }
+                int joueur = ordonnanceur.joueurCourant(piste);
+                long etat = ordonnanceur.jouerLancer(piste, lancers[joueur][joues[joueur]++]);
+                if (!EtatProchainTir.estPartieTerminee(etat)) {
+                    assertEquals(piste, ordonnanceur.pisteDe(EtatProchainTir.indexJoueur(etat)));
+                    assertEquals(ordonnanceur.joueurCourant(piste), EtatProchainTir.indexJoueur(etat));
+                }
+            }
+
+            for (int joueur = 0; joueur < nombreJoueurs; joueur++) {
+                assertEquals(lancers[joueur].length, joues[joueur]);
+                IPartieMonoJoueur reference = moteur.nouvellePartie("");
+                for (int quilles : lancers[joueur]) {
+                    reference.enregistrerLancer(quilles);
+                }
+                assertEquals(reference.score(), ordonnanceur.scorePour(joueur), moteur + ", joueur " + joueur);
+            }
+            assertTrue(ordonnanceur.estTerminee(0));
+            assertThrows(IllegalStateException.class, () -> ordonnanceur.jouerLancer(0, 0));
+        }
+    }
+
+    @Test
+    void argumentsInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new OrdonnanceurPistes(new String[0], 1, MoteurStockage.COMPACT));
+        assertThrows(IllegalArgumentException.class, () -> new OrdonnanceurPistes(noms(2), 3, MoteurStockage.COMPACT));
+        OrdonnanceurPistes ordonnanceur = new OrdonnanceurPistes(noms(4), 2, MoteurStockage.COMPACT);
+        assertFalse(ordonnanceur.estTerminee());
+        assertThrows(IllegalStateException.class, () -> ordonnanceur.jouerLancer(0, 0));
+        ordonnanceur.demarrer();
+        assertThrows(IllegalArgumentException.class, () -> ordonnanceur.jouerLancer(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> ordonnanceur.scorePour(4));
+        assertEquals(2, ordonnanceur.getNombrePistesEnCours());
+        assertFalse(ordonnanceur.estTerminee(1));
+    }
+
+    private static String[] noms(int nombre) {
+        String[] noms = new String[nombre];
+        for (int i = 0; i < nombre; i++) {
+            noms[i] = "Joueur " + i;
+        }
+        return noms;
+    }
+}
@@ -0,0 +1,104 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PartieMonoJoueurCompacteTest {
+
+    private PartieMonoJoueurCompacte partie;
+
+    @BeforeEach
+    void setUp() {
+        partie = new PartieMonoJoueurCompacte();
+    }
+
+    @Test
+    void memeEtatQueLeMoteurObjetsApresChaqueLancer() {
+        Random hasard = new Random(7);
+        for (int p = 0; p < 2000; p++) {
+            IPartieMonoJoueur compacte = MoteurStockage.COMPACT.nouvellePartie("A");
+            IPartieMonoJoueur objets = MoteurStockage.OBJETS.nouvellePartie("A");
+            for (int quilles : PartiesAleatoires.partieComplete(hasard)) {
+                compacte.enregistrerLancer(quilles);
+                objets.enregistrerLancer(quilles);
+                assertEquals(objets.score(), compacte.score(), "Même score");
+                assertEquals(objets.getNumeroTourCourant(), compacte.getNumeroTourCourant(), "Même tour");
+                assertEquals(objets.getNumeroBouleCourante(), compacte.getNumeroBouleCourante(), "Même boule");
+                assertEquals(objets.estTerminee(), compacte.estTerminee(), "Même état de fin");
+                assertEquals(objets.doitRelancer(), compacte.doitRelancer(), "Même joueur au prochain lancer");
+                assertEquals(objets.aTermineSonTour(), compacte.aTermineSonTour(), "Même fin de tour");
+            }
+            assertTrue(compacte.estTerminee(), "La partie doit être terminée");
+        }
+    }
+
+    /**
+     * Octets alloués par partie terminée, gardée en mémoire, pour chaque moteur :
+     * mesurés par le compteur d'allocations du thread, sur NOMBRE_PARTIES parties
+     */
+    @Test
+    void octetsParPartie() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported());
+        int[][] lancers = new int[1000][];
+        Random hasard = new Random(2);
+        for (int p = 0; p < lancers.length; p++) {
+            lancers[p] = PartiesAleatoires.partieComplete(hasard);
+        }
+        long[] octets = new long[MoteurStockage.values().length];
+        for (MoteurStockage moteur : MoteurStockage.values()) {
+            IPartieMonoJoueur[] parties = new IPartieMonoJoueur[lancers.length];
+            long avant = threads.getCurrentThreadAllocatedBytes();
+            for (int p = 0; p < parties.length; p++) {
+                parties[p] = moteur.nouvellePartie("A");
+                for (int quilles : lancers[p]) {
+                    parties[p].enregistrerLancer(quilles);
+                }
+            }
+            octets[moteur.ordinal()] = (threads.getCurrentThreadAllocatedBytes() - avant) / parties.length;
+            assertTrue(parties[parties.length - 1].estTerminee());
+        }
+        long compacte = octets[MoteurStockage.COMPACT.ordinal()];
+        long objets = octets[MoteurStockage.OBJETS.ordinal()];
+        // Objet, 21 lancers et 10 débuts de tours, en-têtes compris
+        assertTrue(compacte <= 128, "Moteur compact : " + compacte + " octets par partie");
+        assertTrue(compacte * 5 < objets, "Compact : " + compacte + " octets, objets : " + objets + " octets par partie");
+    }
+
+    @Test
+    void passeAuTourSuivant() {
+        partie.enregistrerLancer(1);
+        assertTrue(partie.doitRelancer(), "Premier lancer, le tour continue");
+        partie.enregistrerLancer(1);
+        assertFalse(partie.doitRelancer(), "Deuxième lancer, le tour est fini");
+        assertEquals(2, partie.getNumeroTourCourant(), "On doit être au tour n°2");
+        assertEquals(1, partie.getNumeroBouleCourante(), "On doit être à la boule n°1");
+    }
+
+    @Test
+    void testPerfectGame() {
+        for (int i = 0; i < 12; i++) {
+            partie.enregistrerLancer(10);
+        }
+        assertEquals(300, partie.score(), "Le jeu parfait (12 Strikes) doit faire 300");
+        assertTrue(partie.estTerminee());
+        assertThrows(IllegalStateException.class, () -> partie.enregistrerLancer(0),
+                "Le jeu est fini, on doit avoir une exception");
+    }
+
+    @Test
+    void lancersInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> partie.enregistrerLancer(11),
+                "Pas plus de 10 quilles");
+        partie.enregistrerLancer(5);
+        assertThrows(IllegalArgumentException.class, () -> partie.enregistrerLancer(6),
+                "Le total des quilles abattues dans un tour normal ne peut pas dépasser 10.");
+        assertEquals(2, partie.getNumeroBouleCourante(), "Le lancer invalide n'est pas enregistré");
+    }
+}
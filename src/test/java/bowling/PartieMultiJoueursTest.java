@@ -1,6 +1,7 @@
 package bowling;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -208,4 +209,73 @@ class PartieMultiJoueursTest {
         assertEquals(12, partie.scorePour(JOUEUR_1), "Score final d'Alice doit être 12");
         assertEquals(14, partie.scorePour(JOUEUR_2), "Score final de Bob doit être 14");
     }
+
+    // --- Tests des identifiants de joueurs ---
+
+    @Test
+    void testIdentifiantsDesJoueurs() {
+        PartieMultiJoueurs partieMulti = new PartieMultiJoueurs();
+        int[] identifiants = partieMulti.demarrerPartie(joueurs);
+        assertEquals(2, identifiants.length);
+        assertEquals(0, identifiants[0]);
+        assertEquals(1, identifiants[1]);
+
+        partieMulti.enregistreLancer(7);
+        partieMulti.enregistreLancer(2);
+        assertEquals(9, partieMulti.scorePour(identifiants[0]));
+        assertEquals(partieMulti.scorePour(JOUEUR_1), partieMulti.scorePour(identifiants[0]));
+        assertEquals(partieMulti.scorePour(JOUEUR_2), partieMulti.scorePour(identifiants[1]));
+        assertThrows(IllegalArgumentException.class, () -> partieMulti.scorePour(2));
+        assertThrows(IllegalArgumentException.class, () -> partieMulti.scorePour(-1));
+    }
+
+    @Test
+    void testScoreParIdentifiantAvantDemarrage() {
+        assertThrows(IllegalStateException.class, () -> new PartieMultiJoueurs().scorePour(0));
+    }
+
+    @Test
+    void testHomonymesOntChacunLeurPartie() {
+        PartieMultiJoueurs partieMulti = new PartieMultiJoueurs(MoteurStockage.COMPACT);
+        int[] identifiants = partieMulti.demarrerPartie(new String[]{JOUEUR_1, JOUEUR_1});
+        partieMulti.enregistreLancer(10);
+        partieMulti.enregistreLancer(3);
+        assertEquals(10, partieMulti.scorePour(identifiants[0]));
+        assertEquals(3, partieMulti.scorePour(identifiants[1]));
+        // Le nom désigne le premier des deux
+        assertEquals(10, partieMulti.scorePour(JOUEUR_1));
+    }
+
+    // --- Tests de l'état structuré du prochain tir ---
+
+    @Test
+    void testEtatProchainTirCorrespondAuMessage() {
+        PartieMultiJoueurs avecMessages = new PartieMultiJoueurs(MoteurStockage.COMPACT);
+        PartieMultiJoueurs sansMessage = new PartieMultiJoueurs(MoteurStockage.COMPACT);
+        avecMessages.demarreNouvellePartie(joueurs);
+        sansMessage.demarrerPartie(joueurs);
+        for (int lancer = 0; lancer < 2 * 12; lancer++) {
+            String attendu = avecMessages.enregistreLancer(10);
+            long etat = sansMessage.jouerLancer(10);
+            assertEquals(attendu, sansMessage.messageProchainTir(etat));
+            if (!EtatProchainTir.estPartieTerminee(etat)) {
+                assertEquals("Prochain tir : joueur " + joueurs[EtatProchainTir.indexJoueur(etat)]
+                             + ", tour n° " + EtatProchainTir.numeroTour(etat)
+                             + ", boule n° " + EtatProchainTir.numeroBoule(etat), attendu);
+            }
+        }
+    }
+
+    @Test
+    void testMessagesReutilisesDUnePartieALAutre() {
+        PartieMultiJoueurs partieMulti = new PartieMultiJoueurs();
+        String premier = partieMulti.demarreNouvellePartie(joueurs);
+        String apresLancer = partieMulti.enregistreLancer(3);
+        assertSame(premier, partieMulti.demarreNouvellePartie(joueurs));
+        assertSame(apresLancer, partieMulti.enregistreLancer(3));
+
+        // Un autre joueur à la même place a ses propres messages
+        assertEquals("Prochain tir : joueur Carole, tour n° 1, boule n° 1",
+                     partieMulti.demarreNouvellePartie(new String[]{"Carole", JOUEUR_2}));
+    }
 }
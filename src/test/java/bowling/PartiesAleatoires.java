@@ -0,0 +1,105 @@
+package bowling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Génère des parties complètes et valides (au sens de Tour) pour les tests.
+ */
+final class PartiesAleatoires {
+
+    private PartiesAleatoires() {
+    }
+
+    /**
+     * Tire une partie complète au hasard.
+     * Au 10e tour, Tour ne contrôle pas la somme des quilles : on génère
+     * donc aussi ces cas pour couvrir toutes les parties acceptées.
+     * @param hasard le générateur aléatoire
+     * @return la séquence des lancers de la partie
+     */
+    static int[] partieComplete(Random hasard) {
+        int[] lancers = new int[21];
+        int n = 0;
+        for (int tour = 1; tour < 10; tour++) {
+            int premier = quilles(hasard, 10);
+            lancers[n++] = premier;
+            if (premier < 10) {
+                lancers[n++] = quilles(hasard, 10 - premier);
+            }
+        }
+        int premier = quilles(hasard, 10);
+        int second = quilles(hasard, 10);
+        lancers[n++] = premier;
+        lancers[n++] = second;
+        if (premier == 10 || premier + second == 10) {
+            lancers[n++] = quilles(hasard, 10);
+        }
+        return Arrays.copyOf(lancers, n);
+    }
+
+    /**
+     * Construit les tours correspondant à une séquence de lancers
+     * @param lancers la séquence des lancers (éventuellement incomplète)
+     * @return la liste des tours terminés, suivis du tour en cours s'il a commencé
+     */
+    static List<Tour> tours(int[] lancers) {
+        List<Tour> tours = new ArrayList<>();
+        Tour tour = new Tour(1);
+        for (int quilles : lancers) {
+            if (tour.estTermine()) {
+                tours.add(tour);
+                tour = new Tour(tours.size() + 1);
+            }
+            tour.ajouterLancer(new Lancer(quilles));
+        }
+        if (tour.getNombreLancers() > 0) {
+            tours.add(tour);
+        }
+        return tours;
+    }
+
+    /**
+     * Écrit une partie complète dans la notation lue par CalculateurScoreFlux,
+     * les tours étant séparés par un espace
+     * @param lancers la séquence des lancers d'une partie complète
+     * @return la ligne, par exemple {@code X 7/ 9- X -8 8/ -6 X X X81}
+     */
+    static String enNotation(int[] lancers) {
+        StringBuilder ligne = new StringBuilder();
+        int debut = 0;
+        for (int tour = 1; tour <= 10; tour++) {
+            int fin = tour < 10 ? debut + (lancers[debut] == 10 ? 1 : 2) : lancers.length;
+            if (tour > 1) {
+                ligne.append(' ');
+            }
+            // Pas de spare sur des quilles tout juste relevées (au 10e tour, après un strike ou un spare)
+            boolean quillesRelevees = true;
+            for (int i = debut; i < fin; i++) {
+                boolean spare = !quillesRelevees && lancers[i - 1] + lancers[i] == 10;
+                quillesRelevees = quillesRelevees ? lancers[i] == 10 : spare;
+                if (spare) {
+                    ligne.append('/');
+                } else if (lancers[i] == 10) {
+                    ligne.append('X');
+                } else if (lancers[i] == 0) {
+                    ligne.append('-');
+                } else {
+                    ligne.append((char) ('0' + lancers[i]));
+                }
+            }
+            debut = fin;
+        }
+        return ligne.toString();
+    }
+
+    /**
+     * Tire un nombre de quilles entre 0 et max, en favorisant les strikes et
+     * les spares pour exercer les bonus.
+     */
+    private static int quilles(Random hasard, int max) {
+        return hasard.nextInt(3) == 0 ? max : hasard.nextInt(max + 1);
+    }
+}
@@ -0,0 +1,162 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class PisteActeurTest {
+
+    private static final String[] JOUEURS = {"Alice", "Bob"};
+
+    @Test
+    void executeLesCommandesDansLOrdre() throws Exception {
+        for (ModeExecution mode : ModeExecution.values()) {
+            try (PisteActeur piste = new PisteActeur(1, new PartieMultiJoueurs(), mode)) {
+                assertEquals("Prochain tir : joueur Alice, tour n° 1, boule n° 1",
+                        piste.demarreNouvellePartie(JOUEURS).get(5, TimeUnit.SECONDS));
+                piste.enregistreLancer(7);
+                CompletableFuture<Integer> score = piste.scorePour("Alice");
+                assertEquals(7, score.get(5, TimeUnit.SECONDS), "La lecture voit le lancer déposé avant elle");
+            }
+        }
+    }
+
+    @Test
+    void lesErreursSontRenduesParLeFutur() {
+        for (ModeExecution mode : ModeExecution.values()) {
+            try (PisteActeur piste = new PisteActeur(1, new PartieMultiJoueurs(), mode)) {
+                ExecutionException erreur = assertThrows(ExecutionException.class,
+                        () -> piste.enregistreLancer(5).get(5, TimeUnit.SECONDS),
+                        "La partie n'est pas démarrée");
+                assertTrue(erreur.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    @Test
+    void aucunLancerPerduAvecPlusieursProducteurs() throws Exception {
+        for (ModeExecution mode : ModeExecution.values()) {
+            int nombreProducteurs = 4;
+            try (PisteActeur piste = new PisteActeur(1, new PartieMultiJoueurs(), mode)) {
+                piste.demarreNouvellePartie(JOUEURS);
+                ExecutorService executeur = Executors.newFixedThreadPool(nombreProducteurs);
+                List<CompletableFuture<String>> resultats = new ArrayList<>();
+                List<Future<List<CompletableFuture<String>>>> producteurs = new ArrayList<>();
+                for (int t = 0; t < nombreProducteurs; t++) {
+                    producteurs.add(executeur.submit(() -> {
+                        List<CompletableFuture<String>> futurs = new ArrayList<>();
+                        for (int lancer = 0; lancer < 20 * JOUEURS.length / nombreProducteurs; lancer++) {
+                            futurs.add(piste.enregistreLancer(4));
+                        }
+                        return futurs;
+                    }));
+                }
+                for (var producteur : producteurs) {
+                    resultats.addAll(producteur.get(5, TimeUnit.SECONDS));
+                }
+                executeur.shutdown();
+                CompletableFuture.allOf(resultats.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+                assertEquals(80, piste.scorePour("Alice").get(5, TimeUnit.SECONDS));
+                assertEquals(80, piste.scorePour("Bob").get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    /**
+     * Des producteurs déposent des commandes pendant que la piste s'arrête :
+     * chaque commande acceptée doit être complétée, normalement ou par une exception
+     */
+    @Test
+    void aucuneCommandeEnSouffrancePendantLArret() throws Exception {
+        for (int essai = 0; essai < 200; essai++) {
+            PisteActeur piste = new PisteActeur(1, new PartieMultiJoueurs(), ModeExecution.THREADS_VIRTUELS);
+            piste.demarreNouvellePartie(JOUEURS);
+            List<List<CompletableFuture<Integer>>> futursParProducteur = new ArrayList<>();
+            List<Thread> producteurs = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                List<CompletableFuture<Integer>> futurs = new ArrayList<>();
+                futursParProducteur.add(futurs);
+                producteurs.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        for (int commande = 0; commande < 2000; commande++) {
+                            futurs.add(piste.scorePour("Alice"));
+                        }
+                    } catch (IllegalStateException e) {
+                        // La piste est arrêtée
+                    }
+                }));
+            }
+            Thread.sleep(0, essai * 1000 % 100_000);
+            piste.close();
+            for (Thread producteur : producteurs) {
+                producteur.join();
+            }
+            for (List<CompletableFuture<Integer>> futurs : futursParProducteur) {
+                for (CompletableFuture<Integer> futur : futurs) {
+                    futur.handle((score, erreur) -> null).get(5, TimeUnit.SECONDS);
+                }
+            }
+        }
+    }
+
+    @Test
+    void uneErrorNArretePasLaPiste() throws Exception {
+        for (ModeExecution mode : ModeExecution.values()) {
+            try (PisteActeur piste = new PisteActeur(1, new PartieMultiJoueurs(), mode)) {
+                ExecutionException erreur = assertThrows(ExecutionException.class,
+                        () -> piste.soumettre(p -> { throw new AssertionError("échec"); }).get(5, TimeUnit.SECONDS));
+                assertTrue(erreur.getCause() instanceof AssertionError);
+                assertEquals("Prochain tir : joueur Alice, tour n° 1, boule n° 1",
+                        piste.demarreNouvellePartie(JOUEURS).get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    void uneErreurFataleCompleteLesCommandesEnAttente() throws Exception {
+        for (ModeExecution mode : ModeExecution.values()) {
+            try (PisteActeur piste = new PisteActeur(1, new PartieMultiJoueurs(), mode)) {
+                CountDownLatch bloquee = new CountDownLatch(1);
+                piste.soumettre(p -> {
+                    try {
+                        return bloquee.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                CompletableFuture<Object> fatale = piste.soumettre(p -> { throw new StackOverflowError(); });
+                CompletableFuture<String> enAttente = piste.demarreNouvellePartie(JOUEURS);
+                bloquee.countDown();
+
+                ExecutionException erreur = assertThrows(ExecutionException.class,
+                        () -> fatale.get(5, TimeUnit.SECONDS));
+                assertTrue(erreur.getCause() instanceof StackOverflowError);
+                erreur = assertThrows(ExecutionException.class,
+                        () -> enAttente.get(5, TimeUnit.SECONDS),
+                        "La commande déposée derrière l'erreur fatale ne reste pas sans réponse");
+                assertTrue(erreur.getCause() instanceof IllegalStateException);
+                assertThrows(IllegalStateException.class, () -> piste.enregistreLancer(5));
+            }
+        }
+    }
+
+    @Test
+    void pisteArretee() {
+        for (ModeExecution mode : ModeExecution.values()) {
+            PisteActeur piste = new PisteActeur(1, new PartieMultiJoueurs(), mode);
+            piste.close();
+            assertThrows(IllegalStateException.class, () -> piste.enregistreLancer(5));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ProjectionScoreTest {
+
+    @Test
+    void bornesDUnePartieQuiCommence() {
+        ProjectionScore projection = new ProjectionScore();
+        assertEquals(0, projection.scoreMinimum());
+        assertEquals(300, projection.scoreMaximum());
+
+        projection.ajouterLancer(7);
+        assertEquals(7, projection.scoreMinimum());
+        assertEquals(7 + 3 + 10 + 270, projection.scoreMaximum(), "Spare puis que des strikes");
+
+        ProjectionScore parfaite = ProjectionScore.depuis(new int[]{10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10});
+        assertTrue(parfaite.estTerminee());
+        assertEquals(300, parfaite.scoreMinimum());
+        assertEquals(300, parfaite.scoreMaximum());
+    }
+
+    @Test
+    void lancersRefusesCommeParTour() {
+        ProjectionScore projection = ProjectionScore.depuis(new int[]{6});
+        assertThrows(IllegalArgumentException.class, () -> projection.ajouterLancer(5));
+        assertThrows(IllegalArgumentException.class, () -> projection.ajouterLancer(-1));
+        ProjectionScore finie = ProjectionScore.depuis(new int[20]);
+        assertThrows(IllegalStateException.class, () -> finie.ajouterLancer(0));
+    }
+
+    /**
+     * Pour des débuts de partie tirés au hasard, énumère toutes les fins de
+     * partie que le moteur accepte à partir du 9e tour, et compare en chaque
+     * point le plus petit et le plus grand score final trouvés à la projection.
+     */
+    @Test
+    void identiqueAUneEnumerationExhaustive() {
+        Random hasard = new Random(21);
+        for (int essai = 0; essai < 20; essai++) {
+            int[] partie = PartiesAleatoires.partieComplete(hasard);
+            int[] debut = Arrays.copyOf(partie, debutDuTour(partie, 9));
+            enumerer(debut);
+        }
+        // Fins de partie qui exercent les bonus en attente au 10e tour
+        enumerer(new int[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 10, 10});
+        enumerer(new int[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 6, 10});
+    }
+
+    @Test
+    void peutEncoreBattreDansUnePartieMultiJoueurs() {
+        PartieMultiJoueurs partie = new PartieMultiJoueurs(MoteurStockage.COMPACT);
+        int[] joueurs = partie.demarrerPartie(new String[]{"Alice", "Bob"});
+        int alice = joueurs[0];
+        int bob = joueurs[1];
+        assertTrue(partie.peutEncoreBattre(alice, bob));
+
+        // Alice fait un tour parfait à chaque fois, Bob ne fait que des 0
+        for (int tour = 1; tour <= 9; tour++) {
+            partie.jouerLancer(10);
+            partie.jouerLancer(0);
+            partie.jouerLancer(0);
+        }
+        assertEquals(10 + 20 + 7 * 30, partie.scoreMinimum(alice), "Bonus des deux derniers strikes en attente");
+        assertEquals(300, partie.scoreMaximum(alice));
+        assertEquals(0, partie.scoreMinimum(bob));
+        assertEquals(30, partie.scoreMaximum(bob));
+        assertFalse(partie.peutEncoreBattre(bob, alice));
+        assertTrue(partie.peutEncoreBattre(alice, bob));
+        assertThrows(IllegalArgumentException.class, () -> partie.scoreMaximum(2));
+        assertThrows(IllegalStateException.class, () -> new PartieMultiJoueurs().scoreMinimum(0));
+    }
+
+    @Test
+    void projectionsRestaureesDepuisUnInstantane() throws Exception {
+        PartieMultiJoueurs partie = new PartieMultiJoueurs(MoteurStockage.OBJETS);
+        partie.demarrerPartie(new String[]{"Alice", "Bob"});
+        partie.jouerLancer(10);
+        partie.jouerLancer(3);
+        PartieMultiJoueurs relue = FormatInstantane.lire(ByteBuffer.wrap(FormatInstantane.ecrire(partie)),
+                                                         MoteurStockage.OBJETS);
+        for (int joueur = 0; joueur < 2; joueur++) {
+            assertEquals(partie.scoreMinimum(joueur), relue.scoreMinimum(joueur));
+            assertEquals(partie.scoreMaximum(joueur), relue.scoreMaximum(joueur));
+        }
+        assertEquals(10 + 10 + 10 + 270, relue.scoreMaximum(0));
+        assertEquals(3 + 7 + 280, relue.scoreMaximum(1));
+    }
+
+    /**
+     * Énumère toutes les suites de lancers acceptées par le moteur après debut,
+     * en vérifiant la projection à chaque étape
+     * @return le plus petit et le plus grand score final depuis debut
+     */
+    private static int[] enumerer(int[] debut) {
+        IPartieMonoJoueur partie = rejouer(debut);
+        ProjectionScore projection = ProjectionScore.depuis(debut);
+        if (partie.estTerminee()) {
+            assertTrue(projection.estTerminee());
+            assertEquals(partie.score(), projection.scoreMaximum());
+            return new int[]{partie.score(), partie.score()};
+        }
+        int minimum = Integer.MAX_VALUE;
+        int maximum = Integer.MIN_VALUE;
+        int[] suite = Arrays.copyOf(debut, debut.length + 1);
+        for (int quilles = 0; quilles <= 10; quilles++) {
+            try {
+                rejouer(debut).enregistrerLancer(quilles);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            suite[debut.length] = quilles;
+            int[] bornes = enumerer(suite);
+            minimum = Math.min(minimum, bornes[0]);
+            maximum = Math.max(maximum, bornes[1]);
+        }
+        String message = "Après " + Arrays.toString(debut);
+        assertEquals(partie.score(), projection.scoreMinimum(), message);
+        assertEquals(minimum, projection.scoreMinimum(), message);
+        assertEquals(maximum, projection.scoreMaximum(), message);
+        return new int[]{minimum, maximum};
+    }
+
+    private static IPartieMonoJoueur rejouer(int[] lancers) {
+        IPartieMonoJoueur partie = new PartieMonoJoueurCompacte("Joueur");
+        for (int quilles : lancers) {
+            partie.enregistrerLancer(quilles);
+        }
+        return partie;
+    }
+
+    /**
+     * @return l'indice du premier lancer du tour numeroTour
+     */
+    private static int debutDuTour(int[] lancers, int numeroTour) {
+        int tour = 1;
+        int i = 0;
+        while (tour < numeroTour) {
+            i += lancers[i] == 10 ? 1 : 2;
+            tour++;
+        }
+        return i;
+    }
+}
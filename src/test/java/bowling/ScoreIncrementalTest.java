@@ -0,0 +1,37 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ScoreIncrementalTest {
+
+    @Test
+    void scoreIdentiqueAuCalculDeReferenceApresChaqueLancer() {
+        Random hasard = new Random(42);
+        for (int p = 0; p < 2000; p++) {
+            PartieMonoJoueur partie = new PartieMonoJoueur();
+            assertEquals(0, partie.score(), "Une partie qui commence vaut 0");
+            for (int quilles : PartiesAleatoires.partieComplete(hasard)) {
+                partie.enregistrerLancer(quilles);
+                assertEquals(partie.scoreParRecalcul(), partie.score(),
+                        "Le score incrémental doit être égal au score recalculé");
+            }
+        }
+    }
+
+    @Test
+    void reinitialiserRemetLeScoreAZero() {
+        CalculateurScoreIncremental calculateur = new CalculateurScoreIncremental();
+        for (int i = 0; i < 12; i++) {
+            calculateur.ajouterLancer(10);
+        }
+        assertEquals(300, calculateur.getScore(), "Le jeu parfait doit faire 300");
+
+        calculateur.reinitialiser();
+        calculateur.ajouterLancer(5);
+        calculateur.ajouterLancer(5);
+        calculateur.ajouterLancer(3);
+        assertEquals(16, calculateur.getScore(), "Spare 5/5 suivi de 3 doit faire 16");
+    }
+}
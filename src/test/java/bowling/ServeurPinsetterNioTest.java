@@ -0,0 +1,230 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class ServeurPinsetterNioTest {
+
+    private CentreDeBowling centre;
+    private ServeurPinsetterNio serveur;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        centre = new CentreDeBowling(MoteurStockage.COMPACT);
+        serveur = new ServeurPinsetterNio(centre, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serveur.close();
+    }
+
+    @Test
+    void reponsesAuxEvenements() throws IOException {
+        centre.demarreNouvellePartie(300, new String[]{"Alice", "Bob"});
+        try (SocketChannel client = connecter()) {
+            ByteBuffer reponses = echanger(client,
+                    evenement(300, 0, 10),  // strike d'Alice
+                    evenement(300, 1, 3),   // Bob, boule 1
+                    evenement(300, 0, 4),   // pas au tour d'Alice
+                    evenement(300, 1, 8),   // 3 + 8 > 10
+                    evenement(301, 0, 4));  // piste inconnue
+
+            verifierReponse(reponses, 300, ServeurPinsetterNio.STATUT_PROCHAIN_TIR, 1, 1, 1);
+            verifierReponse(reponses, 300, ServeurPinsetterNio.STATUT_PROCHAIN_TIR, 1, 1, 2);
+            verifierReponse(reponses, 300, ServeurPinsetterNio.STATUT_LANCER_REFUSE, 0, 0, 0);
+            verifierReponse(reponses, 300, ServeurPinsetterNio.STATUT_LANCER_REFUSE, 0, 0, 0);
+            verifierReponse(reponses, 301, ServeurPinsetterNio.STATUT_PISTE_INCONNUE, 0, 0, 0);
+        }
+        assertEquals(10, centre.scorePour(300, "Alice"), "Strike d'Alice, bonus pas encore joué");
+        assertEquals(3, centre.scorePour(300, "Bob"), "Seul le premier lancer de Bob est valide");
+    }
+
+    @Test
+    void lancerApresLaFinDePartie() throws IOException {
+        centre.demarreNouvellePartie(1, new String[]{"Alice"});
+        try (SocketChannel client = connecter()) {
+            // 20 lancers à 0, puis un lancer de trop
+            byte[][] partie = new byte[21][];
+            for (int i = 0; i < partie.length; i++) {
+                partie[i] = evenement(1, 0, 0);
+            }
+            ByteBuffer reponses = echanger(client, partie);
+            for (int lancer = 1; lancer < 20; lancer++) {
+                verifierReponse(reponses, 1, ServeurPinsetterNio.STATUT_PROCHAIN_TIR, 0, lancer / 2 + 1, lancer % 2 + 1);
+            }
+            verifierReponse(reponses, 1, ServeurPinsetterNio.STATUT_PARTIE_TERMINEE, 0, 0, 0);
+            verifierReponse(reponses, 1, ServeurPinsetterNio.STATUT_HORS_PARTIE, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Une rafale dont les réponses ne tiennent pas dans le tampon de sortie
+     * (64 Ko, soit 10 922 réponses) : les événements restés dans l'entrée sont
+     * traités dès que le client lit les premières réponses, sans qu'il ait à
+     * envoyer autre chose
+     */
+    @Test
+    @Timeout(30)
+    void rafaleDePlusDeReponsesQueLeTamponDeSortie() throws IOException {
+        int nombrePistes = 800;
+        byte[][] rafale = new byte[nombrePistes * 20][];
+        for (int piste = 0; piste < nombrePistes; piste++) {
+            centre.demarreNouvellePartie(piste, new String[]{"Alice"});
+            for (int lancer = 0; lancer < 20; lancer++) {
+                rafale[piste * 20 + lancer] = evenement(piste, 0, 1);
+            }
+        }
+        assertTrue(rafale.length > 64 * 1024 / ServeurPinsetterNio.TAILLE_REPONSE);
+
+        try (SocketChannel client = connecter()) {
+            ByteBuffer reponses = echanger(client, rafale);
+            for (int piste = 0; piste < nombrePistes; piste++) {
+                for (int lancer = 1; lancer < 20; lancer++) {
+                    verifierReponse(reponses, piste, ServeurPinsetterNio.STATUT_PROCHAIN_TIR,
+                            0, lancer / 2 + 1, lancer % 2 + 1);
+                }
+                verifierReponse(reponses, piste, ServeurPinsetterNio.STATUT_PARTIE_TERMINEE, 0, 0, 0);
+            }
+        }
+        for (int piste = 0; piste < nombrePistes; piste++) {
+            assertEquals(20, centre.scorePour(piste, "Alice"));
+        }
+    }
+
+    /**
+     * Débit soutenu : 1000 pistes d'un joueur, parties de 20 lancers envoyées
+     * par paquets, sur 10 parties successives. Le thread du sélecteur n'alloue
+     * rien pendant ces parties (octets relevés par ThreadMXBean), une fois le
+     * code compilé : l'échauffement s'arrête dès que trois parties de suite n'ont
+     * rien alloué (avant la compilation, les événements JFR inactifs sont alloués).
+     */
+    @Test
+    void debitSoutenuSansAllocation() throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long idSelecteur = serveur.getIdentifiantThread();
+        int nombrePistes = 1000;
+        int nombreParties = 10;
+        int evenementsParPaquet = 2000;
+        ByteBuffer envoi = ByteBuffer.allocateDirect(evenementsParPaquet * ServeurPinsetterNio.TAILLE_EVENEMENT);
+        ByteBuffer reception = ByteBuffer.allocateDirect(evenementsParPaquet * ServeurPinsetterNio.TAILLE_REPONSE);
+
+        try (SocketChannel client = connecter()) {
+            int partiesSansAllocation = 0;
+            for (int partie = 0; partie < 100 && partiesSansAllocation < 3; partie++) {
+                long avant = threads.getThreadAllocatedBytes(idSelecteur);
+                jouerPartieSurToutesLesPistes(client, nombrePistes, envoi, reception);
+                boolean sansAllocation = threads.getThreadAllocatedBytes(idSelecteur) == avant;
+                partiesSansAllocation = sansAllocation ? partiesSansAllocation + 1 : 0;
+            }
+            assertEquals(3, partiesSansAllocation, "Le sélecteur alloue encore après l'échauffement");
+
+            long evenements = 0;
+            long avant = threads.getThreadAllocatedBytes(idSelecteur);
+            long debut = System.nanoTime();
+            for (int partie = 0; partie < nombreParties; partie++) {
+                evenements += jouerPartieSurToutesLesPistes(client, nombrePistes, envoi, reception);
+            }
+            double secondes = (System.nanoTime() - debut) / 1e9;
+            long octets = threads.getThreadAllocatedBytes(idSelecteur) - avant;
+            System.out.printf("ServeurPinsetterNio : %d événements en %.2f s, soit %.0f événements/s, %d octets alloués%n",
+                    evenements, secondes, evenements / secondes, octets);
+            assertEquals((long) nombrePistes * nombreParties * 20, evenements);
+            assertEquals(0, octets, "Octets alloués par le sélecteur pendant le débit soutenu");
+        }
+        for (int piste = 0; piste < nombrePistes; piste++) {
+            assertEquals(80, centre.scorePour(piste, "Alice"));
+        }
+    }
+
+    /**
+     * Démarre une partie d'un joueur sur chaque piste, et envoie ses 20 lancers
+     * à 4 quilles par paquets
+     * @return le nombre d'événements envoyés
+     */
+    private int jouerPartieSurToutesLesPistes(SocketChannel client, int nombrePistes, ByteBuffer envoi,
+                                              ByteBuffer reception) throws IOException {
+        for (int piste = 0; piste < nombrePistes; piste++) {
+            centre.demarreNouvellePartie(piste, new String[]{"Alice"});
+        }
+        int evenements = 0;
+        // Lancer n de chaque piste, pour n = 1..20
+        for (int lancer = 0; lancer < 20; lancer++) {
+            for (int piste = 0; piste < nombrePistes; piste++) {
+                envoi.putShort((short) piste).put((byte) 0).put((byte) 4);
+                if (!envoi.hasRemaining()) {
+                    evenements += envoyerPaquet(client, envoi, reception);
+                }
+            }
+        }
+        return evenements + envoyerPaquet(client, envoi, reception);
+    }
+
+    /**
+     * Envoie le paquet d'événements en cours et lit toutes ses réponses
+     * @return le nombre d'événements envoyés
+     */
+    private static int envoyerPaquet(SocketChannel client, ByteBuffer envoi, ByteBuffer reception) throws IOException {
+        envoi.flip();
+        int nombre = envoi.remaining() / ServeurPinsetterNio.TAILLE_EVENEMENT;
+        while (envoi.hasRemaining()) {
+            client.write(envoi);
+        }
+        envoi.clear();
+        reception.clear().limit(nombre * ServeurPinsetterNio.TAILLE_REPONSE);
+        while (reception.hasRemaining()) {
+            client.read(reception);
+        }
+        reception.flip();
+        while (reception.hasRemaining()) {
+            reception.getShort();
+            byte statut = reception.get();
+            reception.getShort();
+            reception.get();
+            assertTrue(statut == ServeurPinsetterNio.STATUT_PROCHAIN_TIR
+                    || statut == ServeurPinsetterNio.STATUT_PARTIE_TERMINEE, "Statut inattendu : " + statut);
+        }
+        return nombre;
+    }
+
+    private SocketChannel connecter() throws IOException {
+        return SocketChannel.open(new InetSocketAddress("localhost", serveur.getPort()));
+    }
+
+    private static byte[] evenement(int piste, int joueur, int quilles) {
+        return new byte[]{(byte) (piste >> 8), (byte) piste, (byte) joueur, (byte) quilles};
+    }
+
+    private static ByteBuffer echanger(SocketChannel client, byte[]... evenements) throws IOException {
+        ByteBuffer envoi = ByteBuffer.allocate(evenements.length * ServeurPinsetterNio.TAILLE_EVENEMENT);
+        for (byte[] evenement : evenements) {
+            envoi.put(evenement);
+        }
+        envoi.flip();
+        while (envoi.hasRemaining()) {
+            client.write(envoi);
+        }
+        ByteBuffer reponses = ByteBuffer.allocate(evenements.length * ServeurPinsetterNio.TAILLE_REPONSE);
+        while (reponses.hasRemaining()) {
+            client.read(reponses);
+        }
+        return reponses.flip();
+    }
+
+    private static void verifierReponse(ByteBuffer reponses, int piste, byte statut, int joueur, int tour, int boule) {
+        assertEquals(piste, reponses.getShort() & 0xFFFF, "Piste");
+        assertEquals(statut, reponses.get(), "Statut");
+        assertEquals(joueur, reponses.get(), "Prochain joueur");
+        assertEquals(tour, reponses.get(), "Tour");
+        assertEquals(boule, reponses.get(), "Boule");
+    }
+}
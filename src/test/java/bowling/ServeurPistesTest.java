@@ -0,0 +1,136 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ServeurPistesTest {
+
+    private CentreDeBowling centre;
+    private ServeurPistes serveur;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        centre = new CentreDeBowling();
+        serveur = new ServeurPistes(centre, 0);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        serveur.close();
+    }
+
+    @Test
+    void demarrageLancerEtScore() throws Exception {
+        HttpResponse<String> reponse = post("/pistes/3/partie", "Alice\nBob");
+        assertEquals(200, reponse.statusCode());
+        assertEquals("Prochain tir : joueur Alice, tour n° 1, boule n° 1", reponse.body());
+
+        assertEquals(200, post("/pistes/3/lancer", "7").statusCode());
+        reponse = get("/pistes/3/score?joueur=Alice");
+        assertEquals(200, reponse.statusCode());
+        assertEquals("7", reponse.body());
+        assertEquals(7, centre.scorePour(3, "Alice"), "Le serveur joue sur les pistes du centre");
+    }
+
+    @Test
+    void erreurs() throws Exception {
+        assertEquals(400, post("/pistes/3/lancer", "5").statusCode(), "Piste inconnue");
+        post("/pistes/3/partie", "Alice");
+        assertEquals(400, post("/pistes/3/lancer", "onze").statusCode(), "Nombre de quilles illisible");
+        assertEquals(400, post("/pistes/3/lancer", "11").statusCode(), "Trop de quilles");
+        assertEquals(400, get("/pistes/3/score").statusCode(), "Paramètre joueur manquant");
+        assertEquals(400, get("/pistes/3/score?joueur=Inconnu").statusCode(), "Joueur inconnu");
+        assertEquals(404, get("/pistes/3/inconnu").statusCode());
+        assertEquals(404, get("/pistes/trois/score?joueur=Alice").statusCode());
+        assertEquals(405, get("/pistes/3/lancer").statusCode());
+    }
+
+    /**
+     * Générateur de charge local : un terminal (thread virtuel) par piste joue une
+     * partie complète, chaque lancer étant suivi d'une lecture de score.
+     */
+    @Test
+    void chargeDeNombreuxTerminaux() throws Exception {
+        int nombrePistes = 100;
+        String[] joueurs = {"Alice", "Bob"};
+        ConcurrentLinkedQueue<Long> durees = new ConcurrentLinkedQueue<>();
+        List<Future<?>> terminaux = new ArrayList<>();
+        try (ExecutorService executeur = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int piste = 0; piste < nombrePistes; piste++) {
+                int numeroPiste = piste;
+                terminaux.add(executeur.submit(() -> {
+                    mesurer(durees, () -> post("/pistes/" + numeroPiste + "/partie", String.join("\n", joueurs)));
+                    for (int lancer = 0; lancer < 20 * joueurs.length; lancer++) {
+                        mesurer(durees, () -> post("/pistes/" + numeroPiste + "/lancer", "4"));
+                        mesurer(durees, () -> get("/pistes/" + numeroPiste + "/score?joueur=Bob"));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> terminal : terminaux) {
+                terminal.get(60, TimeUnit.SECONDS);
+            }
+        }
+
+        for (int piste = 0; piste < nombrePistes; piste++) {
+            assertEquals(80, centre.scorePour(piste, "Alice"));
+            assertEquals(80, centre.scorePour(piste, "Bob"));
+        }
+        long[] triees = durees.stream().mapToLong(Long::longValue).sorted().toArray();
+        assertEquals(nombrePistes * (1 + 2 * 20 * joueurs.length), triees.length);
+        System.out.printf("ServeurPistes : %d requêtes, p50 = %d µs, p99 = %d µs, max = %d µs%n",
+                triees.length, percentile(triees, 50) / 1000, percentile(triees, 99) / 1000,
+                triees[triees.length - 1] / 1000);
+        assertTrue(percentile(triees, 50) > 0);
+    }
+
+    private interface Requete {
+        HttpResponse<String> envoyer() throws Exception;
+    }
+
+    private static void mesurer(ConcurrentLinkedQueue<Long> durees, Requete requete) throws Exception {
+        long debut = System.nanoTime();
+        HttpResponse<String> reponse = requete.envoyer();
+        durees.add(System.nanoTime() - debut);
+        assertEquals(200, reponse.statusCode(), reponse.body());
+    }
+
+    private static long percentile(long[] triees, int p) {
+        return triees[Math.min(triees.length - 1, triees.length * p / 100)];
+    }
+
+    private HttpResponse<String> post(String chemin, String corps) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(chemin))
+                .POST(HttpRequest.BodyPublishers.ofString(corps)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String chemin) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(chemin)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String chemin) {
+        return URI.create("http://localhost:" + serveur.getPort() + chemin);
+    }
+}
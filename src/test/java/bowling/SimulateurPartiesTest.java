@@ -0,0 +1,127 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class SimulateurPartiesTest {
+
+    private final SimulateurParties simulateur = new SimulateurParties();
+
+    @Test
+    void partiesJoueesSelonLesReglesDuMoteur() {
+        SplittableRandom hasard = new SplittableRandom(23);
+        int[] lancers = new int[SimulateurParties.LANCERS_MAX];
+        for (ModeleJoueur modele : new ModeleJoueur[]{ModeleJoueur.binomial(0.5), ModeleJoueur.binomial(0.9),
+                                                      modeleAuHasard(hasard)}) {
+            for (int essai = 0; essai < 2000; essai++) {
+                Arrays.fill(lancers, -1);
+                int score = SimulateurParties.jouerPartie(modele, hasard, lancers);
+                PartieMonoJoueur partie = new PartieMonoJoueur("Joueur");
+                int n = 0;
+                while (!partie.estTerminee()) {
+                    partie.enregistrerLancer(lancers[n++]);
+                }
+                assertTrue(n == lancers.length || lancers[n] == -1, "Lancer de trop");
+                assertEquals(partie.score(), score);
+            }
+        }
+    }
+
+    @Test
+    void joueursSansHasard() {
+        ModeleJoueur toujoursStrike = new ModeleJoueur(certain(11, 10), secondesBoulesCertaines(true));
+        ModeleJoueur toujoursSpare = new ModeleJoueur(certain(11, 9), secondesBoulesCertaines(true));
+        ModeleJoueur toujoursGouttiere = new ModeleJoueur(certain(11, 0), secondesBoulesCertaines(false));
+        StatistiquesScores[] statistiques = simulateur.simuler(
+                new ModeleJoueur[]{toujoursStrike, toujoursSpare, toujoursGouttiere}, 1000, 1);
+        assertEquals(1000, statistiques[0].getNombrePartiesAvecScore(300));
+        assertEquals(1000, statistiques[1].getNombrePartiesAvecScore(190));
+        assertEquals(1000, statistiques[2].getNombrePartiesAvecScore(0));
+    }
+
+    @Test
+    void resultatReproductibleEtIndependantDuDecoupage() {
+        ModeleJoueur modele = ModeleJoueur.binomial(0.8);
+        // Plusieurs blocs, dont un incomplet
+        long nombreParties = SimulateurParties.TAILLE_BLOC * 3L + 17;
+        StatistiquesScores premiere = simulateur.simuler(modele, nombreParties, 42);
+        StatistiquesScores seconde = simulateur.simuler(modele, nombreParties, 42);
+        assertEquals(nombreParties, premiere.getNombreParties());
+        assertArrayEquals(premiere.getHistogramme(), seconde.getHistogramme());
+        assertTrue(!Arrays.equals(premiere.getHistogramme(),
+                                  simulateur.simuler(modele, nombreParties, 43).getHistogramme()));
+        assertEquals(0, simulateur.simuler(modele, 0, 42).getNombreParties());
+        assertThrows(IllegalArgumentException.class, () -> simulateur.simuler(modele, -1, 42));
+    }
+
+    @Test
+    void quantilesDesScoresSimules() {
+        StatistiquesScores statistiques = simulateur.simuler(ModeleJoueur.binomial(0.9), 200_000, 7);
+        int mediane = statistiques.quantile(0.5);
+        int centile99 = statistiques.quantile(0.99);
+        assertTrue(statistiques.getScoreMin() <= mediane && mediane <= centile99
+                   && centile99 <= statistiques.getScoreMax());
+        assertEquals(statistiques.getScoreMin(), statistiques.quantile(0));
+        assertEquals(statistiques.getScoreMax(), statistiques.quantile(1));
+        assertEquals(statistiques.getMoyenne(), mediane, 15);
+    }
+
+    @Test
+    void frequencesConformesAuModele() {
+        double[] poids = {1, 0, 2, 0, 0, 3, 0, 0, 0, 0, 4};
+        ModeleJoueur modele = new ModeleJoueur(poids, secondesBoulesCertaines(true));
+        SplittableRandom hasard = new SplittableRandom(3);
+        int tirages = 1_000_000;
+        long[] nombres = new long[11];
+        for (int i = 0; i < tirages; i++) {
+            nombres[modele.premiereBoule(hasard)]++;
+        }
+        for (int quilles = 0; quilles <= 10; quilles++) {
+            assertEquals(poids[quilles] / 10, (double) nombres[quilles] / tirages, 0.003, "Quilles : " + quilles);
+        }
+    }
+
+    @Test
+    void modelesInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new ModeleJoueur(new double[10], secondesBoulesCertaines(true)));
+        assertThrows(IllegalArgumentException.class, () -> new ModeleJoueur(new double[11], secondesBoulesCertaines(true)));
+        double[] negatif = certain(11, 3);
+        negatif[4] = -1;
+        assertThrows(IllegalArgumentException.class, () -> new ModeleJoueur(negatif, secondesBoulesCertaines(true)));
+        assertThrows(IllegalArgumentException.class, () -> ModeleJoueur.binomial(1.5));
+    }
+
+    /**
+     * @return la loi d'une seule valeur certaine parmi taille
+     */
+    private static double[] certain(int taille, int valeur) {
+        double[] loi = new double[taille];
+        loi[valeur] = 1;
+        return loi;
+    }
+
+    /**
+     * @return les lois de 2e boule qui abattent toujours toutes les quilles restantes, ou aucune
+     */
+    private static double[][] secondesBoulesCertaines(boolean abatTout) {
+        double[][] lois = new double[10][];
+        for (int premiere = 0; premiere < 10; premiere++) {
+            lois[premiere] = certain(11 - premiere, abatTout ? 10 - premiere : 0);
+        }
+        return lois;
+    }
+
+    private static ModeleJoueur modeleAuHasard(SplittableRandom hasard) {
+        double[] premiereBoule = hasard.doubles(11).toArray();
+        double[][] secondeBoule = new double[10][];
+        for (int premiere = 0; premiere < 10; premiere++) {
+            secondeBoule[premiere] = hasard.doubles(11 - premiere).toArray();
+        }
+        return new ModeleJoueur(premiereBoule, secondeBoule);
+    }
+}
@@ -0,0 +1,135 @@
+package bowling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TournoiTest {
+
+    @Test
+    void ligneDeCoupeIdentiqueAUnTriComplet() {
+        Random hasard = new Random(24);
+        int[] series = new int[500];
+        LigneDeCoupe ligne = new LigneDeCoupe(32);
+        for (int joueur = 0; joueur < series.length; joueur++) {
+            if (joueur < 32) {
+                assertEquals(-1, ligne.getSerieMinimum());
+            }
+            series[joueur] = hasard.nextInt(100);
+            ligne.proposer(joueur, series[joueur]);
+        }
+        int[] attendus = IntStream.range(0, series.length).boxed()
+                                  .sorted(Comparator.comparingInt((Integer j) -> -series[j]).thenComparingInt(j -> j))
+                                  .limit(32)
+                                  .mapToInt(Integer::intValue)
+                                  .toArray();
+        assertArrayEquals(attendus, ligne.qualifies());
+        assertEquals(series[attendus[31]], ligne.getSerieMinimum());
+    }
+
+    @Test
+    void ligneDeCoupeIncomplete() {
+        LigneDeCoupe ligne = new LigneDeCoupe(3);
+        assertTrue(ligne.proposer(7, 150));
+        assertTrue(ligne.proposer(2, 150));
+        assertEquals(-1, ligne.getSerieMinimum());
+        assertTrue(ligne.proposer(5, 90));
+        assertEquals(90, ligne.getSerieMinimum());
+        assertFalse(ligne.proposer(9, 90), "À série égale, le plus petit identifiant passe devant");
+        assertTrue(ligne.proposer(1, 90));
+        assertArrayEquals(new int[]{2, 7, 1}, ligne.qualifies());
+        assertThrows(IllegalArgumentException.class, () -> new LigneDeCoupe(0));
+    }
+
+    @Test
+    void seriesEtQualifiesIndependantsDuNombreDePistes() {
+        int nombreJoueurs = 203;
+        String[] joueurs = new String[nombreJoueurs];
+        ModeleJoueur[] modeles = new ModeleJoueur[nombreJoueurs];
+        for (int j = 0; j < nombreJoueurs; j++) {
+            joueurs[j] = "Joueur " + j;
+            modeles[j] = ModeleJoueur.binomial(0.5 + 0.45 * j / nombreJoueurs);
+        }
+        int[] seriesAttendues = null;
+        int[] qualifiesAttendus = null;
+        for (int nombrePistes : new int[]{1, 3, 16}) {
+            try (Tournoi tournoi = new Tournoi(joueurs, modeles, 4, 3, nombrePistes, 24)) {
+                tournoi.jouer(2024);
+                assertEquals(51, tournoi.getNombreEquipes());
+                assertEquals(51, tournoi.getNombreEquipesTerminees());
+                int[] series = IntStream.range(0, nombreJoueurs).map(tournoi::getSerie).toArray();
+                for (int equipe = 0; equipe < tournoi.getNombreEquipes(); equipe++) {
+                    assertTrue(tournoi.getPiste(equipe) >= 0 && tournoi.getPiste(equipe) < nombrePistes);
+                }
+                int[] attendus = IntStream.range(0, nombreJoueurs).boxed()
+                        .sorted(Comparator.comparingInt((Integer j) -> -series[j]).thenComparingInt(j -> j))
+                        .limit(24)
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                assertArrayEquals(attendus, tournoi.qualifies());
+                assertTrue(tournoi.getLigneDeCoupe(1).getSerieMinimum() <= 300);
+                if (seriesAttendues == null) {
+                    seriesAttendues = series;
+                    qualifiesAttendus = tournoi.qualifies();
+                } else {
+                    assertArrayEquals(seriesAttendues, series, "Pistes : " + nombrePistes);
+                    assertArrayEquals(qualifiesAttendus, tournoi.qualifies());
+                }
+                assertThrows(IllegalStateException.class, () -> tournoi.jouer(2024));
+            }
+        }
+    }
+
+    /**
+     * Plus de threads que de pistes : les équipes sans piste attendent qu'une
+     * piste se libère, et le résultat ne change pas
+     */
+    @Test
+    void plusDeThreadsQueDePistes() {
+        String[] joueurs = new String[48];
+        ModeleJoueur[] modeles = new ModeleJoueur[joueurs.length];
+        for (int j = 0; j < joueurs.length; j++) {
+            joueurs[j] = "J" + j;
+            modeles[j] = ModeleJoueur.binomial(0.6 + 0.3 * j / joueurs.length);
+        }
+        int[] series = new int[joueurs.length];
+        try (Tournoi tournoi = new Tournoi(joueurs, modeles, 2, 200, 1, 8)) {
+            tournoi.jouer(24);
+            for (int j = 0; j < joueurs.length; j++) {
+                series[j] = tournoi.getSerie(j);
+            }
+        }
+        try (Tournoi tournoi = new Tournoi(joueurs, modeles, 2, 200, 2, 8, 8)) {
+            tournoi.jouer(24);
+            assertEquals(tournoi.getNombreEquipes(), tournoi.getNombreEquipesTerminees());
+            for (int j = 0; j < joueurs.length; j++) {
+                assertEquals(series[j], tournoi.getSerie(j), joueurs[j]);
+            }
+            for (int equipe = 0; equipe < tournoi.getNombreEquipes(); equipe++) {
+                assertTrue(tournoi.getPiste(equipe) < 2);
+            }
+        }
+    }
+
+    @Test
+    void joueursParfaits() {
+        String[] joueurs = {"Alice", "Bob", "Carole"};
+        ModeleJoueur parfait = ModeleJoueur.binomial(1);
+        try (Tournoi tournoi = new Tournoi(joueurs, new ModeleJoueur[]{parfait, parfait, parfait}, 2, 4, 2, 2)) {
+            tournoi.jouer(1);
+            for (int j = 0; j < joueurs.length; j++) {
+                assertEquals(1200, tournoi.getSerie(j));
+            }
+            assertArrayEquals(new int[]{0, 1}, tournoi.qualifies());
+            assertEquals(600, tournoi.getLigneDeCoupe(2).getSerieMinimum());
+        }
+        assertThrows(IllegalArgumentException.class,
+                     () -> new Tournoi(joueurs, new ModeleJoueur[]{parfait}, 2, 4, 2, 2));
+    }
+}